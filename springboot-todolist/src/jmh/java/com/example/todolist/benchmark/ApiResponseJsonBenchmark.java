@@ -0,0 +1,77 @@
+package com.example.todolist.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.todolist.model.dto.TodoDTO;
+import com.example.todolist.model.dto.TransactionDTO;
+import com.example.todolist.model.entity.Transaction.TransactionType;
+import com.example.todolist.response.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * ApiResponse 列表 JSON 序列化基準測試
+ *
+ * 以與 Spring Boot 相同方式構建的 ObjectMapper，序列化 10、1000、100000 個元素的響應。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseJsonBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    private int size;
+
+    private ObjectMapper objectMapper;
+
+    private ApiResponse<List<TodoDTO>> todos;
+
+    private ApiResponse<List<TransactionDTO>> transactions;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<TodoDTO> todoList = new ArrayList<>(size);
+        List<TransactionDTO> transactionList = new ArrayList<>(size);
+        LocalDateTime date = LocalDateTime.of(2024, 5, 1, 12, 0);
+        for (int i = 0; i < size; i++) {
+            todoList.add(new TodoDTO((long) i, "待辦事項 " + i, i % 2 == 0));
+            transactionList.add(new TransactionDTO((long) i, date.plusMinutes(i),
+                    i % 3 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE,
+                    BigDecimal.valueOf(i * 10L + 5, 1), "飲食", "備註 " + i));
+        }
+        todos = ApiResponse.success("查詢成功", todoList);
+        transactions = ApiResponse.success("查詢成功", transactionList);
+    }
+
+    @Benchmark
+    public byte[] todos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(todos);
+    }
+
+    @Benchmark
+    public byte[] transactions() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(transactions);
+    }
+}
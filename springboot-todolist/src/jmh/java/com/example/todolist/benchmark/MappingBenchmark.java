@@ -0,0 +1,117 @@
+package com.example.todolist.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.todolist.mapper.TodoMapper;
+import com.example.todolist.mapper.TodoMapperImpl;
+import com.example.todolist.mapper.TransactionMapper;
+import com.example.todolist.mapper.TransactionMapperImpl;
+import com.example.todolist.model.dto.TodoDTO;
+import com.example.todolist.model.dto.TransactionDTO;
+import com.example.todolist.model.entity.Todo;
+import com.example.todolist.model.entity.Transaction;
+import com.example.todolist.model.entity.User;
+
+/**
+ * 實體轉 DTO 的映射基準測試
+ *
+ * 比較反射式的 ModelMapper、MapStruct 生成的映射器與直接調用 getter/setter 的手寫映射。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private ModelMapper modelMapper;
+
+    private TodoMapper todoMapper;
+
+    private TransactionMapper transactionMapper;
+
+    private Todo todo;
+
+    private Transaction transaction;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        todoMapper = new TodoMapperImpl();
+        transactionMapper = new TransactionMapperImpl();
+
+        User user = new User();
+        user.setId(1L);
+
+        todo = new Todo();
+        todo.setId(42L);
+        todo.setText("買牛奶");
+        todo.setCompleted(false);
+        todo.setUser(user);
+
+        transaction = new Transaction();
+        transaction.setId(7L);
+        transaction.setDate(LocalDateTime.of(2024, 5, 1, 12, 0));
+        transaction.setType(Transaction.TransactionType.EXPENSE);
+        transaction.setAmount(new BigDecimal("120.50"));
+        transaction.setCategory("飲食");
+        transaction.setNote("午餐");
+        transaction.setUser(user);
+    }
+
+    @Benchmark
+    public TodoDTO todoModelMapper() {
+        return modelMapper.map(todo, TodoDTO.class);
+    }
+
+    @Benchmark
+    public TodoDTO todoMapStruct() {
+        return todoMapper.toDto(todo);
+    }
+
+    @Benchmark
+    public TodoDTO todoHandWritten() {
+        TodoDTO dto = new TodoDTO();
+        dto.setId(todo.getId());
+        dto.setText(todo.getText());
+        dto.setCompleted(todo.getCompleted());
+        return dto;
+    }
+
+    @Benchmark
+    public TransactionDTO transactionModelMapper() {
+        return modelMapper.map(transaction, TransactionDTO.class);
+    }
+
+    @Benchmark
+    public TransactionDTO transactionMapStruct() {
+        return transactionMapper.toDto(transaction);
+    }
+
+    @Benchmark
+    public TransactionDTO transactionHandWritten() {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setId(transaction.getId());
+        dto.setDate(transaction.getDate());
+        dto.setType(transaction.getType());
+        dto.setAmount(transaction.getAmount());
+        dto.setCategory(transaction.getCategory());
+        dto.setNote(transaction.getNote());
+        return dto;
+    }
+}
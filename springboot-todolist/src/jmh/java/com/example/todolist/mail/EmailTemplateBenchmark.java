@@ -0,0 +1,68 @@
+package com.example.todolist.mail;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.todolist.mail.EmailTemplateEngine.RenderedEmail;
+
+/**
+ * 郵件模板渲染基準測試
+ *
+ * 比較預先解析的模板渲染與原先每次以 String.format 拼接的密碼重設郵件內容。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private static final String TOKEN = "q3Jt0cA9fLxZb1uVwY7sPk2eRn5mHd8gTi4oUa6jEyI";
+
+    private EmailTemplateEngine engine;
+
+    private Map<String, String> variables;
+
+    @Setup
+    public void setUp() {
+        engine = new EmailTemplateEngine();
+        variables = Map.of(
+                "resetUrl", "http://localhost:5173/reset-password?token=" + TOKEN,
+                "expiryHours", "24");
+    }
+
+    @Benchmark
+    public RenderedEmail precompiledTemplate() {
+        return engine.render("password-reset", Locale.TAIWAN, variables);
+    }
+
+    @Benchmark
+    public String stringFormat() {
+        return String.format(
+            "<div style='padding: 20px; background-color: #f8f9fa;'>" +
+            "<h2 style='color: #333;'>密碼重設請求</h2>" +
+            "<p>您好，</p>" +
+            "<p>我們收到了您的密碼重設請求。請點擊下面的連結重設您的密碼：</p>" +
+            "<p><a href='http://localhost:5173/reset-password?token=%s' " +
+            "style='background-color: #007bff; color: white; padding: 10px 20px; " +
+            "text-decoration: none; border-radius: 5px;'>重設密碼</a></p>" +
+            "<p style='color: #666;'>此連結將在24小時後失效。</p>" +
+            "<p style='color: #666;'>如果您沒有請求重設密碼，請忽略此郵件。</p>" +
+            "</div>",
+            TOKEN
+        );
+    }
+}
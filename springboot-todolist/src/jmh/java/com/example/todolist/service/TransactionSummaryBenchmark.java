@@ -0,0 +1,55 @@
+package com.example.todolist.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.todolist.model.entity.Transaction.TransactionType;
+
+/**
+ * 收支統計彙總基準測試
+ *
+ * 測量 getTransactionsSummary 在取得分組結果之後的彙總循環（BigDecimal 累加和結果 Map 構建）。
+ * 正常查詢每種交易類型只返回一行，rows 參數用於觀察行數增加時的成本。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionSummaryBenchmark {
+
+    @Param({ "2", "1000" })
+    private int rows;
+
+    private List<Object[]> summary;
+
+    @Setup
+    public void setUp() {
+        summary = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            TransactionType type = i % 2 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE;
+            summary.add(new Object[] { type, BigDecimal.valueOf(123_456L + i, 2) });
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> summarize() {
+        return TransactionServiceImpl.summarize(summary);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.todolist.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * 單個端點的延遲和錯誤統計
+ *
+ * 延遲以納秒記錄在 HdrHistogram 中，只記錄成功的請求；
+ * 失敗的請求按 HTTP 狀態碼計數，連接失敗等異常記為狀態 0。
+ * 可被多個會話線程同時寫入。
+ */
+final class EndpointStats {
+
+    private final Operation operation;
+
+    private final Recorder latency = new Recorder(3);
+
+    private final Map<Integer, LongAdder> errorsByStatus = new ConcurrentHashMap<>();
+
+    EndpointStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    void recordSuccess(long latencyNanos) {
+        latency.recordValue(latencyNanos);
+    }
+
+    void recordError(int status) {
+        errorsByStatus.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    /**
+     * 丟棄預熱期間的數據
+     */
+    void reset() {
+        latency.getIntervalHistogram();
+        errorsByStatus.clear();
+    }
+
+    /**
+     * 取得測量期間的結果
+     *
+     * @param elapsedSeconds 測量時長
+     * @return 端點結果
+     */
+    LoadTestResult.EndpointResult snapshot(double elapsedSeconds) {
+        Histogram histogram = latency.getIntervalHistogram();
+        Map<String, Long> errors = new TreeMap<>();
+        long errorCount = 0;
+        for (Map.Entry<Integer, LongAdder> entry : errorsByStatus.entrySet()) {
+            long count = entry.getValue().sum();
+            errors.put(String.valueOf(entry.getKey()), count);
+            errorCount += count;
+        }
+        long requests = histogram.getTotalCount() + errorCount;
+        return new LoadTestResult.EndpointResult(
+            operation.key(),
+            requests,
+            errorCount,
+            requests == 0 ? 0 : (double) errorCount / requests,
+            requests / elapsedSeconds,
+            millis(histogram.getValueAtPercentile(50)),
+            millis(histogram.getValueAtPercentile(90)),
+            millis(histogram.getValueAtPercentile(99)),
+            millis(histogram.getValueAtPercentile(99.9)),
+            millis(histogram.getMaxValue()),
+            errors);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.todolist.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * 壓力測試結果，以 JSON 保存，也作為回歸比較的基準格式
+ *
+ * @param timestamp 測試結束時間
+ * @param sessions 模擬會話數
+ * @param durationSeconds 測量時長
+ * @param mix 操作比例
+ * @param appProperties 覆蓋的應用程序配置
+ * @param throughput 所有端點合計的每秒請求數
+ * @param endpoints 各端點結果
+ */
+record LoadTestResult(
+        Instant timestamp,
+        int sessions,
+        int durationSeconds,
+        String mix,
+        String appProperties,
+        double throughput,
+        List<EndpointResult> endpoints) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * 單個端點的結果，延遲單位為毫秒
+     */
+    record EndpointResult(
+            String endpoint,
+            long requests,
+            long errors,
+            double errorRate,
+            double throughput,
+            double p50Millis,
+            double p90Millis,
+            double p99Millis,
+            double p999Millis,
+            double maxMillis,
+            Map<String, Long> errorsByStatus) {
+    }
+
+    void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        MAPPER.writeValue(file.toFile(), this);
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%-22s %9s %9s %8s %9s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (EndpointResult e : endpoints) {
+            out.printf("%-22s %9d %9.1f %7.2f%% %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                e.endpoint(), e.requests(), e.throughput(), e.errorRate() * 100,
+                e.p50Millis(), e.p90Millis(), e.p99Millis(), e.p999Millis(), e.maxMillis());
+        }
+        out.printf("%-22s %9s %9.1f%n%n", "total", "", throughput);
+    }
+
+    /**
+     * 輸出與基準結果的對比，例如虛擬執行緒與平台執行緒兩次執行的差異
+     *
+     * @param baselineFile 基準文件
+     * @param out 輸出
+     * @throws IOException 如果無法讀取基準文件
+     */
+    void printComparison(Path baselineFile, PrintStream out) throws IOException {
+        Map<String, JsonNode> baseline = readEndpoints(baselineFile);
+        out.printf("Compared with %s%n", baselineFile);
+        out.printf("%-22s %11s %11s %8s %11s %11s %8s%n",
+            "endpoint", "base req/s", "req/s", "change", "base p99", "p99", "change");
+        for (EndpointResult e : endpoints) {
+            JsonNode before = baseline.get(e.endpoint());
+            if (before == null) {
+                continue;
+            }
+            double baseThroughput = before.path("throughput").asDouble();
+            double baseP99 = before.path("p99Millis").asDouble();
+            out.printf("%-22s %11.1f %11.1f %7.1f%% %11.2f %11.2f %7.1f%%%n",
+                e.endpoint(), baseThroughput, e.throughput(), percentChange(baseThroughput, e.throughput()),
+                baseP99, e.p99Millis(), percentChange(baseP99, e.p99Millis()));
+        }
+        out.println();
+    }
+
+    /**
+     * 與基準結果比較 p99
+     *
+     * @param baselineFile 基準文件
+     * @param maxIncreasePercent 允許上升的百分比
+     * @param minIncreaseMillis 允許上升的最小絕對值（毫秒）
+     * @return 回歸描述，沒有回歸時為空列表
+     * @throws IOException 如果無法讀取基準文件
+     */
+    List<String> compareP99(Path baselineFile, double maxIncreasePercent, double minIncreaseMillis) throws IOException {
+        Map<String, JsonNode> baseline = readEndpoints(baselineFile);
+        List<String> regressions = new ArrayList<>();
+        for (EndpointResult e : endpoints) {
+            JsonNode endpoint = baseline.get(e.endpoint());
+            if (endpoint == null || e.requests() == 0) {
+                continue;
+            }
+            double before = endpoint.path("p99Millis").asDouble();
+            double increase = e.p99Millis() - before;
+            if (increase > minIncreaseMillis && increase > before * maxIncreasePercent / 100) {
+                regressions.add(String.format("%s p99 %.2f ms -> %.2f ms (+%.1f%%)",
+                    e.endpoint(), before, e.p99Millis(), percentChange(before, e.p99Millis())));
+            }
+        }
+        return regressions;
+    }
+
+    private static Map<String, JsonNode> readEndpoints(Path file) throws IOException {
+        Map<String, JsonNode> endpoints = new HashMap<>();
+        for (JsonNode endpoint : MAPPER.readTree(file.toFile()).path("endpoints")) {
+            endpoints.put(endpoint.path("endpoint").asText(), endpoint);
+        }
+        return endpoints;
+    }
+
+    private static double percentChange(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before * 100;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.todolist.loadtest;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.todolist.SpringbootTodolistApplication;
+
+/**
+ * 閉環壓力測試
+ *
+ * 以 test 配置（H2 內存數據庫、內存會話）啟動完整的應用程序，
+ * 由多個模擬會話通過 HTTP 按操作比例發送登入、待辦事項、交易記錄和統計請求，
+ * 輸出每個端點的吞吐量、延遲百分位數和錯誤率。
+ *
+ * 執行：mvn -Ploadtest -DskipTests test-compile exec:exec（參數見 pom.xml 的 loadtest profile）
+ * 參數以 -Dloadtest.* 系統屬性設置，見 LoadTestSettings。
+ * 指定 loadtest.baseline 時與基準結果比較各端點的 p99，超過門檻時以非零狀態退出；
+ * 同時指定 loadtest.update-baseline=true 則以本次結果覆蓋基準文件。
+ */
+public final class LoadTestRunner {
+
+    /**
+     * 壓力測試時覆蓋的應用配置：
+     * 隨機端口；放寬登入限流，避免同一 IP 的大量模擬用戶被限流拒絕。
+     * 密碼雜湊線程池的配置按會話數計算，見 commandLineArgs
+     */
+    private static final String[] LOAD_TEST_PROPERTIES = {
+        "server.port=0",
+        "app.throttle.login.username.capacity=1000000",
+        "app.throttle.login.username.refill-per-minute=1000000",
+        "app.throttle.login.ip.capacity=1000000",
+        "app.throttle.login.ip.refill-per-minute=1000000",
+        "logging.level.com.example.todolist=WARN"
+    };
+
+    /**
+     * 準備階段每個 CPU 核心並行準備的會話數
+     */
+    private static final int SETUP_PARALLELISM_PER_CORE = 4;
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        List<String> regressions;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringbootTodolistApplication.class)
+                .profiles("test")
+                .run(commandLineArgs(settings))) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadTestResult result = run(URI.create("http://localhost:" + port), settings);
+
+            result.print(System.out);
+            result.write(settings.resultFile());
+            System.out.println("Results written to " + settings.resultFile().toAbsolutePath());
+
+            regressions = List.of();
+            if (settings.baselineFile() != null) {
+                if (settings.updateBaseline()) {
+                    result.write(settings.baselineFile());
+                    System.out.println("Baseline updated: " + settings.baselineFile().toAbsolutePath());
+                } else {
+                    result.printComparison(settings.baselineFile(), System.out);
+                    regressions = result.compareP99(settings.baselineFile(),
+                        settings.maxP99RegressionPercent(), settings.minP99RegressionMillis());
+                }
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            System.err.println("p99 regression against baseline:");
+            regressions.forEach(r -> System.err.println("  " + r));
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * 以命令行參數傳入覆蓋的配置，優先級高於 application.properties
+     */
+    private static String[] commandLineArgs(LoadTestSettings settings) {
+        // 所有會話在準備階段同時註冊和登入，每個請求都要經過密碼雜湊線程池；
+        // 佇列容量按會話數放大，等待時間放寬，避免準備階段被 503 拒絕
+        String[] hashing = {
+            "app.security.hashing.queue-capacity=" + Math.max(64, settings.sessions() * 2),
+            "app.security.hashing.wait-timeout-ms=60000"
+        };
+        return Stream.of(LOAD_TEST_PROPERTIES, hashing, settings.appProperties())
+            .flatMap(Arrays::stream)
+            .map(property -> "--" + property)
+            .toArray(String[]::new);
+    }
+
+    private static LoadTestResult run(URI baseUri, LoadTestSettings settings) throws Exception {
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats(operation));
+        }
+
+        // 準備完成後才設置結束時間，在此之前會話不會開始發送請求
+        AtomicLong deadline = new AtomicLong();
+        List<SimulatedSession> sessions = new ArrayList<>();
+        for (int i = 0; i < settings.sessions(); i++) {
+            sessions.add(new SimulatedSession(baseUri, i, settings, stats, () -> System.nanoTime() < deadline.get()));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.sessions());
+        // 準備階段的每個會話都要雜湊兩次密碼，限制並行數，
+        // 避免在核心數少的機器上排隊超過請求超時
+        ExecutorService setupExecutor = Executors.newFixedThreadPool(
+            Math.min(settings.sessions(), SETUP_PARALLELISM_PER_CORE * Runtime.getRuntime().availableProcessors()));
+        try {
+            // 準備階段不計時：註冊、登入並創建初始數據
+            List<Future<?>> futures = new ArrayList<>();
+            for (SimulatedSession session : sessions) {
+                futures.add(setupExecutor.submit(() -> {
+                    session.prepare();
+                    return null;
+                }));
+            }
+            awaitAll(futures);
+            setupExecutor.shutdown();
+
+            long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.warmupSeconds());
+            deadline.set(warmupEnd + TimeUnit.SECONDS.toNanos(settings.durationSeconds()));
+            futures.clear();
+            for (SimulatedSession session : sessions) {
+                futures.add(executor.submit(session));
+            }
+
+            // 預熱結束時清除統計，之後的請求才計入結果
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnd - System.nanoTime()));
+            stats.values().forEach(EndpointStats::reset);
+            long measureStart = System.nanoTime();
+            awaitAll(futures);
+            double elapsedSeconds = (System.nanoTime() - measureStart) / 1e9;
+
+            List<LoadTestResult.EndpointResult> endpoints = new ArrayList<>();
+            double throughput = 0;
+            for (EndpointStats endpoint : stats.values()) {
+                LoadTestResult.EndpointResult result = endpoint.snapshot(elapsedSeconds);
+                endpoints.add(result);
+                throughput += result.throughput();
+            }
+            return new LoadTestResult(Instant.now(), settings.sessions(), settings.durationSeconds(),
+                settings.mix().toString(), String.join(" ", settings.appProperties()), throughput, endpoints);
+        } finally {
+            setupExecutor.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> futures) throws Exception {
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+}
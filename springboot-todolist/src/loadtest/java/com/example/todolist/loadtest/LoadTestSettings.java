@@ -0,0 +1,58 @@
+package com.example.todolist.loadtest;
+
+import java.nio.file.Path;
+
+/**
+ * 壓力測試參數，全部通過 -Dloadtest.* 系統屬性設置
+ *
+ * @param sessions 同時執行的模擬會話數，每個會話使用獨立的用戶和 Cookie
+ * @param warmupSeconds 預熱時間，期間的請求不計入結果
+ * @param durationSeconds 正式測量時間
+ * @param thinkTimeMillis 每個請求之間的等待時間，0 表示完全閉環
+ * @param seedItems 每個用戶預先創建的待辦事項和交易記錄數量
+ * @param mix 操作比例
+ * @param resultFile 結果 JSON 輸出位置
+ * @param baselineFile 基準結果文件，為 null 時不做回歸比較
+ * @param updateBaseline 是否將本次結果寫入基準文件
+ * @param maxP99RegressionPercent p99 相對基準允許上升的百分比
+ * @param minP99RegressionMillis p99 上升的絕對值低於此值時不視為回歸，避免亞毫秒級抖動造成誤判
+ * @param appProperties 覆蓋應用程序配置的屬性，以空白分隔，例如 spring.threads.virtual.enabled=true
+ */
+record LoadTestSettings(
+        int sessions,
+        int warmupSeconds,
+        int durationSeconds,
+        long thinkTimeMillis,
+        int seedItems,
+        Operation.Mix mix,
+        Path resultFile,
+        Path baselineFile,
+        boolean updateBaseline,
+        double maxP99RegressionPercent,
+        double minP99RegressionMillis,
+        String[] appProperties) {
+
+    /**
+     * 默認操作比例：以查詢為主，新增和刪除大致平衡，使每個用戶的數據量保持穩定
+     */
+    static final String DEFAULT_MIX = "login=2,todo.list=25,todo.create=8,todo.update=10,todo.delete=7,"
+        + "transaction.list=20,transaction.create=8,transaction.update=6,transaction.delete=7,transaction.summary=7";
+
+    static LoadTestSettings fromSystemProperties() {
+        String baseline = System.getProperty("loadtest.baseline");
+        String appProperties = System.getProperty("loadtest.app-properties", "").strip();
+        return new LoadTestSettings(
+            Integer.getInteger("loadtest.sessions", 50),
+            Integer.getInteger("loadtest.warmup-seconds", 15),
+            Integer.getInteger("loadtest.duration-seconds", 60),
+            Long.getLong("loadtest.think-time-ms", 0L),
+            Integer.getInteger("loadtest.seed-items", 20),
+            Operation.Mix.parse(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+            Path.of(System.getProperty("loadtest.result", "target/loadtest-result.json")),
+            baseline == null || baseline.isBlank() ? null : Path.of(baseline),
+            Boolean.getBoolean("loadtest.update-baseline"),
+            Double.parseDouble(System.getProperty("loadtest.max-p99-regression-pct", "20")),
+            Double.parseDouble(System.getProperty("loadtest.min-p99-regression-ms", "2")),
+            appProperties.isEmpty() ? new String[0] : appProperties.split("\\s+"));
+    }
+}
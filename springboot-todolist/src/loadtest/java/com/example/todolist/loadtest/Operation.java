@@ -0,0 +1,115 @@
+package com.example.todolist.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * 壓力測試中模擬的用戶操作
+ */
+enum Operation {
+
+    LOGIN("login"),
+    TODO_LIST("todo.list"),
+    TODO_CREATE("todo.create"),
+    TODO_UPDATE("todo.update"),
+    TODO_DELETE("todo.delete"),
+    TRANSACTION_LIST("transaction.list"),
+    TRANSACTION_CREATE("transaction.create"),
+    TRANSACTION_UPDATE("transaction.update"),
+    TRANSACTION_DELETE("transaction.delete"),
+    TRANSACTION_SUMMARY("transaction.summary");
+
+    /**
+     * 報告和操作比例配置中使用的名稱
+     */
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation fromKey(String key) {
+        return Arrays.stream(values())
+            .filter(op -> op.key.equals(key))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("未知的操作: " + key));
+    }
+
+    /**
+     * 按權重隨機選擇操作
+     *
+     * 配置格式為 "todo.list=30,todo.create=10,..."，未列出的操作不會被執行
+     */
+    static final class Mix {
+
+        private final Operation[] operations;
+
+        private final int[] cumulativeWeights;
+
+        private final int totalWeight;
+
+        private Mix(Map<Operation, Integer> weights) {
+            this.operations = weights.keySet().toArray(new Operation[0]);
+            this.cumulativeWeights = new int[operations.length];
+            int total = 0;
+            for (int i = 0; i < operations.length; i++) {
+                total += weights.get(operations[i]);
+                cumulativeWeights[i] = total;
+            }
+            if (total <= 0) {
+                throw new IllegalArgumentException("操作比例的總權重必須大於 0");
+            }
+            this.totalWeight = total;
+        }
+
+        static Mix parse(String spec) {
+            Map<Operation, Integer> weights = new LinkedHashMap<>();
+            for (String entry : spec.split(",")) {
+                String trimmed = entry.strip();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                int separator = trimmed.indexOf('=');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("操作比例格式錯誤: " + trimmed);
+                }
+                int weight = Integer.parseInt(trimmed.substring(separator + 1).strip());
+                if (weight < 0) {
+                    throw new IllegalArgumentException("操作權重不能為負數: " + trimmed);
+                }
+                weights.put(fromKey(trimmed.substring(0, separator).strip()), weight);
+            }
+            return new Mix(weights);
+        }
+
+        Operation next(RandomGenerator random) {
+            int point = random.nextInt(totalWeight);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (point < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            return operations[operations.length - 1];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder();
+            int previous = 0;
+            for (int i = 0; i < operations.length; i++) {
+                if (out.length() > 0) {
+                    out.append(',');
+                }
+                out.append(operations[i].key).append('=').append(cumulativeWeights[i] - previous);
+                previous = cumulativeWeights[i];
+            }
+            return out.toString();
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.todolist.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 模擬一個已登入的用戶會話
+ *
+ * 每個會話持有自己的 Cookie 和已創建的待辦事項、交易記錄 ID，
+ * 在閉環中按操作比例逐個發送請求：上一個請求完成後才發送下一個。
+ * 更新或刪除時如果沒有可用的 ID，改為執行對應的新增操作。
+ */
+final class SimulatedSession implements Runnable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final int SETUP_ATTEMPTS = 5;
+
+    private static final String PASSWORD = "load-test-password";
+
+    private static final String[] CATEGORIES = { "飲食", "交通", "娛樂", "薪資", "購物" };
+
+    private final URI baseUri;
+
+    private final String username;
+
+    private final LoadTestSettings settings;
+
+    private final Map<Operation, EndpointStats> stats;
+
+    private final BooleanSupplier running;
+
+    private final HttpClient client;
+
+    private final SplittableRandom random;
+
+    private final List<Long> todoIds = new ArrayList<>();
+
+    private final List<Long> transactionIds = new ArrayList<>();
+
+    SimulatedSession(URI baseUri, int index, LoadTestSettings settings,
+            Map<Operation, EndpointStats> stats, BooleanSupplier running) {
+        this.baseUri = baseUri;
+        this.username = "load-user-" + index;
+        this.settings = settings;
+        this.stats = stats;
+        this.running = running;
+        this.random = new SplittableRandom(index);
+        this.client = HttpClient.newBuilder()
+            .cookieHandler(new CookieManager())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    }
+
+    /**
+     * 註冊用戶、登入並創建初始數據，不計入統計
+     *
+     * @throws IOException 如果準備失敗
+     * @throws InterruptedException 如果線程被中斷
+     */
+    void prepare() throws IOException, InterruptedException {
+        expectOk(sendRetryingBusy(post("/api/users/register", Map.of(
+            "username", username, "password", PASSWORD, "email", username + "@loadtest.example"))));
+        expectOk(sendRetryingBusy(login()));
+        for (int i = 0; i < settings.seedItems(); i++) {
+            todoIds.add(id(expectOk(send(createTodo()))));
+            transactionIds.add(id(expectOk(send(createTransaction()))));
+        }
+    }
+
+    /**
+     * 發送準備階段的請求，服務繁忙（503）時按 Retry-After 等待後重試
+     * 雜湊線程池排滿時註冊或登入不會執行，重試不會重複創建用戶
+     */
+    private HttpResponse<String> sendRetryingBusy(HttpRequest request) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            HttpResponse<String> response = send(request);
+            if (response.statusCode() != 503 || attempt == SETUP_ATTEMPTS) {
+                return response;
+            }
+            long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1L);
+            // 加入隨機抖動，避免被拒絕的會話同時重試
+            Thread.sleep(retryAfter * 1000 + ThreadLocalRandom.current().nextLong(1000));
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running.getAsBoolean()) {
+            execute(settings.mix().next(random));
+            if (settings.thinkTimeMillis() > 0) {
+                try {
+                    Thread.sleep(settings.thinkTimeMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void execute(Operation operation) {
+        switch (operation) {
+            case TODO_UPDATE, TODO_DELETE -> {
+                if (todoIds.isEmpty()) {
+                    operation = Operation.TODO_CREATE;
+                }
+            }
+            case TRANSACTION_UPDATE, TRANSACTION_DELETE -> {
+                if (transactionIds.isEmpty()) {
+                    operation = Operation.TRANSACTION_CREATE;
+                }
+            }
+            default -> {
+            }
+        }
+
+        EndpointStats endpoint = stats.get(operation);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = send(request(operation));
+            long elapsed = System.nanoTime() - start;
+            if (response.statusCode() / 100 != 2) {
+                endpoint.recordError(response.statusCode());
+                return;
+            }
+            endpoint.recordSuccess(elapsed);
+            afterSuccess(operation, response);
+        } catch (IOException e) {
+            endpoint.recordError(0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private HttpRequest request(Operation operation) throws IOException {
+        return switch (operation) {
+            case LOGIN -> login();
+            case TODO_LIST -> get("/todolist");
+            case TODO_CREATE -> createTodo();
+            case TODO_UPDATE -> put("/todolist/" + pick(todoIds), Map.of(
+                "text", "更新事項 " + random.nextInt(1000), "completed", random.nextBoolean()));
+            case TODO_DELETE -> delete("/todolist/" + todoIds.remove(random.nextInt(todoIds.size())));
+            case TRANSACTION_LIST -> get("/api/transactions");
+            case TRANSACTION_CREATE -> createTransaction();
+            case TRANSACTION_UPDATE -> put("/api/transactions/" + pick(transactionIds), transactionBody());
+            case TRANSACTION_DELETE -> delete("/api/transactions/"
+                + transactionIds.remove(random.nextInt(transactionIds.size())));
+            case TRANSACTION_SUMMARY -> get("/api/transactions/summary"
+                + "?start=2000-01-01T00:00:00&end=2100-01-01T00:00:00");
+        };
+    }
+
+    private void afterSuccess(Operation operation, HttpResponse<String> response) throws IOException {
+        switch (operation) {
+            case TODO_CREATE -> todoIds.add(id(response));
+            case TRANSACTION_CREATE -> transactionIds.add(id(response));
+            default -> {
+            }
+        }
+    }
+
+    private HttpRequest login() throws IOException {
+        return post("/api/users/login", Map.of("username", username, "password", PASSWORD));
+    }
+
+    private HttpRequest createTodo() throws IOException {
+        return post("/todolist", Map.of("text", "事項 " + random.nextInt(1000)));
+    }
+
+    private HttpRequest createTransaction() throws IOException {
+        return post("/api/transactions", transactionBody());
+    }
+
+    private Map<String, Object> transactionBody() {
+        return Map.of(
+            "date", String.format("2024-%02d-%02dT12:00:00", 1 + random.nextInt(12), 1 + random.nextInt(28)),
+            "type", random.nextInt(4) == 0 ? "INCOME" : "EXPENSE",
+            "amount", random.nextInt(1, 100_000) / 100.0,
+            "category", CATEGORIES[random.nextInt(CATEGORIES.length)],
+            "note", "load test");
+    }
+
+    private Long pick(List<Long> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest delete(String path) {
+        return builder(path).DELETE().build();
+    }
+
+    private HttpRequest post(String path, Object body) throws IOException {
+        return builder(path)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body)))
+            .build();
+    }
+
+    private HttpRequest put(String path, Object body) throws IOException {
+        return builder(path)
+            .header("Content-Type", "application/json")
+            .PUT(HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body)))
+            .build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> expectOk(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("準備數據失敗 " + response.request().uri() + ": "
+                + response.statusCode() + " " + response.body());
+        }
+        return response;
+    }
+
+    private static Long id(HttpResponse<String> response) throws IOException {
+        JsonNode id = MAPPER.readTree(response.body()).path("data").path("id");
+        if (!id.canConvertToLong()) {
+            throw new IOException("響應中沒有 ID: " + response.body());
+        }
+        return id.asLong();
+    }
+}
@@ -2,6 +2,7 @@ package com.example.todolist;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Spring Boot 應用程序入口類
@@ -10,6 +11,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * 使用 @SpringBootApplication 注解標記這是一個 Spring Boot 應用。
  */
 @SpringBootApplication  // 整合了 @Configuration, @EnableAutoConfiguration 和 @ComponentScan
+@EnableScheduling       // 啟用定時任務，例如定期重建用戶名/信箱過濾器
 public class SpringbootTodolistApplication {
 
 	/**
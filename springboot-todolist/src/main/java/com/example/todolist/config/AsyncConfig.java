@@ -0,0 +1,86 @@
+package com.example.todolist.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 非同步任務配置類
+ *
+ * 郵件發送使用獨立的小型線程池，與處理 HTTP 請求的線程分開，
+ * SMTP 變慢時只會讓郵件排隊，不會拖慢其他請求。
+ *
+ * 啟用虛擬執行緒模式（spring.threads.virtual.enabled=true，需 Java 21）時，
+ * Spring Boot 會讓 Tomcat 請求、默認的 @Async 執行器和 @Scheduled 任務改用虛擬執行緒；
+ * 郵件線程池同樣改用虛擬執行緒作為工作執行緒，但保留線程數和佇列上限，
+ * 避免大量喚醒任務同時佔用 SMTP 連接。
+ *
+ * 首頁總覽的子查詢在另一個有上限的線程池中並行執行，線程數限制了總覽同時佔用的數據庫連接數。
+ */
+@Configuration
+@EnableAsync  // 啟用 @Async 注解
+public class AsyncConfig {
+
+    /**
+     * 郵件發送線程池
+     * 佇列滿時直接丟棄喚醒任務，未發送的郵件仍在發件箱中，由定時輪詢補發
+     *
+     * @param threads 線程數
+     * @param queueCapacity 等待佇列容量
+     * @param environment 用於判斷是否啟用虛擬執行緒
+     * @return 郵件發送線程池
+     */
+    @Bean
+    public ThreadPoolTaskExecutor mailTaskExecutor(
+            @Value("${app.mail.executor.threads:1}") int threads,
+            @Value("${app.mail.executor.queue-capacity:16}") int queueCapacity,
+            Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("mail-").getVirtualThreadFactory());
+        }
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mail-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    /**
+     * 首頁總覽子查詢線程池
+     * 每個子查詢在自己的只讀事務中執行，各佔一個連接，線程數應明顯小於連接池大小。
+     * 佇列滿時拒絕，由 DashboardService 返回 503，不在請求線程上執行以免繞過上限。
+     *
+     * @param threads 線程數
+     * @param queueCapacity 等待佇列容量
+     * @param environment 用於判斷是否啟用虛擬執行緒
+     * @return 首頁總覽子查詢線程池
+     */
+    @Bean
+    public ThreadPoolTaskExecutor dashboardTaskExecutor(
+            @Value("${app.dashboard.executor.threads:4}") int threads,
+            @Value("${app.dashboard.executor.queue-capacity:100}") int queueCapacity,
+            Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("dashboard-").getVirtualThreadFactory());
+        }
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setTaskDecorator(new RequestContextTaskDecorator());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
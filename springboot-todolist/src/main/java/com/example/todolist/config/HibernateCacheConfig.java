@@ -0,0 +1,101 @@
+package com.example.todolist.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate 二級緩存配置類
+ *
+ * 用戶資料幾乎不變，但登入、查詢和密碼重設都要讀取，因此為 User 實體啟用二級緩存：
+ * - user：按 ID 緩存用戶實體
+ * - user-natural-id：用戶名到 ID 的對應，findByUsername 經由自然鍵查找，命中時不需查詢數據庫
+ * - 查詢緩存：緩存 findByEmail 的結果（只保存 ID，實體仍從 user 區域讀取）
+ * 緩存實現為 Ehcache（經由 JCache），大小和有效期可在 app.user-cache.* 中配置。
+ * 命中率見 hibernate.second.level.cache.requests、hibernate.cache.natural.id.requests
+ * 和 hibernate.cache.query.requests 指標（result=hit/miss）。
+ * 其他實例對用戶的修改由 UserCacheSynchronizer 按 updateTime 定期清除。
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.user-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class HibernateCacheConfig {
+
+    /**
+     * 用戶實體的緩存區域
+     */
+    public static final String USER_REGION = "user";
+
+    /**
+     * 用戶名自然鍵的緩存區域
+     */
+    public static final String USER_NATURAL_ID_REGION = "user-natural-id";
+
+    /**
+     * Hibernate 專用的 JCache 緩存管理器
+     * 每個應用上下文使用獨立的管理器，區域在此全部建立，Hibernate 找不到區域時直接啟動失敗
+     *
+     * @param maxEntries 每個區域最多保存的條目數
+     * @param ttlSeconds 條目有效期（秒）
+     * @return 緩存管理器
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.user-cache.max-entries:10000}") long maxEntries,
+            @Value("${app.user-cache.ttl-seconds:3600}") long ttlSeconds) {
+        CacheConfiguration<Object, Object> expiring = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ttlSeconds)))
+                .build();
+        // 更新時間戳區域記錄每個表最後修改的時間，用於判斷查詢緩存是否過時，不能過期淘汰
+        CacheConfiguration<Object, Object> timestamps = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(1000))
+                .build();
+
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                EhcacheCachingProvider.class.getName());
+        return provider.getCacheManager(URI.create("urn:todolist:hibernate-cache:" + UUID.randomUUID()),
+                ConfigurationBuilder.newConfigurationBuilder()
+                        .withCache(USER_REGION, expiring)
+                        .withCache(USER_NATURAL_ID_REGION, expiring)
+                        .withCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, expiring)
+                        .withCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps)
+                        .build());
+    }
+
+    /**
+     * 為 Hibernate 啟用二級緩存和查詢緩存，並使用上面的緩存管理器
+     * application.properties 中默認關閉，只有載入本類時才啟用，
+     * 避免 Hibernate 在沒有本類的上下文（例如 @DataJpaTest）中自行選用 JCache 默認配置
+     *
+     * @param hibernateCacheManager 緩存管理器
+     * @return Hibernate 屬性定制器
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
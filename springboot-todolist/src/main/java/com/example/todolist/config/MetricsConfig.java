@@ -0,0 +1,29 @@
+package com.example.todolist.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 監控指標配置類
+ *
+ * HTTP 請求、Hikari 連接池和 Hibernate 統計信息由 Spring Boot Actuator 自動採集，
+ * 此處註冊 TimedAspect，使服務層類上的 @Timed 注解生效。
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * 處理 @Timed 注解的切面
+     * 為每個被注解的方法記錄 app.service 計時器，並帶上 class 和 method 標籤
+     *
+     * @param meterRegistry 指標註冊表
+     * @return 計時切面
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
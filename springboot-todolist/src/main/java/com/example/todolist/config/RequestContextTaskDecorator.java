@@ -0,0 +1,49 @@
+package com.example.todolist.config;
+
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.MDC;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.task.TaskDecorator;
+
+import com.example.todolist.datasource.ReplicaRoutingDataSource;
+
+/**
+ * 請求上下文傳遞裝飾器
+ *
+ * 在提交任務的請求線程上取出登入用戶的 ID、語言和 MDC 日誌上下文，帶到工作線程，執行完畢後還原。
+ * 工作線程因此能按用戶選擇從庫，日誌也保留請求的追蹤信息。
+ * 只傳遞取出的值，不傳遞請求對象本身：提交方逾時返回後任務可能仍在執行，
+ * 此時請求已被容器回收，工作線程不能再讀取它。
+ */
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Long userId = ReplicaRoutingDataSource.currentUserId();
+        Locale locale = LocaleContextHolder.getLocale();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        return () -> {
+            LocaleContext previousLocale = LocaleContextHolder.getLocaleContext();
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            LocaleContextHolder.setLocale(locale);
+            setMdc(mdc);
+            try {
+                ReplicaRoutingDataSource.runAsUser(userId, runnable);
+            } finally {
+                LocaleContextHolder.setLocaleContext(previousLocale);
+                setMdc(previousMdc);
+            }
+        };
+    }
+
+    private static void setMdc(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
@@ -1,5 +1,11 @@
 package com.example.todolist.config;
 
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -10,6 +16,8 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.config.Customizer;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
 
 /**
  * 安全配置類
@@ -27,24 +35,37 @@ public class SecurityConfig {
      * 使用 BCrypt 演算法對密碼進行單向加密，提高安全性
      * BCrypt 會自動處理鹽值和多次哈希，適合密碼存儲
      * 
+     * 工作因子可通過 app.security.bcrypt-strength 配置，
+     * 調高後舊密碼會在用戶下次成功登入時自動以新的工作因子重新加密
+     * 
+     * @param strength BCrypt 工作因子（4-31）
      * @return 配置好的 PasswordEncoder 實例
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     /**
      * 配置 Security 過濾鏈
      * 
      * 定義安全過濾規則，包括 CSRF 保護、CORS 支持和請求授權規則
+     * 監控端點中只有 health 對外公開，metrics、prometheus 等只允許來自內部網段的請求
      * 
      * @param http HttpSecurity 配置對象
+     * @param actuatorNetworks 允許訪問監控端點的網段（CIDR）
      * @return 配置好的 SecurityFilterChain
      * @throws Exception 配置過程中可能拋出的異常
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http,
+            @Value("${app.security.actuator.allowed-networks:127.0.0.1/32,::1/128}") String[] actuatorNetworks)
+            throws Exception {
+        List<IpAddressMatcher> actuatorMatchers = Arrays.stream(actuatorNetworks)
+            .map(String::strip)
+            .filter(network -> !network.isEmpty())
+            .map(IpAddressMatcher::new)
+            .toList();
         http
             // 禁用 CSRF 保護，因為我們使用 JWT 或 Session 進行認證
             .csrf(csrf -> csrf.disable())
@@ -57,6 +78,14 @@ public class SecurityConfig {
                 // 公開端點，無需認證
                 .requestMatchers("/api/users/register", "/api/users/login", "/api/users/password-reset/**").permitAll()
                 
+                // 健康檢查供負載均衡器探測，對外公開
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                
+                // 其他監控端點會暴露內部指標，只允許內部網段訪問
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).access((authentication, context) ->
+                    new AuthorizationDecision(actuatorMatchers.stream()
+                        .anyMatch(matcher -> matcher.matches(context.getRequest()))))
+                
                 // 其他所有請求都允許訪問（實際授權在控制器中通過 session 檢查）
                 .anyRequest().permitAll()
             );
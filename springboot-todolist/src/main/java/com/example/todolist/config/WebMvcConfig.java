@@ -0,0 +1,61 @@
+package com.example.todolist.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.example.todolist.security.CurrentUserIdArgumentResolver;
+import com.example.todolist.throttle.UserAdmissionInterceptor;
+import com.example.todolist.throttle.UserAdmissionService;
+
+/**
+ * Spring MVC 配置類
+ *
+ * 註冊自定義的控制器參數解析器、請求攔截器等 Web 層擴展。
+ * CORS 配置仍保留在 SecurityConfig 中。
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    /**
+     * 按用戶的准入控制，app.admission.enabled=false 時不存在
+     */
+    private final ObjectProvider<UserAdmissionService> admissionService;
+
+    /**
+     * 構造器注入
+     *
+     * @param admissionService 准入控制服務
+     */
+    public WebMvcConfig(ObjectProvider<UserAdmissionService> admissionService) {
+        this.admissionService = admissionService;
+    }
+
+    /**
+     * 註冊參數解析器
+     * 使控制器可以通過 @CurrentUserId 直接獲取當前登入用戶的 ID
+     *
+     * @param resolvers 參數解析器列表
+     */
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new CurrentUserIdArgumentResolver());
+    }
+
+    /**
+     * 註冊攔截器
+     * 待辦事項、交易記錄和首頁總覽的請求在進入控制器之前按用戶檢查速率和並發上限
+     *
+     * @param registry 攔截器註冊表
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        admissionService.ifAvailable(service -> registry.addInterceptor(new UserAdmissionInterceptor(service))
+                .addPathPatterns("/todolist", "/todolist/**", "/api/transactions", "/api/transactions/**",
+                        "/api/dashboard"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.todolist.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.todolist.model.dto.DashboardDTO;
+import com.example.todolist.response.ApiResponse;
+import com.example.todolist.security.CurrentUserId;
+import com.example.todolist.service.DashboardService;
+
+/**
+ * 首頁總覽控制器
+ * 
+ * 首頁和記帳頁載入時以一個請求取得未完成的待辦事項、最近的交易記錄和本月統計，
+ * 只解析一次會話，子查詢在服務層並行執行。
+ * 錯誤不在控制器中捕獲，由 GlobalExceptionHandler 統一轉換為響應。
+ */
+@RestController
+@RequestMapping("/api/dashboard")  // 設置基礎路徑
+@CrossOrigin(origins = "http://localhost:5173", allowCredentials = "true")  // 允許前端跨域訪問，支持憑證
+public class DashboardController {
+
+    /**
+     * 首頁總覽服務
+     */
+    @Autowired
+    private DashboardService dashboardService;
+
+    /**
+     * 最近交易記錄筆數的上限
+     */
+    @Value("${app.dashboard.max-recent:50}")
+    private int maxRecent;
+
+    /**
+     * 獲取首頁總覽 API
+     * HTTP 方法: GET
+     * 路徑: /api/dashboard
+     * 
+     * @param recent 最近交易記錄的筆數，介於 1 和上限之間
+     * @param userId 當前登入用戶 ID
+     * @return 包含首頁總覽的 API 響應
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<DashboardDTO>> getDashboard(
+            @RequestParam(defaultValue = "10") int recent,
+            @CurrentUserId Long userId) {
+        // 限制筆數範圍，避免一次讀取過多交易記錄
+        int limit = Math.max(1, Math.min(recent, maxRecent));
+        DashboardDTO dashboard = dashboardService.getDashboard(userId, limit);
+        return ResponseEntity.ok(ApiResponse.success("查詢成功", dashboard));
+    }
+}
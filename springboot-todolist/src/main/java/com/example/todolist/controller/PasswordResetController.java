@@ -3,8 +3,12 @@ package com.example.todolist.controller;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import com.example.todolist.exception.TooManyRequestsException;
 import com.example.todolist.service.UserService;
 import com.example.todolist.response.ApiResponse;
+import com.example.todolist.throttle.AuthThrottleService;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 import java.util.Map;
 
@@ -26,18 +30,30 @@ public class PasswordResetController {
     @Autowired
     private UserService userService;
 
+    /**
+     * 密碼重設限流服務
+     * 在查詢數據庫和發送郵件之前按信箱和 IP 限制請求頻率
+     */
+    @Autowired
+    private AuthThrottleService authThrottleService;
+
     /**
      * 請求密碼重設 API
      * HTTP 方法: POST
      * 路徑: /api/users/password-reset/request
      * 
      * 用戶提供電子郵件，系統發送重設連結
+     * 超過限流配額時直接返回 429，不查詢數據庫也不發送郵件
+     * 同一信箱在冷卻期內的重複請求直接返回成功
      * 
      * @param request 包含電子郵件的請求體
+     * @param httpRequest HTTP 請求對象，用於獲取客戶端 IP
      * @return 操作結果的 API 響應
      */
     @PostMapping("/password-reset/request")
-    public ResponseEntity<ApiResponse<Void>> requestPasswordReset(@RequestBody Map<String, String> request) {
+    public ResponseEntity<ApiResponse<Void>> requestPasswordReset(
+            @RequestBody Map<String, String> request,
+            HttpServletRequest httpRequest) {
         // 從請求中獲取電子郵件
         String email = request.get("email");
         
@@ -47,16 +63,29 @@ public class PasswordResetController {
                 .body(ApiResponse.error(400, "Email 不能為空"));
         }
         
+        // 同一信箱在冷卻期內重複請求，直接返回成功，不查詢數據庫也不發送郵件
+        if (!authThrottleService.tryEnterPasswordResetCooldown(email)) {
+            return ResponseEntity.ok(ApiResponse.success("密碼重設郵件已發送", null));
+        }
+        
+        // 檢查請求頻率
+        try {
+            authThrottleService.checkPasswordReset(httpRequest.getRemoteAddr(), email);
+        } catch (TooManyRequestsException e) {
+            authThrottleService.releasePasswordResetCooldown(email);
+            throw e;
+        }
+        
         try {
             // 調用用戶服務發起密碼重設流程
             userService.initiatePasswordReset(email);
-            // 返回成功響應
-            return ResponseEntity.ok(ApiResponse.success("密碼重設郵件已發送", null));
-        } catch (Exception e) {
-            // 處理異常情況
-            return ResponseEntity.internalServerError()
-                .body(ApiResponse.error(500, e.getMessage()));
+        } catch (RuntimeException e) {
+            // 處理失敗時取消冷卻期，允許用戶立即重試，錯誤交由全局異常處理器返回
+            authThrottleService.releasePasswordResetCooldown(email);
+            throw e;
         }
+        // 返回成功響應
+        return ResponseEntity.ok(ApiResponse.success("密碼重設郵件已發送", null));
     }
 
     /**
@@ -71,16 +100,10 @@ public class PasswordResetController {
      */
     @GetMapping("/password-reset/validate")
     public ResponseEntity<ApiResponse<Void>> validateToken(@RequestParam String token) {
-        try {
-            // 調用用戶服務驗證令牌
-            userService.validatePasswordResetToken(token);
-            // 返回成功響應
-            return ResponseEntity.ok(ApiResponse.success("重設連結有效", null));
-        } catch (Exception e) {
-            // 處理異常情況
-            return ResponseEntity.badRequest()
-                .body(ApiResponse.error(400, e.getMessage()));
-        }
+        // 調用用戶服務驗證令牌，無效時由全局異常處理器返回 400
+        userService.validatePasswordResetToken(token);
+        // 返回成功響應
+        return ResponseEntity.ok(ApiResponse.success("重設連結有效", null));
     }
 
     /**
@@ -107,15 +130,9 @@ public class PasswordResetController {
                 .body(ApiResponse.error(400, "新密碼不能為空"));
         }
         
-        try {
-            // 調用用戶服務執行密碼重設
-            userService.resetPassword(token, newPassword);
-            // 返回成功響應
-            return ResponseEntity.ok(ApiResponse.success("密碼已重設", null));
-        } catch (Exception e) {
-            // 處理異常情況
-            return ResponseEntity.badRequest()
-                .body(ApiResponse.error(400, e.getMessage()));
-        }
+        // 調用用戶服務執行密碼重設，令牌無效時返回 400，雜湊執行緒池繁忙時返回 503
+        userService.resetPassword(token, newPassword);
+        // 返回成功響應
+        return ResponseEntity.ok(ApiResponse.success("密碼已重設", null));
     }
 }
\ No newline at end of file
@@ -13,8 +13,11 @@ import com.example.todolist.model.dto.LoginDTO;
 import com.example.todolist.model.dto.RegisterDTO;
 import com.example.todolist.model.dto.UserResponseDTO;
 import com.example.todolist.response.ApiResponse;
+import com.example.todolist.security.CurrentUserIdArgumentResolver;
 import com.example.todolist.service.UserService;
+import com.example.todolist.throttle.AuthThrottleService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 
 /**
@@ -34,13 +37,21 @@ public class UserController {
      */
     private final UserService userService;
     
+    /**
+     * 登入限流服務
+     * 在驗證密碼之前按用戶名和 IP 限制嘗試頻率
+     */
+    private final AuthThrottleService authThrottleService;
+    
     /**
      * 構造器注入用戶服務
      * 
      * @param userService 用戶服務實例
+     * @param authThrottleService 登入限流服務實例
      */
-    public UserController(UserService userService) {
+    public UserController(UserService userService, AuthThrottleService authThrottleService) {
         this.userService = userService;
+        this.authThrottleService = authThrottleService;
     }
 
     /**
@@ -66,19 +77,24 @@ public class UserController {
      * 路徑: /api/users/login
      * 
      * 登入成功後，將用戶信息存儲在會話中
+     * 超過限流配額時直接返回 429，不執行密碼驗證
      * 
      * @param loginDTO 登入請求數據，包含用戶名和密碼
+     * @param request HTTP 請求對象，用於獲取客戶端 IP
      * @param session HTTP 會話對象，用於存儲用戶登入狀態
      * @return 包含登入成功的用戶信息的 API 響應
      */
     @PostMapping("/login")
     public ResponseEntity<ApiResponse<UserResponseDTO>> login(
     		@RequestBody LoginDTO loginDTO,
+    		HttpServletRequest request,
     		HttpSession session) {
+        // 檢查登入頻率
+        authThrottleService.checkLogin(request.getRemoteAddr(), loginDTO.getUsername());
         // 調用用戶服務進行登入驗證
         UserResponseDTO userResponseDTO = userService.login(loginDTO);
         // 將用戶信息存儲在會話中，標記用戶已登入
-        session.setAttribute("user", userResponseDTO);
+        session.setAttribute(CurrentUserIdArgumentResolver.SESSION_USER, userResponseDTO);
         // 返回成功響應
         return ResponseEntity.ok(ApiResponse.success("登入成功", userResponseDTO));
     }
@@ -0,0 +1,51 @@
+package com.example.todolist.datasource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hikari 連接池工具類
+ *
+ * 讀寫分離和分片都需要自行建立多個連接池，此時 Spring Boot 不會為它們綁定配置和指標，
+ * 由這裡統一套用 spring.datasource.hikari.* 的設置並註冊 hikaricp.* 指標。
+ */
+public final class HikariPools {
+
+    private HikariPools() {
+    }
+
+    /**
+     * 建立一個連接池
+     *
+     * @param name 連接池名稱，同時作為指標的 pool 標籤
+     * @param driverClassName JDBC 驅動類名
+     * @param url 數據庫地址
+     * @param username 用戶名
+     * @param password 密碼
+     * @param environment 用於綁定 spring.datasource.hikari.* 設置
+     * @param meterRegistry 指標註冊表
+     * @return 連接池
+     */
+    public static HikariDataSource create(String name, String driverClassName, String url, String username,
+            String password, Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(driverClassName)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(name);
+        meterRegistry.ifAvailable(registry -> dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return dataSource;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.todolist.datasource;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.todolist.service.CollectionVersionService.CollectionVersionChangedEvent;
+
+/**
+ * 讀己之寫追蹤器
+ *
+ * 記錄每個用戶最近一次寫入提交的時間。用戶寫入後的一小段時間內，
+ * 其只讀事務仍然走主庫，避免從庫複製延遲導致剛寫入的數據「消失」。
+ * 寫入以列表版本變更事件為準，待辦事項和交易記錄的每次寫入都會發布該事件。
+ * 記錄只保存在本實例記憶體中，多實例部署時需要黏性會話，或把窗口設為大於複製延遲的上限。
+ */
+public class ReadYourWritesTracker {
+
+    /**
+     * 寫入後仍走主庫的時間窗口（納秒）
+     */
+    private final long windowNanos;
+
+    /**
+     * 每個用戶最近一次寫入提交的時間
+     */
+    private final ConcurrentHashMap<Long, Long> lastWrites = new ConcurrentHashMap<>();
+
+    /**
+     * 構造器
+     *
+     * @param windowMillis 寫入後仍走主庫的時間窗口（毫秒）
+     */
+    public ReadYourWritesTracker(long windowMillis) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    /**
+     * 記錄用戶的寫入
+     *
+     * @param userId 用戶 ID
+     */
+    public void recordWrite(Long userId) {
+        lastWrites.put(userId, System.nanoTime());
+    }
+
+    /**
+     * 判斷用戶是否在時間窗口內寫入過
+     *
+     * @param userId 用戶 ID
+     * @return 在窗口內寫入過返回 true
+     */
+    public boolean wroteRecently(Long userId) {
+        Long writtenAt = lastWrites.get(userId);
+        return writtenAt != null && System.nanoTime() - writtenAt < windowNanos;
+    }
+
+    /**
+     * 寫入事務提交後記錄
+     * 監聽器在提交後同步執行，響應返回給用戶之前就已記錄完成
+     *
+     * @param event 列表版本變更事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCollectionChanged(CollectionVersionChangedEvent event) {
+        recordWrite(event.key().getUserId());
+    }
+
+    /**
+     * 定期清除已超出時間窗口的記錄
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.evict-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        lastWrites.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+    }
+}
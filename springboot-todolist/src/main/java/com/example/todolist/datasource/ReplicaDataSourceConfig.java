@@ -0,0 +1,107 @@
+package com.example.todolist.datasource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 讀寫分離數據源配置類
+ *
+ * 啟用 app.datasource.replica.enabled 後，以 spring.datasource.* 作為主庫，
+ * app.datasource.replica.urls 中的每個地址各建立一個從庫連接池，
+ * 所有連接池共用 spring.datasource.hikari.* 的設置，從庫可單獨設置連接數。
+ * 定義了 DataSource 後，Spring Boot 的默認數據源自動配置會自動退出。
+ * 各連接池的 hikaricp.* 指標以 pool 標籤區分（primary、replica-0、replica-1 ...）。
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * 讀己之寫追蹤器
+     *
+     * @param windowMillis 用戶寫入後其只讀事務仍走主庫的時間（毫秒），應大於從庫的正常複製延遲
+     * @return 追蹤器
+     */
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${app.datasource.replica.read-your-writes-ms:5000}") long windowMillis) {
+        return new ReadYourWritesTracker(windowMillis);
+    }
+
+    /**
+     * 路由數據源，持有主庫和所有從庫的連接池
+     *
+     * @param properties 主庫連接配置
+     * @param environment 用於綁定連接池設置
+     * @param meterRegistry 指標註冊表
+     * @param readYourWritesTracker 讀己之寫追蹤器
+     * @param replicaUrls 從庫地址
+     * @param replicaUsername 從庫用戶名，默認與主庫相同
+     * @param replicaPassword 從庫密碼，默認與主庫相同
+     * @param replicaPoolSize 每個從庫的最大連接數
+     * @return 路由數據源
+     */
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties,
+            Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            ReadYourWritesTracker readYourWritesTracker,
+            @Value("${app.datasource.replica.urls}") List<String> replicaUrls,
+            @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String replicaUsername,
+            @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String replicaPassword,
+            @Value("${app.datasource.replica.maximum-pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int replicaPoolSize) {
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        HikariDataSource primary = HikariPools.create(ReplicaRoutingDataSource.PRIMARY, properties.determineDriverClassName(),
+                properties.determineUrl(), properties.determineUsername(), properties.determinePassword(),
+                environment, meterRegistry);
+        targets.put(ReplicaRoutingDataSource.PRIMARY, primary);
+
+        List<String> replicaKeys = new ArrayList<>();
+        for (String url : replicaUrls) {
+            String key = "replica-" + replicaKeys.size();
+            HikariDataSource replica = HikariPools.create(key, properties.determineDriverClassName(), url.trim(),
+                    replicaUsername, replicaPassword, environment, meterRegistry);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            targets.put(key, replica);
+            replicaKeys.add(key);
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(replicaKeys, readYourWritesTracker);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    /**
+     * 應用使用的數據源
+     * 延遲到執行第一條語句時才向路由數據源取得連接，此時事務的只讀標記已經設置
+     *
+     * @param replicaRoutingDataSource 路由數據源
+     * @return 延遲取得連接的數據源代理
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
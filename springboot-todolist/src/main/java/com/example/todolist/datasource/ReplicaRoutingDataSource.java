@@ -0,0 +1,135 @@
+package com.example.todolist.datasource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.example.todolist.model.dto.UserResponseDTO;
+import com.example.todolist.security.CurrentUserIdArgumentResolver;
+
+/**
+ * 讀寫分離路由數據源
+ *
+ * 按當前事務決定使用哪個連接池：
+ * - 已登入用戶的只讀事務輪流分配到各個從庫
+ * - 其他所有情況走主庫：讀寫事務、沒有事務、未登入的請求（登入、註冊、密碼重設）、
+ *   後台任務，以及剛寫入過數據的用戶（見 ReadYourWritesTracker）
+ * 必須包在 LazyConnectionDataSourceProxy 中使用：事務開始時只讀標記尚未設置，
+ * 延遲到執行第一條語句時才真正取得連接，路由才能看到只讀標記。
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    /**
+     * 主庫的查找鍵
+     */
+    public static final String PRIMARY = "primary";
+
+    /**
+     * 工作線程上代表的用戶 ID
+     * 由提交任務的請求線程捕獲後設置，工作線程不再需要讀取請求對象
+     */
+    private static final ThreadLocal<Long> TASK_USER_ID = new ThreadLocal<>();
+
+    /**
+     * 從庫的查找鍵
+     */
+    private final List<String> replicaKeys;
+
+    /**
+     * 讀己之寫追蹤器
+     */
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    /**
+     * 輪詢計數
+     */
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * 構造器
+     *
+     * @param replicaKeys 從庫的查找鍵，順序即輪詢順序
+     * @param readYourWritesTracker 讀己之寫追蹤器
+     */
+    public ReplicaRoutingDataSource(List<String> replicaKeys, ReadYourWritesTracker readYourWritesTracker) {
+        this.replicaKeys = List.copyOf(replicaKeys);
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    /**
+     * 決定當前連接使用的數據源
+     *
+     * @return 主庫或某個從庫的查找鍵
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicaKeys.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        Long userId = currentUserId();
+        if (userId == null || readYourWritesTracker.wroteRecently(userId)) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+    }
+
+    /**
+     * 在指定用戶的身份下執行任務
+     * 供工作線程使用：請求結束後請求對象會被容器回收，工作線程只能使用提交時捕獲的用戶 ID
+     *
+     * @param userId 用戶 ID，可為 null
+     * @param task 任務
+     */
+    public static void runAsUser(Long userId, Runnable task) {
+        Long previous = TASK_USER_ID.get();
+        TASK_USER_ID.set(userId);
+        try {
+            task.run();
+        } finally {
+            if (previous == null) {
+                TASK_USER_ID.remove();
+            } else {
+                TASK_USER_ID.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 取得當前用戶的 ID
+     * 工作線程上返回 runAsUser 設置的用戶；請求線程上讀取會話中的登入用戶，只讀取已存在的會話，不會創建新的會話
+     *
+     * @return 用戶 ID，不在請求中或未登入時返回 null
+     */
+    public static Long currentUserId() {
+        Long taskUserId = TASK_USER_ID.get();
+        if (taskUserId != null) {
+            return taskUserId;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object user = attributes.getAttribute(CurrentUserIdArgumentResolver.SESSION_USER, RequestAttributes.SCOPE_SESSION);
+        return user instanceof UserResponseDTO ? ((UserResponseDTO) user).getId() : null;
+    }
+
+    /**
+     * 關閉所有連接池
+     */
+    @Override
+    public void close() throws IOException {
+        for (DataSource dataSource : getResolvedDataSources().values()) {
+            if (dataSource instanceof Closeable) {
+                ((Closeable) dataSource).close();
+            }
+        }
+    }
+}
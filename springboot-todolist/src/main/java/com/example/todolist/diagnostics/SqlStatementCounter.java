@@ -0,0 +1,55 @@
+package com.example.todolist.diagnostics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * SQL 語句計數器
+ *
+ * 註冊為 Hibernate 的 StatementInspector，Hibernate 每準備一條 SQL 語句都會經過此處，
+ * 按線程累計語句數量，用於找出 N+1 查詢或意外觸發的延遲加載：
+ * - 測試中在請求前後讀取計數，斷言每個端點執行的語句數量
+ * - 啟用 app.sql-guard.enabled 時，由 SqlStatementGuardFilter 在單個請求超過門檻時記錄警告
+ * 只統計在請求線程上執行的語句，交給其他線程的工作（例如郵件派發）不計入。
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    /**
+     * 當前線程已執行的語句數
+     */
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * 記錄一條語句，不修改 SQL
+     *
+     * @param sql 即將執行的 SQL
+     * @return 原始 SQL
+     */
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * 將當前線程的計數歸零
+     */
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    /**
+     * 讀取當前線程的計數
+     *
+     * @return 自上次歸零以來執行的語句數
+     */
+    public static int current() {
+        return COUNT.get()[0];
+    }
+
+    /**
+     * 移除當前線程的計數，避免線程池中的線程殘留狀態
+     */
+    public static void clear() {
+        COUNT.remove();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.todolist.diagnostics;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * SQL 語句數量守衛過濾器
+ *
+ * 統計每個請求執行的 SQL 語句數量，輸出為 http.server.requests.sql 分佈指標，
+ * 超過門檻時記錄警告，便於在運行環境中發現 N+1 查詢。
+ * 默認關閉，通過 app.sql-guard.enabled=true 啟用。
+ */
+@Component
+@ConditionalOnProperty(name = "app.sql-guard.enabled", havingValue = "true")
+public class SqlStatementGuardFilter extends OncePerRequestFilter {
+
+    /**
+     * 日誌記錄器
+     */
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementGuardFilter.class);
+
+    /**
+     * 指標註冊表
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 單個請求允許的語句數量，超過時記錄警告
+     */
+    private final int threshold;
+
+    /**
+     * 構造器注入
+     *
+     * @param meterRegistry 指標註冊表
+     * @param threshold 單個請求允許的語句數量
+     */
+    public SqlStatementGuardFilter(MeterRegistry meterRegistry,
+            @Value("${app.sql-guard.threshold:10}") int threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementCounter.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int statements = SqlStatementCounter.current();
+            SqlStatementCounter.clear();
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            DistributionSummary.builder("http.server.requests.sql")
+                    .description("SQL statements executed per request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(statements);
+
+            if (statements > threshold) {
+                logger.warn("{} {} executed {} SQL statements (threshold {})",
+                        request.getMethod(), request.getRequestURI(), statements, threshold);
+            }
+        }
+    }
+}
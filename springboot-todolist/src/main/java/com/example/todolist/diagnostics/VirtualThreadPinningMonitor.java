@@ -0,0 +1,157 @@
+package com.example.todolist.diagnostics;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * 虛擬執行緒釘住（pinning）監控
+ *
+ * 虛擬執行緒在 synchronized 區塊或本地方法中阻塞時無法卸載，會佔住底層的載體執行緒，
+ * 大量發生時虛擬執行緒模式的併發能力會退化為載體執行緒數（CPU 核心數）。
+ * 本組件以 JFR 事件流訂閱 jdk.VirtualThreadPinned 事件：
+ * - 每次釘住的持續時間記錄到 jvm.threads.virtual.pinned 計時器
+ * - 每個不同的調用棧第一次出現時以 WARN 記錄，之後只以 DEBUG 記錄，避免刷屏
+ * 只在 spring.threads.virtual.enabled=true 且運行於 Java 21 以上時啟用，
+ * 可通過 app.virtual-threads.pinning-monitor.enabled=false 關閉。
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "app.virtual-threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+
+    /**
+     * 日誌記錄器
+     */
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    /**
+     * JFR 事件名稱
+     */
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    /**
+     * 記錄過的不同調用棧數量上限，超過後不再區分首次出現
+     */
+    private static final int MAX_TRACKED_STACKS = 1000;
+
+    /**
+     * 釘住時間計時器
+     */
+    private final Timer pinnedTimer;
+
+    /**
+     * 只記錄持續時間超過此值的釘住事件
+     */
+    private final Duration threshold;
+
+    /**
+     * 日誌中輸出的調用棧深度
+     */
+    private final int stackDepth;
+
+    /**
+     * 已記錄過的調用棧
+     */
+    private final Map<String, Boolean> reportedStacks = new ConcurrentHashMap<>();
+
+    /**
+     * JFR 事件流
+     */
+    private RecordingStream stream;
+
+    /**
+     * 構造器注入配置
+     *
+     * @param meterRegistry 指標註冊表
+     * @param thresholdMillis 記錄門檻（毫秒）
+     * @param stackDepth 日誌中輸出的調用棧深度
+     */
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+            @Value("${app.virtual-threads.pinning-monitor.threshold-ms:20}") long thresholdMillis,
+            @Value("${app.virtual-threads.pinning-monitor.stack-depth:12}") int stackDepth) {
+        this.threshold = Duration.ofMillis(thresholdMillis);
+        this.stackDepth = stackDepth;
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 啟動事件流
+     */
+    @Override
+    public void afterPropertiesSet() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        logger.info("Virtual thread pinning monitor started, threshold {} ms", threshold.toMillis());
+    }
+
+    /**
+     * 關閉事件流
+     */
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    /**
+     * 處理釘住事件
+     *
+     * @param event JFR 事件
+     */
+    private void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+
+        String stack = describeStack(event);
+        boolean first = reportedStacks.size() < MAX_TRACKED_STACKS
+                && reportedStacks.putIfAbsent(stack, Boolean.TRUE) == null;
+        if (first) {
+            logger.warn("Virtual thread pinned for {} ms:\n{}", event.getDuration().toMillis(), stack);
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("Virtual thread pinned for {} ms:\n{}", event.getDuration().toMillis(), stack);
+        }
+    }
+
+    /**
+     * 取出事件的調用棧
+     *
+     * @param event JFR 事件
+     * @return 調用棧文字，每行一個棧幀
+     */
+    private String describeStack(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "\t(no stack trace)";
+        }
+        return event.getStackTrace().getFrames().stream()
+                .limit(stackDepth)
+                .map(VirtualThreadPinningMonitor::describeFrame)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String describeFrame(RecordedFrame frame) {
+        return "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : "");
+    }
+}
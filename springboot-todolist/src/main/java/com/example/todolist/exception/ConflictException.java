@@ -0,0 +1,25 @@
+package com.example.todolist.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * 資料衝突異常
+ *
+ * 當要建立的資料與已有資料衝突（例如用戶名或信箱已被註冊）時拋出，轉換為 409 Conflict。
+ */
+public class ConflictException extends DomainException {
+
+    /**
+     * 序列化版本 ID
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 建構子
+     *
+     * @param message 異常的詳細信息
+     */
+    public ConflictException(String message) {
+        super(HttpStatus.CONFLICT, message);
+    }
+}
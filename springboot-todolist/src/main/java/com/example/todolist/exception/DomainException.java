@@ -0,0 +1,44 @@
+package com.example.todolist.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * 業務異常基類
+ *
+ * 表示可預期的失敗（未登入、資料不存在、資料衝突、限流等），屬於正常的控制流程。
+ * 不填充堆疊追蹤、不支持附加的被抑制異常，建立成本與普通對象相當，
+ * 大量未登入輪詢等情況下不會因為生成堆疊而消耗 CPU。
+ * 由 GlobalExceptionHandler 按 {@link #getStatus()} 統一轉換為響應，只以 DEBUG 級別記錄信息。
+ */
+public abstract class DomainException extends RuntimeException {
+
+    /**
+     * 序列化版本 ID
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 對應的 HTTP 狀態碼
+     */
+    private final HttpStatus status;
+
+    /**
+     * 建構子
+     *
+     * @param status 對應的 HTTP 狀態碼
+     * @param message 異常的詳細信息，直接返回給客戶端
+     */
+    protected DomainException(HttpStatus status, String message) {
+        super(message, null, false, false);
+        this.status = status;
+    }
+
+    /**
+     * 獲取對應的 HTTP 狀態碼
+     *
+     * @return HTTP 狀態碼
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -1,43 +1,124 @@
 package com.example.todolist.exception;
 
 import com.example.todolist.response.ApiResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 /**
  * 全局異常處理器
  * 
  * 集中處理應用中拋出的各種異常，將異常轉換為前端友好的響應格式。
  * 使用 @RestControllerAdvice 註解捕獲所有 Controller 拋出的異常。
+ * 繼承 ResponseEntityExceptionHandler，請求格式錯誤、參數缺失、路徑不存在等框架異常
+ * 按 Spring MVC 的標準狀態碼返回，不會落入兜底的 500。
  */
 @RestControllerAdvice
-public class GlobalExceptionHandler {
+public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
     /**
-     * 處理 TodoNotFoundException 異常
-     * 當找不到待辦事項或用戶嘗試訪問不屬於自己的待辦事項時觸發
-     * 
+     * 日誌記錄器
+     */
+    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    /**
+     * 處理業務異常
+     * 未登入、資料不存在、資料衝突等可預期的失敗，按異常對應的狀態碼返回。
+     * 這類異常不帶堆疊追蹤，只以 DEBUG 級別記錄一行，大量重複時不造成日誌壓力。
+     * ServiceBusyException 和 TooManyRequestsException 需要附加標頭，由下面更具體的處理器處理。
+     *
+     * @param ex 拋出的異常
+     * @return 包含錯誤信息的 API 響應，HTTP 狀態碼由異常決定
+     */
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<ApiResponse<Void>> handleDomainException(DomainException ex) {
+        logger.debug("{} {}: {}", ex.getStatus().value(), ex.getClass().getSimpleName(), ex.getMessage());
+        return ResponseEntity.status(ex.getStatus())
+                .body(ApiResponse.error(ex.getStatus().value(), ex.getMessage()));
+    }
+
+    /**
+     * 處理 ServiceBusyException 異常
+     * 當受限資源已滿無法處理請求時觸發，告知客戶端稍後重試
+     *
+     * @param ex 拋出的異常
+     * @return 包含錯誤信息的 API 響應，HTTP 狀態碼為 503 Service Unavailable，並附帶 Retry-After 標頭
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ApiResponse<Void>> handleServiceBusyException(ServiceBusyException ex) {
+        logger.debug("503 {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage()));
+    }
+
+    /**
+     * 處理 TooManyRequestsException 異常
+     * 當請求超過限流配額時觸發，在執行任何耗時操作之前就返回
+     *
+     * @param ex 拋出的異常
+     * @return 包含錯誤信息的 API 響應，HTTP 狀態碼為 429 Too Many Requests，並附帶 Retry-After 標頭
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponse<Void>> handleTooManyRequestsException(TooManyRequestsException ex) {
+        logger.debug("429 {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ApiResponse.error(HttpStatus.TOO_MANY_REQUESTS.value(), ex.getMessage()));
+    }
+
+    /**
+     * 處理 Spring MVC 的框架異常
+     * 狀態碼和標頭沿用父類的映射，響應體換成統一的 ApiResponse 格式。
+     * 4xx 是客戶端的錯誤，與業務異常一樣只以 DEBUG 級別記錄一行；5xx 連同堆疊記錄為 ERROR。
+     *
      * @param ex 拋出的異常
-     * @return 包含錯誤信息的 API 響應，HTTP 狀態碼為 404 Not Found
+     * @param body 父類生成的響應體（ProblemDetail）
+     * @param headers 響應標頭
+     * @param statusCode HTTP 狀態碼
+     * @param request 當前請求
+     * @return 包含錯誤信息的 API 響應，響應已提交時為 null
      */
-    @ExceptionHandler(TodoNotFoundException.class)
-    public ResponseEntity<ApiResponse<Void>> handleTodoNotFoundException(TodoNotFoundException ex) {
-        return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body(ApiResponse.error(HttpStatus.NOT_FOUND.value(), ex.getMessage()));
+    @Override
+    protected ResponseEntity<Object> handleExceptionInternal(Exception ex, @Nullable Object body,
+            HttpHeaders headers, HttpStatusCode statusCode, WebRequest request) {
+        ResponseEntity<Object> response = super.handleExceptionInternal(ex, body, headers, statusCode, request);
+        if (response == null) {
+            return null;
+        }
+        if (statusCode.is5xxServerError()) {
+            logger.error("Framework exception:", ex);
+        } else {
+            logger.debug("{} {}: {}", statusCode.value(), ex.getClass().getSimpleName(), ex.getMessage());
+        }
+        String message = response.getBody() instanceof ProblemDetail problem && problem.getDetail() != null
+                ? problem.getDetail()
+                : HttpStatus.valueOf(statusCode.value()).getReasonPhrase();
+        return new ResponseEntity<>(ApiResponse.error(statusCode.value(), message),
+                response.getHeaders(), response.getStatusCode());
     }
 
     /**
      * 處理所有其他未捕獲的異常
      * 作為兜底處理器，防止未處理的異常直接返回給客戶端
+     * 這類異常不在預期之內，連同堆疊記錄為 ERROR；異常信息可能包含內部細節，只寫入日誌，不返回給客戶端
      * 
      * @param ex 拋出的異常
      * @return 包含錯誤信息的 API 響應，HTTP 狀態碼為 500 Internal Server Error
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<Void>> handleGeneralException(Exception ex) {
+        logger.error("Unhandled exception:", ex);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(), "系統錯誤：" + ex.getMessage()));
+                .body(ApiResponse.error(HttpStatus.INTERNAL_SERVER_ERROR.value(), "系統錯誤"));
     }
 }
\ No newline at end of file
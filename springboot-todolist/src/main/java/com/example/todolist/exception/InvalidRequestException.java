@@ -0,0 +1,25 @@
+package com.example.todolist.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * 無效請求異常
+ *
+ * 當請求內容不符合業務規則（例如重設連結無效、新密碼與舊密碼相同）時拋出，轉換為 400 Bad Request。
+ */
+public class InvalidRequestException extends DomainException {
+
+    /**
+     * 序列化版本 ID
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 建構子
+     *
+     * @param message 異常的詳細信息
+     */
+    public InvalidRequestException(String message) {
+        super(HttpStatus.BAD_REQUEST, message);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.todolist.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * 資料不存在異常
+ *
+ * 當查詢的資料不存在或不屬於當前用戶時拋出，轉換為 404 Not Found。
+ * 不屬於當前用戶的資料同樣視為不存在，不透露其他用戶的資料是否存在。
+ */
+public class NotFoundException extends DomainException {
+
+    /**
+     * 序列化版本 ID
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 建構子
+     *
+     * @param message 異常的詳細信息
+     */
+    public NotFoundException(String message) {
+        super(HttpStatus.NOT_FOUND, message);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.todolist.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * 服務繁忙異常
+ *
+ * 當受限資源（例如密碼雜湊執行緒池）已滿、無法在時限內處理請求時拋出，
+ * 由 GlobalExceptionHandler 轉換為 503 Service Unavailable，並附帶 Retry-After 標頭。
+ */
+public class ServiceBusyException extends DomainException {
+
+    /**
+     * 序列化版本 ID
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 建議客戶端重試前等待的秒數
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * 建構子
+     *
+     * @param message 異常的詳細信息
+     * @param retryAfterSeconds 建議的重試等待秒數
+     */
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * 獲取建議的重試等待秒數
+     *
+     * @return 重試等待秒數
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -7,10 +7,10 @@ package com.example.todolist.exception;
 /**
  * 待辦事項未找到異常
  * 
- * 當訪問不存在的待辦事項或用戶嘗試訪問不屬於自己的待辦事項時拋出。
- * 屬於受檢異常（Checked Exception），需要在方法聲明中使用 throws 或者 try-catch 處理。
+ * 當訪問不存在的待辦事項或用戶嘗試訪問不屬於自己的待辦事項時拋出，
+ * 由 GlobalExceptionHandler 轉換為 404 Not Found。
  */
-public class TodoNotFoundException extends Exception {
+public class TodoNotFoundException extends NotFoundException {
     
     /**
      * 序列化版本 ID
@@ -24,7 +24,6 @@ public class TodoNotFoundException extends Exception {
      * @param message 異常的詳細信息，描述具體的錯誤原因
      */
     public TodoNotFoundException(String message) {
-        // 調用父類 Exception 的建構子，傳入錯誤信息
         super(message);
     }
-}
\ No newline at end of file
+}
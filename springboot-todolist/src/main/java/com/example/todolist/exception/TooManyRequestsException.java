@@ -0,0 +1,42 @@
+package com.example.todolist.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * 請求過於頻繁異常
+ *
+ * 當請求超過限流配額時拋出，由 GlobalExceptionHandler 轉換為
+ * 429 Too Many Requests，並附帶 Retry-After 標頭。
+ */
+public class TooManyRequestsException extends DomainException {
+
+    /**
+     * 序列化版本 ID
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 建議客戶端重試前等待的秒數
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * 建構子
+     *
+     * @param message 異常的詳細信息
+     * @param retryAfterSeconds 建議的重試等待秒數
+     */
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(HttpStatus.TOO_MANY_REQUESTS, message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * 獲取建議的重試等待秒數
+     *
+     * @return 重試等待秒數
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
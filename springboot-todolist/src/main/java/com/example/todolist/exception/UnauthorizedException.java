@@ -0,0 +1,26 @@
+package com.example.todolist.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * 未登入異常
+ *
+ * 當請求需要登入但會話中沒有用戶信息，或登入時用戶名、密碼驗證失敗時拋出，
+ * 由 GlobalExceptionHandler 轉換為 401 Unauthorized 響應。
+ */
+public class UnauthorizedException extends DomainException {
+
+    /**
+     * 序列化版本 ID
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 建構子
+     *
+     * @param message 異常的詳細信息
+     */
+    public UnauthorizedException(String message) {
+        super(HttpStatus.UNAUTHORIZED, message);
+    }
+}
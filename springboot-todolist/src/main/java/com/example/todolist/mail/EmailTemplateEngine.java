@@ -0,0 +1,263 @@
+package com.example.todolist.mail;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+/**
+ * 郵件模板引擎
+ *
+ * 啟動時讀取 classpath:templates/email/ 下的所有 .html 模板，
+ * 預先解析為「文字片段 + 變量」序列，發送時只需依序拼接，不再重複解析或格式化。
+ *
+ * 模板格式：
+ * - 第一行為主旨，以 "#subject:" 開頭
+ * - 其餘為 HTML 內容，變量寫作 {{name}}，渲染時自動進行 HTML 轉義
+ * - 多語言版本以文件名後綴區分，例如 password-reset_en.html，
+ *   找不到對應語言時依序退回到只含語言的版本和無後綴的默認版本
+ */
+@Component
+public class EmailTemplateEngine {
+
+    /**
+     * 日誌記錄器
+     */
+    private static final Logger logger = LoggerFactory.getLogger(EmailTemplateEngine.class);
+
+    /**
+     * 模板所在位置
+     */
+    private static final String TEMPLATE_PATTERN = "classpath*:templates/email/*.html";
+
+    /**
+     * 主旨行前綴
+     */
+    private static final String SUBJECT_PREFIX = "#subject:";
+
+    /**
+     * 渲染緩衝區超過此容量後不再重複使用，避免個別大郵件長期佔用記憶體
+     */
+    private static final int MAX_REUSED_BUFFER_CAPACITY = 64 * 1024;
+
+    /**
+     * 每個線程重複使用的渲染緩衝區
+     */
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(2048));
+
+    /**
+     * 已解析的模板，鍵為不含副檔名的文件名
+     * 啟動後只讀，可安全地被多線程同時訪問
+     */
+    private final Map<String, CompiledEmail> templates;
+
+    /**
+     * 啟動時加載並解析所有模板
+     */
+    public EmailTemplateEngine() {
+        this(new PathMatchingResourcePatternResolver());
+    }
+
+    /**
+     * 從指定的資源解析器加載模板
+     *
+     * @param resolver 資源解析器
+     */
+    EmailTemplateEngine(ResourcePatternResolver resolver) {
+        Map<String, CompiledEmail> loaded = new HashMap<>();
+        try {
+            for (Resource resource : resolver.getResources(TEMPLATE_PATTERN)) {
+                String filename = resource.getFilename();
+                if (filename == null) {
+                    continue;
+                }
+                String name = filename.substring(0, filename.length() - ".html".length());
+                String source = resource.getContentAsString(StandardCharsets.UTF_8);
+                loaded.put(name, compileEmail(name, source));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("無法加載郵件模板", e);
+        }
+        this.templates = Map.copyOf(loaded);
+        logger.info("Loaded {} email templates", templates.size());
+    }
+
+    /**
+     * 渲染郵件
+     *
+     * @param name 模板名稱，例如 password-reset
+     * @param locale 收件人語言，可為 null
+     * @param variables 模板變量
+     * @return 渲染後的主旨和 HTML 內容
+     * @throws IllegalArgumentException 如果模板不存在或缺少變量
+     */
+    public RenderedEmail render(String name, Locale locale, Map<String, String> variables) {
+        CompiledEmail email = resolve(name, locale);
+        return new RenderedEmail(
+            email.subject().render(variables, false),
+            email.body().render(variables, true));
+    }
+
+    /**
+     * 按語言查找模板：name_語言_地區、name_語言、name
+     *
+     * @param name 模板名稱
+     * @param locale 收件人語言
+     * @return 已解析的模板
+     */
+    private CompiledEmail resolve(String name, Locale locale) {
+        CompiledEmail email = null;
+        if (locale != null && !locale.getLanguage().isEmpty()) {
+            if (!locale.getCountry().isEmpty()) {
+                email = templates.get(name + "_" + locale.getLanguage() + "_" + locale.getCountry());
+            }
+            if (email == null) {
+                email = templates.get(name + "_" + locale.getLanguage());
+            }
+        }
+        if (email == null) {
+            email = templates.get(name);
+        }
+        if (email == null) {
+            throw new IllegalArgumentException("找不到郵件模板: " + name);
+        }
+        return email;
+    }
+
+    /**
+     * 解析郵件模板文件
+     *
+     * @param name 模板名稱
+     * @param source 模板內容
+     * @return 已解析的主旨和內容
+     */
+    static CompiledEmail compileEmail(String name, String source) {
+        int newline = source.indexOf('\n');
+        String firstLine = newline < 0 ? source : source.substring(0, newline);
+        if (!firstLine.startsWith(SUBJECT_PREFIX)) {
+            throw new IllegalStateException("郵件模板缺少主旨行: " + name);
+        }
+        String subject = firstLine.substring(SUBJECT_PREFIX.length()).strip();
+        String body = newline < 0 ? "" : source.substring(newline + 1);
+        return new CompiledEmail(compile(name, subject), compile(name, body));
+    }
+
+    /**
+     * 將模板文字解析為片段序列
+     *
+     * @param name 模板名稱，用於錯誤信息
+     * @param text 模板文字
+     * @return 已解析的模板
+     */
+    static CompiledTemplate compile(String name, String text) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int start = text.indexOf("{{", position);
+            if (start < 0) {
+                break;
+            }
+            int end = text.indexOf("}}", start + 2);
+            if (end < 0) {
+                throw new IllegalStateException("郵件模板變量未閉合: " + name);
+            }
+            literals.add(text.substring(position, start));
+            variables.add(text.substring(start + 2, end).strip());
+            position = end + 2;
+        }
+        literals.add(text.substring(position));
+        return new CompiledTemplate(name, literals.toArray(new String[0]), variables.toArray(new String[0]));
+    }
+
+    /**
+     * 將值以 HTML 轉義後寫入緩衝區
+     *
+     * @param out 緩衝區
+     * @param value 原始值
+     */
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    /**
+     * 渲染結果
+     *
+     * @param subject 主旨
+     * @param html HTML 內容
+     */
+    public record RenderedEmail(String subject, String html) {
+    }
+
+    /**
+     * 已解析的郵件模板
+     *
+     * @param subject 主旨模板
+     * @param body 內容模板
+     */
+    record CompiledEmail(CompiledTemplate subject, CompiledTemplate body) {
+    }
+
+    /**
+     * 已解析的模板：literals 比 variables 多一個，渲染時交替拼接
+     *
+     * @param name 模板名稱
+     * @param literals 文字片段
+     * @param variables 變量名稱
+     */
+    record CompiledTemplate(String name, String[] literals, String[] variables) {
+
+        /**
+         * 渲染模板
+         *
+         * @param values 變量值
+         * @param escapeHtml 是否對變量值進行 HTML 轉義
+         * @return 渲染結果
+         */
+        String render(Map<String, String> values, boolean escapeHtml) {
+            StringBuilder out = BUFFER.get();
+            out.setLength(0);
+            try {
+                for (int i = 0; i < variables.length; i++) {
+                    out.append(literals[i]);
+                    String value = values.get(variables[i]);
+                    if (value == null) {
+                        throw new IllegalArgumentException("郵件模板 " + name + " 缺少變量: " + variables[i]);
+                    }
+                    if (escapeHtml) {
+                        appendEscaped(out, value);
+                    } else {
+                        out.append(value);
+                    }
+                }
+                out.append(literals[variables.length]);
+                return out.toString();
+            } finally {
+                if (out.capacity() > MAX_REUSED_BUFFER_CAPACITY) {
+                    BUFFER.remove();
+                }
+            }
+        }
+    }
+}
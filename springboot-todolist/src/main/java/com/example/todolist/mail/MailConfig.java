@@ -0,0 +1,87 @@
+package com.example.todolist.mail;
+
+import java.util.Map;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * 郵件發送配置類
+ *
+ * 以連接池化的發送器取代 Spring Boot 自動配置的 JavaMailSenderImpl，
+ * 連接參數仍然來自 spring.mail.* 配置。
+ */
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+public class MailConfig {
+
+    /**
+     * 日誌記錄器
+     */
+    private static final Logger logger = LoggerFactory.getLogger(MailConfig.class);
+
+    /**
+     * 連接池化的郵件發送器
+     */
+    private PooledJavaMailSender mailSender;
+
+    /**
+     * 創建連接池化的郵件發送器
+     *
+     * @param properties spring.mail.* 配置
+     * @param maxConnections 同時使用中的連接數上限
+     * @param borrowTimeoutMillis 等待可用連接的最長時間（毫秒）
+     * @param idleTimeoutMillis 連接空閒逾時（毫秒）
+     * @param maxMessagesPerConnection 每個連接最多發送的郵件數
+     * @return 郵件發送器
+     */
+    @Bean
+    public PooledJavaMailSender mailSender(MailProperties properties,
+            @Value("${app.mail.pool.max-connections:2}") int maxConnections,
+            @Value("${app.mail.pool.borrow-timeout-ms:10000}") long borrowTimeoutMillis,
+            @Value("${app.mail.pool.idle-timeout-ms:60000}") long idleTimeoutMillis,
+            @Value("${app.mail.pool.max-messages-per-connection:100}") int maxMessagesPerConnection) {
+        PooledJavaMailSender sender = new PooledJavaMailSender(maxConnections, borrowTimeoutMillis,
+                idleTimeoutMillis, maxMessagesPerConnection);
+        sender.setHost(properties.getHost());
+        if (properties.getPort() != null) {
+            sender.setPort(properties.getPort());
+        }
+        sender.setUsername(properties.getUsername());
+        sender.setPassword(properties.getPassword());
+        sender.setProtocol(properties.getProtocol());
+        if (properties.getDefaultEncoding() != null) {
+            sender.setDefaultEncoding(properties.getDefaultEncoding().name());
+        }
+        Map<String, String> javaMailProperties = properties.getProperties();
+        if (!javaMailProperties.isEmpty()) {
+            Properties props = new Properties();
+            props.putAll(javaMailProperties);
+            sender.setJavaMailProperties(props);
+        }
+        this.mailSender = sender;
+        return sender;
+    }
+
+    /**
+     * 定期關閉空閒逾時的連接
+     * 避免服務器先行斷開閒置連接後，下一次發送才發現連接失效
+     */
+    @Scheduled(fixedDelayString = "${app.mail.pool.evict-interval-ms:30000}")
+    public void evictIdleConnections() {
+        if (mailSender == null) {
+            return;
+        }
+        int evicted = mailSender.evictIdle();
+        if (evicted > 0) {
+            logger.debug("Closed {} idle mail connections", evicted);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.todolist.mail;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * 連接池化的郵件發送器
+ *
+ * JavaMailSenderImpl 每次 send 都會建立新的 TCP 連接並完成 STARTTLS 和認證，
+ * 發送後立即關閉。此類改為保留已認證的連接，在多次發送之間重複使用：
+ * - 一次 send 傳入的多封郵件經由同一個連接依次發送
+ * - 空閒連接按後進先出取用，保持少數熱連接，超過空閒逾時的連接在取用或定期清理時關閉
+ * - 發送出錯（收件人被拒除外）時丟棄該連接，其餘郵件改用新連接發送
+ * - 每個連接發送一定數量後主動重建，避免服務器單連接的郵件數限制
+ * 同時使用中的連接數由信號量限制，不使用 synchronized。
+ */
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+
+    /**
+     * 日誌記錄器
+     */
+    private static final Logger logger = LoggerFactory.getLogger(PooledJavaMailSender.class);
+
+    /**
+     * 空閒連接，頭部為最近歸還的連接
+     */
+    private final LinkedBlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+
+    /**
+     * 同時使用中的連接數上限
+     */
+    private final Semaphore permits;
+
+    /**
+     * 等待可用連接的最長時間（毫秒）
+     */
+    private final long borrowTimeoutMillis;
+
+    /**
+     * 連接空閒逾時（納秒）
+     */
+    private final long idleTimeoutNanos;
+
+    /**
+     * 每個連接最多發送的郵件數
+     */
+    private final int maxMessagesPerConnection;
+
+    /**
+     * 累計建立的連接數
+     */
+    private final AtomicLong createdConnections = new AtomicLong();
+
+    /**
+     * 是否已關閉
+     */
+    private volatile boolean closed;
+
+    /**
+     * 構造發送器
+     *
+     * @param maxConnections 同時使用中的連接數上限
+     * @param borrowTimeoutMillis 等待可用連接的最長時間（毫秒）
+     * @param idleTimeoutMillis 連接空閒逾時（毫秒）
+     * @param maxMessagesPerConnection 每個連接最多發送的郵件數
+     */
+    public PooledJavaMailSender(int maxConnections, long borrowTimeoutMillis,
+            long idleTimeoutMillis, int maxMessagesPerConnection) {
+        this.permits = new Semaphore(Math.max(1, maxConnections));
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.maxMessagesPerConnection = Math.max(1, maxMessagesPerConnection);
+    }
+
+    /**
+     * 經由池中的連接發送一批郵件
+     * 失敗的郵件匯總到 MailSendException 中，鍵為調用方傳入的原始郵件對象
+     *
+     * @param mimeMessages 要發送的郵件
+     * @param originalMessages 調用方傳入的原始郵件對象，可能為 null
+     */
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+        if (!acquirePermit()) {
+            throw new MailSendException("等待郵件連接逾時");
+        }
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        PooledTransport pooled = null;
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                Object original = originalMessages != null ? originalMessages[i] : mimeMessages[i];
+                if (pooled == null) {
+                    try {
+                        pooled = borrow();
+                    } catch (MessagingException e) {
+                        // 無法建立連接，本批剩餘的郵件全部失敗
+                        for (int j = i; j < mimeMessages.length; j++) {
+                            failedMessages.put(originalMessages != null ? originalMessages[j] : mimeMessages[j], e);
+                        }
+                        break;
+                    }
+                }
+                try {
+                    MimeMessage mimeMessage = mimeMessages[i];
+                    prepare(mimeMessage);
+                    Address[] addresses = mimeMessage.getAllRecipients();
+                    pooled.transport.sendMessage(mimeMessage, addresses != null ? addresses : new Address[0]);
+                    pooled.sent++;
+                } catch (SendFailedException e) {
+                    // 收件人被拒絕，連接本身仍然可用
+                    failedMessages.put(original, e);
+                } catch (MessagingException e) {
+                    failedMessages.put(original, e);
+                    discard(pooled);
+                    pooled = null;
+                    continue;
+                }
+                if (pooled.sent >= maxMessagesPerConnection) {
+                    discard(pooled);
+                    pooled = null;
+                }
+            }
+        } finally {
+            if (pooled != null) {
+                release(pooled);
+            }
+            permits.release();
+        }
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    /**
+     * 關閉空閒逾時的連接
+     *
+     * @return 關閉的連接數
+     */
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (PooledTransport pooled : idle) {
+            if (now - pooled.lastUsed > idleTimeoutNanos && idle.remove(pooled)) {
+                discard(pooled);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * 當前空閒連接數
+     *
+     * @return 空閒連接數
+     */
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    /**
+     * 累計建立的連接數
+     *
+     * @return 建立的連接數
+     */
+    public long getCreatedConnections() {
+        return createdConnections.get();
+    }
+
+    /**
+     * 應用關閉時關閉所有空閒連接
+     */
+    @Override
+    public void destroy() {
+        closed = true;
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    /**
+     * 取得發送許可
+     *
+     * @return 是否在逾時前取得
+     */
+    private boolean acquirePermit() {
+        try {
+            return permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 從池中取出一個可用連接，沒有則建立新連接
+     *
+     * @return 已連接的傳輸對象
+     * @throws MessagingException 如果建立連接失敗
+     */
+    private PooledTransport borrow() throws MessagingException {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (System.nanoTime() - pooled.lastUsed <= idleTimeoutNanos && pooled.transport.isConnected()) {
+                return pooled;
+            }
+            discard(pooled);
+        }
+        Transport transport = connectTransport();
+        createdConnections.incrementAndGet();
+        return new PooledTransport(transport);
+    }
+
+    /**
+     * 歸還連接
+     *
+     * @param pooled 使用完畢的連接
+     */
+    private void release(PooledTransport pooled) {
+        pooled.lastUsed = System.nanoTime();
+        if (closed) {
+            discard(pooled);
+        } else {
+            idle.offerFirst(pooled);
+        }
+    }
+
+    /**
+     * 關閉並丟棄連接
+     *
+     * @param pooled 要丟棄的連接
+     */
+    private void discard(PooledTransport pooled) {
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            logger.debug("Failed to close mail transport: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 發送前補充郵件頭，與 JavaMailSenderImpl 的處理一致
+     *
+     * @param mimeMessage 要發送的郵件
+     * @throws MessagingException 如果郵件頭無法寫入
+     */
+    private void prepare(MimeMessage mimeMessage) throws MessagingException {
+        if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+        }
+        String messageId = mimeMessage.getMessageID();
+        mimeMessage.saveChanges();
+        if (messageId != null) {
+            // 保留調用方指定的 Message-ID
+            mimeMessage.setHeader("Message-ID", messageId);
+        }
+    }
+
+    /**
+     * 池中的連接及其使用狀態
+     * 同一時間只被一個線程持有
+     */
+    private static final class PooledTransport {
+
+        private final Transport transport;
+
+        private int sent;
+
+        private long lastUsed;
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+            this.lastUsed = System.nanoTime();
+        }
+    }
+}
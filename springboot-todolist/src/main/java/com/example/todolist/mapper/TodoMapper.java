@@ -0,0 +1,36 @@
+package com.example.todolist.mapper;
+
+import java.util.List;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+import com.example.todolist.model.dto.TodoDTO;
+import com.example.todolist.model.entity.Todo;
+
+/**
+ * 待辦事項映射器
+ *
+ * 由 MapStruct 在編譯時生成實現類，直接調用 getter/setter，不使用反射。
+ * DTO 有未映射的欄位時編譯失敗；用戶關聯不在 DTO 中，生成的代碼不會觸發延遲加載。
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface TodoMapper {
+
+    /**
+     * 實體轉 DTO
+     *
+     * @param todo 待辦事項實體
+     * @return 待辦事項 DTO，實體為 null 時返回 null
+     */
+    TodoDTO toDto(Todo todo);
+
+    /**
+     * 實體列表轉 DTO 列表
+     *
+     * @param todos 待辦事項實體列表
+     * @return 待辦事項 DTO 列表
+     */
+    List<TodoDTO> toDtoList(List<Todo> todos);
+}
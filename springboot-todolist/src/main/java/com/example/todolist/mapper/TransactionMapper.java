@@ -0,0 +1,63 @@
+package com.example.todolist.mapper;
+
+import java.util.List;
+
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+import org.mapstruct.ReportingPolicy;
+
+import com.example.todolist.model.dto.TransactionDTO;
+import com.example.todolist.model.entity.Transaction;
+
+/**
+ * 交易記錄映射器
+ *
+ * 由 MapStruct 在編譯時生成實現類，直接調用 getter/setter，不使用反射。
+ * 有未映射的欄位時編譯失敗；ID 和用戶關聯由服務層設置，映射時一律忽略。
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface TransactionMapper {
+
+    /**
+     * 實體轉 DTO
+     *
+     * @param transaction 交易記錄實體
+     * @return 交易記錄 DTO，實體為 null 時返回 null
+     */
+    TransactionDTO toDto(Transaction transaction);
+
+    /**
+     * 實體列表轉 DTO 列表
+     *
+     * @param transactions 交易記錄實體列表
+     * @return 交易記錄 DTO 列表
+     */
+    List<TransactionDTO> toDtoList(List<Transaction> transactions);
+
+    /**
+     * DTO 轉新實體
+     * ID 由數據庫生成，用戶由調用方設置
+     *
+     * @param transactionDTO 交易記錄數據
+     * @return 未保存的交易記錄實體
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "user", ignore = true)
+    Transaction toEntity(TransactionDTO transactionDTO);
+
+    /**
+     * 將 DTO 的內容合併到已存在的實體
+     * DTO 中為 null 的欄位保留實體原值，不會覆蓋非空欄位
+     *
+     * @param transactionDTO 交易記錄更新數據
+     * @param transaction 要更新的實體
+     */
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "user", ignore = true)
+    void updateEntity(TransactionDTO transactionDTO, @MappingTarget Transaction transaction);
+}
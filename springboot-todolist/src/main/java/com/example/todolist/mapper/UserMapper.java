@@ -0,0 +1,25 @@
+package com.example.todolist.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+import com.example.todolist.model.dto.UserResponseDTO;
+import com.example.todolist.model.entity.User;
+
+/**
+ * 用戶映射器
+ *
+ * 由 MapStruct 在編譯時生成實現類，只複製響應所需的欄位，密碼不會被讀取。
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface UserMapper {
+
+    /**
+     * 實體轉響應 DTO
+     *
+     * @param user 用戶實體
+     * @return 用戶響應 DTO，實體為 null 時返回 null
+     */
+    UserResponseDTO toResponseDto(User user);
+}
@@ -0,0 +1,34 @@
+package com.example.todolist.model.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 首頁總覽數據傳輸對象 (DTO)
+ * 
+ * 一次返回首頁和記帳頁載入時需要的數據，取代分別請求待辦事項、交易記錄和統計摘要。
+ */
+@Data                  // Lombok 自動生成 getter、setter、equals、hashCode 和 toString 方法
+@AllArgsConstructor    // Lombok 自動生成包含所有字段的構造函數
+@NoArgsConstructor     // Lombok 自動生成無參數構造函數
+public class DashboardDTO {
+
+	/**
+	 * 未完成的待辦事項
+	 */
+	private List<TodoDTO> openTodos;
+
+	/**
+	 * 最近的交易記錄，最新的排在前面
+	 */
+	private List<TransactionDTO> recentTransactions;
+
+	/**
+	 * 本月收支統計，包含總收入、總支出和結餘
+	 */
+	private Map<String, Object> monthSummary;
+}
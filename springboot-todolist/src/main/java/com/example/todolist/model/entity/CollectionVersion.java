@@ -0,0 +1,66 @@
+package com.example.todolist.model.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 集合版本實體類
+ * 映射到數據庫中的 collection_version 表
+ *
+ * 每個用戶的每種列表（待辦事項、交易記錄）各有一行，列表內容每次寫入時更新版本號。
+ * 列表查詢以版本號生成 ETag，客戶端帶上 If-None-Match 且版本未變時直接返回 304。
+ * 版本號平時從記憶體讀取，本表用於重啟或記憶體淘汰後恢復。
+ */
+@Data                   // Lombok 自動生成 getter、setter、equals、hashCode 和 toString 方法
+@NoArgsConstructor      // Lombok 自動生成無參數構造函數
+@Entity                 // JPA 實體類標記，表示該類是一個實體，將映射到數據庫表
+@Table(name = "collection_version")
+@IdClass(CollectionVersion.Key.class)
+public class CollectionVersion {
+
+    /**
+     * 用戶 ID，聯合主鍵之一
+     */
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * 列表類型，聯合主鍵之一
+     */
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private CollectionType collection;
+
+    /**
+     * 版本號，只用於比較是否相等
+     */
+    @Column(nullable = false)
+    private long version;
+
+    /**
+     * 列表類型
+     */
+    public enum CollectionType {
+        TODO,           // 待辦事項列表
+        TRANSACTION     // 交易記錄列表
+    }
+
+    /**
+     * 聯合主鍵
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private Long userId;
+
+        private CollectionType collection;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.todolist.model.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 郵件發件箱實體類
+ * 映射到數據庫中的 email_outbox 表
+ *
+ * 實現「事務性發件箱」模式：業務事務中只寫入一筆待發送記錄，
+ * 事務提交後由後台派發器發送郵件，SMTP 的延遲和失敗不再佔用數據庫事務和連接。
+ * 發送失敗時按指數退避重試，超過最大次數後標記為 DEAD，供人工處理。
+ */
+@Data                   // Lombok 自動生成 getter、setter、equals、hashCode 和 toString 方法
+@NoArgsConstructor      // Lombok 自動生成無參數構造函數
+@Entity                 // JPA 實體類標記，表示該類是一個實體，將映射到數據庫表
+@Table(name = "email_outbox", indexes = {
+        // 派發器按狀態和下次發送時間撈取待發送記錄
+        @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+public class EmailOutbox {
+
+    /**
+     * 記錄 ID，主鍵
+     * 使用數據庫自增策略生成
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 郵件類型，決定派發時使用哪種郵件格式
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private EmailType type;
+
+    /**
+     * 收件人電子郵件地址
+     */
+    @Column(nullable = false)
+    private String recipient;
+
+    /**
+     * 郵件內容所需的數據，例如密碼重設令牌
+     * 發送成功、標記為 DEAD 或超過令牌有效期後清空，避免敏感數據長期留在表中
+     */
+    @Column(length = 512)
+    private String payload;
+
+    /**
+     * 收件人語言（BCP 47 語言標籤，例如 zh-TW），用於選擇郵件模板
+     */
+    @Column(length = 35)
+    private String locale;
+
+    /**
+     * 發送狀態
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OutboxStatus status;
+
+    /**
+     * 已嘗試發送的次數
+     */
+    @Column(nullable = false)
+    private int attempts;
+
+    /**
+     * 下次可以嘗試發送的時間
+     * 狀態為 SENDING 時表示租約到期時間，到期仍未完成的記錄會被重新撈取
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * 最後一次發送失敗的錯誤信息
+     */
+    @Column(length = 1000)
+    private String lastError;
+
+    /**
+     * 記錄創建時間
+     */
+    @Column(nullable = false)
+    private LocalDateTime createTime;
+
+    /**
+     * 發送成功時間
+     */
+    private LocalDateTime sentTime;
+
+    /**
+     * 實體保存到數據庫前調用
+     * 設置創建時間
+     */
+    @PrePersist
+    protected void onCreate() {
+        createTime = LocalDateTime.now();
+    }
+
+    /**
+     * 郵件類型枚舉
+     */
+    public enum EmailType {
+        PASSWORD_RESET    // 密碼重設郵件
+    }
+
+    /**
+     * 發送狀態枚舉
+     */
+    public enum OutboxStatus {
+        PENDING,    // 等待發送
+        SENDING,    // 已被派發器領取，正在發送
+        SENT,       // 發送成功
+        DEAD        // 超過最大重試次數，不再發送
+    }
+}
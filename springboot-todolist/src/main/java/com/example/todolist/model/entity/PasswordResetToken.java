@@ -2,23 +2,35 @@ package com.example.todolist.model.entity;
 
 import java.time.LocalDateTime;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 /**
  * 密碼重設令牌實體類
  * 映射到數據庫中的 password_reset_token 表
  * 
  * 用於實現"忘記密碼"功能，存儲用戶密碼重設的臨時令牌
+ * 只保存令牌的雜湊值，發送給用戶的原始令牌不落庫
  */
 @Entity  // JPA 實體類標記，表示該類是一個實體，將映射到數據庫表
 @Data    // Lombok 自動生成 getter、setter、equals、hashCode 和 toString 方法
+@Table(name = "password_reset_token", indexes = {
+		// 驗證和重設時按令牌雜湊查找
+		@Index(name = "uk_password_reset_token_hash", columnList = "token_hash", unique = true),
+		// 定時任務按過期時間分批清除
+		@Index(name = "idx_password_reset_token_expiry", columnList = "expiry_date")
+})
 public class PasswordResetToken {
 	
 	/**
@@ -30,27 +42,31 @@ public class PasswordResetToken {
 	private Long id;
 	
 	/**
-	 * 重設密碼的令牌字符串
-	 * 通常是一個隨機生成的 UUID
+	 * 重設令牌的 SHA-256 雜湊（十六進位）
+	 * 由 ResetTokens.hash 計算
 	 */
-	private String token;
+	@Column(name = "token_hash", length = 64)
+	private String tokenHash;
 	
 	/**
 	 * 關聯的用戶實體
 	 * 一對一關係：一個令牌對應一個用戶
 	 * 
 	 * targetEntity: 指定關聯的實體類
-	 * fetch: 指定加載策略為即時加載
+	 * fetch: 指定加載策略為延遲加載，只有重設密碼時才需要用戶資料
 	 * JoinColumn: 指定外鍵列名和約束
 	 */
-	@OneToOne(targetEntity = User.class, fetch = FetchType.EAGER)
+	@OneToOne(targetEntity = User.class, fetch = FetchType.LAZY)
 	@JoinColumn(nullable = false, name = "user_id")
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	private User user;
 	
 	/**
 	 * 令牌的過期時間
 	 * 通常設置為生成後的 24 小時
 	 */
+	@Column(name = "expiry_date")
 	private LocalDateTime expiryDate;
 	
 	/**
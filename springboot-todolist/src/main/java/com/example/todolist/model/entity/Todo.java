@@ -3,7 +3,9 @@ package com.example.todolist.model.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * 待辦事項實體類
@@ -49,5 +51,7 @@ public class Todo {
      */
     @ManyToOne(fetch = FetchType.LAZY)      // 多對一關係，懶加載
     @JoinColumn(name = "user_id", nullable = false)  // 外鍵列名，不允許為 null
+    @ToString.Exclude           // 避免 toString 觸發延遲加載
+    @EqualsAndHashCode.Exclude  // 避免 equals/hashCode 觸發延遲加載
     private User user;
 }
\ No newline at end of file
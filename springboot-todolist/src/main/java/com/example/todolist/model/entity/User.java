@@ -1,6 +1,10 @@
 package com.example.todolist.model.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,12 +15,21 @@ import java.time.LocalDateTime;
  * 映射到數據庫中的 users 表
  * 
  * 包含用戶的基本信息，如用戶名、密碼、電子郵件等
+ * 
+ * 用戶資料很少修改，啟用二級緩存（見 HibernateCacheConfig），
+ * 用戶名作為自然鍵，按用戶名查找時先查緩存中的用戶名到 ID 的對應。
  */
 @Data                   // Lombok 自動生成 getter、setter、equals、hashCode 和 toString 方法
 @NoArgsConstructor      // Lombok 自動生成無參數構造函數
 @AllArgsConstructor     // Lombok 自動生成包含所有字段的構造函數
 @Entity                 // JPA 實體類標記，表示該類是一個實體，將映射到數據庫表
-@Table(name = "users")  // 指定映射的數據庫表名稱
+@Table(name = "users", indexes = {
+        // UserCacheSynchronizer 按更新時間查找其他實例修改過的用戶
+        @Index(name = "idx_users_update_time", columnList = "update_time")
+})
+@Cacheable              // 啟用二級緩存
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
+@NaturalIdCache(region = "user-natural-id")
 public class User {
     
     /**
@@ -31,6 +44,7 @@ public class User {
      * 用戶名
      * 唯一且不可為空
      */
+    @NaturalId                               // 自然鍵，不可修改
     @Column(unique = true, nullable = false) // 列約束：唯一且不允許為 null
     private String username;
     
@@ -58,6 +72,7 @@ public class User {
      * 用戶信息更新時間
      * 由 @PrePersist 和 @PreUpdate 自動設置
      */
+    @Column(name = "update_time")
     private LocalDateTime updateTime;
     
     /**
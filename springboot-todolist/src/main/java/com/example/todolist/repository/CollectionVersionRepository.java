@@ -0,0 +1,46 @@
+package com.example.todolist.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.todolist.model.entity.CollectionVersion;
+import com.example.todolist.model.entity.CollectionVersion.CollectionType;
+
+/**
+ * 集合版本數據訪問接口
+ *
+ * 提供列表版本號的讀取和寫入，供 CollectionVersionService 在記憶體未命中時恢復版本號。
+ */
+@Repository  // 標記為 Spring 數據訪問層組件
+public interface CollectionVersionRepository extends JpaRepository<CollectionVersion, CollectionVersion.Key> {
+
+    /**
+     * 查詢列表的版本號
+     *
+     * @param userId 用戶 ID
+     * @param collection 列表類型
+     * @return 版本號，從未寫入過時為空
+     */
+    @Query("SELECT v.version FROM CollectionVersion v WHERE v.userId = :userId AND v.collection = :collection")
+    Optional<Long> findVersion(@Param("userId") Long userId, @Param("collection") CollectionType collection);
+
+    /**
+     * 寫入列表的版本號，不存在時插入，存在時覆蓋
+     * 以單條 INSERT ... ON DUPLICATE KEY UPDATE 執行，不先查詢
+     *
+     * @param userId 用戶 ID
+     * @param collection 列表類型名稱
+     * @param version 新版本號
+     * @return 影響的行數
+     */
+    @Modifying
+    @Query(value = "INSERT INTO collection_version (user_id, collection, version) VALUES (:userId, :collection, :version) "
+            + "ON DUPLICATE KEY UPDATE version = :version", nativeQuery = true)
+    int upsertVersion(@Param("userId") Long userId, @Param("collection") String collection,
+            @Param("version") long version);
+}
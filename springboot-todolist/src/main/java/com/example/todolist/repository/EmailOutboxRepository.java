@@ -0,0 +1,59 @@
+package com.example.todolist.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.todolist.model.entity.EmailOutbox;
+import com.example.todolist.model.entity.EmailOutbox.OutboxStatus;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+/**
+ * 郵件發件箱數據訪問接口
+ *
+ * 提供對 EmailOutbox 實體的數據庫操作方法，供派發器領取和更新待發送的郵件。
+ */
+@Repository  // 標記為 Spring 數據訪問層組件
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * 領取一批到期的待發送記錄
+     * 使用 SELECT ... FOR UPDATE SKIP LOCKED（鎖逾時 -2），
+     * 多個實例同時派發時各自領取不同的記錄，互不等待
+     *
+     * @param statuses 要撈取的狀態（PENDING，以及租約已過期的 SENDING）
+     * @param now 當前時間
+     * @param pageable 分頁參數，只使用其中的批次大小
+     * @return 到期的待發送記錄
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<EmailOutbox> findByStatusInAndNextAttemptAtLessThanEqualOrderByNextAttemptAt(
+        Collection<OutboxStatus> statuses, LocalDateTime now, Pageable pageable);
+
+    /**
+     * 將創建時間早於指定時間、仍保存郵件數據的記錄標記為指定狀態並清空郵件數據
+     * 以單條 UPDATE 語句執行，不先加載實體
+     *
+     * @param status 新狀態
+     * @param error 記錄的錯誤信息
+     * @param cutoff 創建時間上限
+     * @return 影響的行數
+     */
+    @Modifying
+    @Query("UPDATE EmailOutbox o SET o.status = :status, o.payload = NULL, o.lastError = :error "
+        + "WHERE o.payload IS NOT NULL AND o.createTime < :cutoff")
+    int expirePayloads(@Param("status") OutboxStatus status, @Param("error") String error,
+        @Param("cutoff") LocalDateTime cutoff);
+}
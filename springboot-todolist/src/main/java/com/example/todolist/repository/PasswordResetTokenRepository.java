@@ -1,6 +1,13 @@
 package com.example.todolist.repository;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.todolist.model.entity.PasswordResetToken;
 
@@ -13,18 +20,75 @@ import com.example.todolist.model.entity.PasswordResetToken;
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
 	
 	/**
-	 * 根據令牌字符串查找密碼重設令牌
+	 * 根據令牌雜湊查詢令牌的過期時間
+	 * 只讀取令牌表本身的欄位，經由唯一索引查找，不關聯用戶表
+	 * 
+	 * @param tokenHash 令牌雜湊
+	 * @return 令牌摘要，如果未找到則為空
+	 */
+	Optional<TokenExpiry> findExpiryByTokenHash(String tokenHash);
+	
+	/**
+	 * 根據令牌雜湊查找令牌，並一次性加載關聯的用戶
+	 * 用於重設密碼
 	 * 
-	 * @param token 令牌字符串
-	 * @return 對應的密碼重設令牌實體，如果未找到則返回 null
+	 * @param tokenHash 令牌雜湊
+	 * @return 密碼重設令牌實體，如果未找到則為空
 	 */
-	PasswordResetToken findByToken(String token);
+	@Query("SELECT t FROM PasswordResetToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash")
+	Optional<PasswordResetToken> findWithUserByTokenHash(@Param("tokenHash") String tokenHash);
 	
 	/**
 	 * 根據用戶 ID 刪除所有關聯的密碼重設令牌
 	 * 用於創建新令牌前清除舊令牌，避免令牌衝突
+	 * 以單條 DELETE 語句執行，不先加載令牌實體
 	 * 
 	 * @param userId 用戶 ID
+	 * @return 刪除的數量
+	 */
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM PasswordResetToken t WHERE t.user.id = :userId")
+	int deleteByUserId(@Param("userId") Long userId);
+	
+	/**
+	 * 根據令牌雜湊刪除令牌
+	 * 用於重設郵件無法送達時作廢令牌
+	 * 
+	 * @param tokenHash 令牌雜湊
+	 * @return 刪除的數量
+	 */
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM PasswordResetToken t WHERE t.tokenHash = :tokenHash")
+	int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+	
+	/**
+	 * 刪除一批已過期的令牌
+	 * 經由 expiry_date 索引，每次最多刪除 limit 筆，避免長時間鎖表
+	 * 
+	 * @param now 當前時間
+	 * @param limit 每批最多刪除的數量
+	 * @return 刪除的數量
+	 */
+	@Transactional
+	@Modifying
+	@Query(value = "DELETE FROM password_reset_token WHERE expiry_date < :now LIMIT :limit", nativeQuery = true)
+	int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+	
+	/**
+	 * 令牌過期時間投影
 	 */
-	void deleteByUser_Id(Long userId);
-}
\ No newline at end of file
+	interface TokenExpiry {
+		
+		/**
+		 * @return 令牌 ID
+		 */
+		Long getId();
+		
+		/**
+		 * @return 令牌的過期時間
+		 */
+		LocalDateTime getExpiryDate();
+	}
+}
@@ -5,6 +5,7 @@
 package com.example.todolist.repository;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
@@ -22,11 +23,31 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
 	/**
 	 * 根據用戶 ID 查詢所有待辦事項
 	 * 實現用戶數據隔離，確保用戶只能看到自己的待辦事項
+	 * 只加載待辦事項本身的欄位，不加載用戶關聯
 	 * 
 	 * @param userId 用戶 ID
 	 * @return 該用戶的所有待辦事項列表
 	 */
     List<Todo> findByUserId(Long userId);
+
+    /**
+     * 查詢用戶未完成的待辦事項
+     * 只加載待辦事項本身的欄位，不加載用戶關聯
+     * 
+     * @param userId 用戶 ID
+     * @return 該用戶未完成的待辦事項列表
+     */
+    List<Todo> findByUserIdAndCompletedFalse(Long userId);
+
+    /**
+     * 查詢屬於指定用戶的待辦事項
+     * 以外鍵欄位比較用戶，不加載用戶關聯，查不到時表示不存在或不屬於該用戶
+     * 
+     * @param id 待辦事項 ID
+     * @param userId 用戶 ID
+     * @return 待辦事項
+     */
+    Optional<Todo> findByIdAndUserId(Long id, Long userId);
     
     /**
      * 檢查待辦事項是否屬於指定用戶
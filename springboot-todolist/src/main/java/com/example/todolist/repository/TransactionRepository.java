@@ -2,10 +2,12 @@ package com.example.todolist.repository;
 
 import com.example.todolist.model.entity.Transaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 交易記錄數據訪問接口
@@ -23,6 +25,25 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      * @return 該用戶的所有交易記錄，最新的排在前面
      */
     List<Transaction> findByUserIdOrderByDateDesc(Long userId);
+
+    /**
+     * 查詢用戶最近的交易記錄，按日期降序排序
+     * 
+     * @param userId 用戶 ID
+     * @param pageable 分頁參數，只使用其中的筆數
+     * @return 該用戶最近的交易記錄，最新的排在前面
+     */
+    List<Transaction> findByUserIdOrderByDateDesc(Long userId, Pageable pageable);
+
+    /**
+     * 查詢屬於指定用戶的交易記錄
+     * 以外鍵欄位比較用戶，不加載用戶關聯，查不到時表示不存在或不屬於該用戶
+     * 
+     * @param id 交易記錄 ID
+     * @param userId 用戶 ID
+     * @return 交易記錄
+     */
+    Optional<Transaction> findByIdAndUserId(Long id, Long userId);
     
     /**
      * 查詢特定時間範圍內的交易，按日期降序排序
@@ -0,0 +1,22 @@
+package com.example.todolist.repository;
+
+import java.util.Optional;
+
+import com.example.todolist.model.entity.User;
+
+/**
+ * 用戶自然鍵查詢接口
+ * 
+ * 用戶名是 User 的自然鍵，按用戶名查找時經由 Hibernate 的自然鍵接口，
+ * 先查二級緩存中用戶名到 ID 的對應，再按 ID 讀取實體緩存，都命中時不需查詢數據庫。
+ */
+public interface UserNaturalIdRepository {
+
+	/**
+	 * 根據用戶名查找用戶
+	 * 
+	 * @param username 要查詢的用戶名
+	 * @return 包含用戶的 Optional 對象，如果未找到則為 empty
+	 */
+	Optional<User> findByUsername(String username);
+}
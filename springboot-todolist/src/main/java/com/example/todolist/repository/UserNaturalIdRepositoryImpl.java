@@ -0,0 +1,29 @@
+package com.example.todolist.repository;
+
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.todolist.model.entity.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * 用戶自然鍵查詢實現
+ * 由 Spring Data 按命名規則（接口名加 Impl）組合到 UserRepository 中
+ */
+class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<User> findByUsername(String username) {
+		return entityManager.unwrap(Session.class)
+				.bySimpleNaturalId(User.class)
+				.loadOptional(username);
+	}
+}
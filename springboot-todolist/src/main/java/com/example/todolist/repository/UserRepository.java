@@ -1,36 +1,37 @@
 package com.example.todolist.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.example.todolist.model.entity.User;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * 用戶數據訪問接口
  * 
  * 提供對 User 實體的數據庫操作方法，繼承 JpaRepository 獲得基本的 CRUD 功能。
  * Spring Data JPA 會自動根據方法名生成對應的 SQL 查詢。
+ * 按用戶名查找（findByUsername）由 UserNaturalIdRepository 提供，經由二級緩存。
  */
 @Repository  // 標記為 Spring 數據訪問層組件
-public interface UserRepository extends JpaRepository<User, Long> {
-	
-	/**
-	 * 根據用戶名查找用戶
-	 * 方法命名遵循 Spring Data JPA 的命名規則，會自動轉換為 SQL 查詢
-	 * 
-	 * @param username 要查詢的用戶名
-	 * @return 包含用戶的 Optional 對象，如果未找到則為 empty
-	 */
-	Optional<User> findByUsername(String username);
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
 	
 	/**
 	 * 根據電子郵件查找用戶
+	 * 結果放入查詢緩存（只保存 ID），users 表有修改時由 Hibernate 自動失效
 	 * 
 	 * @param email 要查詢的電子郵件
 	 * @return 包含用戶的 Optional 對象，如果未找到則為 empty
 	 */
+	@QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
 	Optional<User> findByEmail(String email);
 	
 	/**
@@ -50,6 +51,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	 * @return 存在返回 true，不存在返回 false
 	 */
 	boolean existsByEmail(String email);
+	
+	/**
+	 * 按 ID 順序分批讀取用戶名和電子郵件
+	 * 使用 ID 作為遊標（keyset 分頁），避免大偏移量的 OFFSET 掃描
+	 * 用於啟動時載入用戶名/信箱的布隆過濾器
+	 * 
+	 * @param lastId 上一批最後一筆的 ID，第一批傳入 0
+	 * @param pageable 分頁參數，只使用其中的批次大小
+	 * @return 每筆包含 id、username、email 的數據集合
+	 */
+	@Query("SELECT u.id, u.username, u.email FROM User u WHERE u.id > ?1 ORDER BY u.id")
+	List<Object[]> findUsernamesAndEmailsAfter(Long lastId, Pageable pageable);
+	
+	/**
+	 * 查詢指定時間之後修改過的用戶
+	 * 用於清除二級緩存中被其他實例修改過的用戶
+	 * 
+	 * @param since 起始時間（不含）
+	 * @return 每筆包含 id、updateTime 的數據集合
+	 */
+	@Query("SELECT u.id, u.updateTime FROM User u WHERE u.updateTime > ?1")
+	List<Object[]> findIdsUpdatedAfter(LocalDateTime since);
 
 	// 從 JpaRepository 繼承的常用方法：
 	// save(entity) - 保存或更新實體
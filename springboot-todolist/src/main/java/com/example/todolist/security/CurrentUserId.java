@@ -0,0 +1,20 @@
+package com.example.todolist.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 當前登入用戶 ID 注解
+ *
+ * 標記在 Controller 方法的 Long 參數上，由 CurrentUserIdArgumentResolver
+ * 從會話中解析出已登入用戶的 ID 並注入，取代各控制器中重複的 getCurrentUserId 方法。
+ * 用戶未登入時會拋出 UnauthorizedException。
+ */
+@Target(ElementType.PARAMETER)       // 只能標記在方法參數上
+@Retention(RetentionPolicy.RUNTIME)  // 運行時保留，供參數解析器讀取
+@Documented
+public @interface CurrentUserId {
+}
@@ -0,0 +1,62 @@
+package com.example.todolist.security;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import com.example.todolist.exception.UnauthorizedException;
+import com.example.todolist.model.dto.UserResponseDTO;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * 當前登入用戶 ID 參數解析器
+ *
+ * 為標記了 @CurrentUserId 的參數注入會話中已登入用戶的 ID。
+ * 集中處理登入狀態檢查，控制器不再需要直接操作 HttpSession。
+ */
+public class CurrentUserIdArgumentResolver implements HandlerMethodArgumentResolver {
+
+    /**
+     * 會話中存放登入用戶信息的屬性名稱
+     * 由 UserController 在登入成功時寫入
+     */
+    public static final String SESSION_USER = "user";
+
+    /**
+     * 判斷是否支持該參數
+     *
+     * @param parameter 方法參數
+     * @return 參數標記了 @CurrentUserId 且類型為 Long 時返回 true
+     */
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUserId.class)
+                && Long.class.equals(parameter.getParameterType());
+    }
+
+    /**
+     * 從會話中解析當前用戶 ID
+     *
+     * 使用 getSession(false)，未登入的請求不會因此創建新的會話
+     *
+     * @return 當前登入用戶的 ID
+     * @throws UnauthorizedException 如果用戶未登入
+     */
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        HttpSession session = request != null ? request.getSession(false) : null;
+        Object user = session != null ? session.getAttribute(SESSION_USER) : null;
+
+        // 檢查用戶是否登入
+        if (!(user instanceof UserResponseDTO) || ((UserResponseDTO) user).getId() == null) {
+            throw new UnauthorizedException("用戶未登入");
+        }
+        return ((UserResponseDTO) user).getId();
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.todolist.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.CacheControl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.todolist.model.entity.CollectionVersion.CollectionType;
+import com.example.todolist.model.entity.CollectionVersion.Key;
+import com.example.todolist.repository.CollectionVersionRepository;
+
+/**
+ * 列表版本服務
+ *
+ * 為每個用戶的待辦事項和交易記錄列表維護一個版本號，用於生成列表響應的 ETag：
+ * - 寫入操作在同一事務中更新數據庫中的版本號，事務提交後再更新記憶體
+ * - 讀取時優先使用記憶體中的版本號，未命中才查詢數據庫，因此版本未變的條件請求不需要訪問數據庫
+ * 多實例部署時，其他實例的寫入要等記憶體條目過期後才能看到，
+ * 這段時間由 app.collection-version.cache-ttl-seconds 限制，預設為幾秒；只有單實例部署才應設為 0。
+ */
+@Service
+public class CollectionVersionService {
+
+    /**
+     * 列表響應的緩存策略：只允許瀏覽器緩存，每次使用前都要帶 ETag 重新驗證
+     */
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    /**
+     * 集合版本數據訪問接口
+     */
+    @Autowired
+    private CollectionVersionRepository versionRepository;
+
+    /**
+     * 事件發布器，用於在事務提交後更新記憶體
+     */
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 記憶體中最多保存的條目數，超出時新條目不再緩存，直接查詢數據庫
+     */
+    @Value("${app.collection-version.max-entries:100000}")
+    private int maxEntries;
+
+    /**
+     * 記憶體條目的有效期（秒），0 表示不過期，只適用於單實例部署
+     */
+    @Value("${app.collection-version.cache-ttl-seconds:5}")
+    private long cacheTtlSeconds;
+
+    /**
+     * 記憶體中的版本號
+     */
+    private final ConcurrentHashMap<Key, CachedVersion> versions = new ConcurrentHashMap<>();
+
+    /**
+     * 最近一次發出的版本號
+     */
+    private final AtomicLong lastIssued = new AtomicLong();
+
+    /**
+     * 取得列表的 ETag
+     * 包含用戶 ID，同一瀏覽器切換帳號後不會誤用前一個帳號的緩存
+     *
+     * @param userId 用戶 ID
+     * @param collection 列表類型
+     * @return 強 ETag 的值（不含引號）
+     */
+    public String etag(Long userId, CollectionType collection) {
+        return userId + "-" + Long.toHexString(currentVersion(userId, collection));
+    }
+
+    /**
+     * 取得列表的當前版本號
+     * 記憶體未命中或已過期時查詢數據庫，從未寫入過的列表版本號為 0
+     *
+     * @param userId 用戶 ID
+     * @param collection 列表類型
+     * @return 版本號
+     */
+    public long currentVersion(Long userId, CollectionType collection) {
+        Key key = new Key(userId, collection);
+        CachedVersion cached = versions.get(key);
+        if (cached != null && !isExpired(cached, System.nanoTime())) {
+            return cached.version();
+        }
+        long version = versionRepository.findVersion(userId, collection).orElse(0L);
+        cacheLoaded(key, cached, version);
+        return version;
+    }
+
+    /**
+     * 更新列表的版本號
+     * 必須在寫入列表的事務中調用，事務回滾時版本號也不會改變
+     *
+     * @param userId 用戶 ID
+     * @param collection 列表類型
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bump(Long userId, CollectionType collection) {
+        Key key = new Key(userId, collection);
+        CachedVersion cached = versions.get(key);
+        long version = nextVersion(cached == null ? 0L : cached.version());
+        versionRepository.upsertVersion(userId, collection.name(), version);
+        eventPublisher.publishEvent(new CollectionVersionChangedEvent(key, version));
+    }
+
+    /**
+     * 事務提交後更新記憶體
+     * 提交前其他請求讀到的仍是舊版本號，最多導致客戶端多拉取一次列表，不會返回過時的 304。
+     * 同一用戶的兩次寫入可能以相反順序提交，因此只保留較大的版本號。
+     *
+     * @param event 版本變更事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onChanged(CollectionVersionChangedEvent event) {
+        CachedVersion fresh = new CachedVersion(event.version(), System.nanoTime());
+        if (versions.size() < maxEntries) {
+            versions.merge(event.key(), fresh, (old, neu) -> neu.version() > old.version() ? neu : old);
+        } else {
+            versions.computeIfPresent(event.key(), (k, old) -> fresh.version() > old.version() ? fresh : old);
+        }
+    }
+
+    /**
+     * 定期清除已過期的記憶體條目
+     */
+    @Scheduled(fixedDelayString = "${app.collection-version.evict-interval-ms:60000}")
+    public void evictExpired() {
+        if (cacheTtlSeconds <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        versions.values().removeIf(cached -> isExpired(cached, now));
+    }
+
+    /**
+     * 產生新的版本號
+     * 以微秒時間戳為基礎，保證在本實例內遞增且大於該列表已知的版本號，重啟後也不會與之前發出的版本號重複
+     *
+     * @param known 該列表目前已知的版本號
+     */
+    private long nextVersion(long known) {
+        long now = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        long issued = lastIssued.accumulateAndGet(now, (last, candidate) -> Math.max(last + 1, candidate));
+        return Math.max(issued, known + 1);
+    }
+
+    /**
+     * 將從數據庫讀到的版本號寫入記憶體
+     * 只在條目仍為讀取前的狀態時寫入，避免覆蓋讀取期間由提交事件寫入的新版本號
+     *
+     * @param key 用戶和列表類型
+     * @param expected 讀取前的記憶體條目，可能為 null
+     * @param version 從數據庫讀到的版本號
+     */
+    private void cacheLoaded(Key key, CachedVersion expected, long version) {
+        CachedVersion loaded = new CachedVersion(version, System.nanoTime());
+        if (expected != null) {
+            versions.replace(key, expected, loaded);
+        } else if (versions.size() < maxEntries) {
+            versions.putIfAbsent(key, loaded);
+        }
+    }
+
+    /**
+     * 判斷記憶體條目是否已過期
+     */
+    private boolean isExpired(CachedVersion cached, long now) {
+        return cacheTtlSeconds > 0 && now - cached.cachedAt() > TimeUnit.SECONDS.toNanos(cacheTtlSeconds);
+    }
+
+    /**
+     * 記憶體中的版本號及其寫入時間
+     */
+    private record CachedVersion(long version, long cachedAt) {
+    }
+
+    /**
+     * 列表版本變更事件
+     *
+     * @param key 用戶和列表類型
+     * @param version 新版本號
+     */
+    public record CollectionVersionChangedEvent(Key key, long version) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.todolist.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.example.todolist.exception.ServiceBusyException;
+import com.example.todolist.model.dto.DashboardDTO;
+import com.example.todolist.model.dto.TodoDTO;
+import com.example.todolist.model.dto.TransactionDTO;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * 首頁總覽服務
+ * 
+ * 將未完成的待辦事項、最近的交易記錄和本月統計三個查詢同時提交到 dashboardTaskExecutor，
+ * 各自在獨立的只讀事務中執行，總耗時接近最慢的一個查詢，而不是三者之和。
+ * 本類不開啟事務，請求線程在等待期間不佔用數據庫連接。
+ * 子查詢經由 TodoService 和 TransactionService 執行，分片路由和讀寫分離照常生效。
+ */
+@Service
+@Timed("app.service")  // 記錄每個公開方法的執行時間，按 class 和 method 標籤區分
+public class DashboardService {
+
+    /**
+     * 線程池繁忙或等待逾時時建議的重試等待秒數
+     */
+    private static final long RETRY_AFTER_SECONDS = 1L;
+
+    /**
+     * 待辦事項服務
+     */
+    @Autowired
+    private TodoService todoService;
+
+    /**
+     * 交易記錄服務
+     */
+    @Autowired
+    private TransactionService transactionService;
+
+    /**
+     * 首頁總覽子查詢線程池
+     */
+    @Autowired
+    @Qualifier("dashboardTaskExecutor")
+    private TaskExecutor dashboardTaskExecutor;
+
+    /**
+     * 等待所有子查詢完成的最長時間（毫秒）
+     */
+    @Value("${app.dashboard.timeout-ms:5000}")
+    private long timeoutMillis;
+
+    /**
+     * 獲取用戶的首頁總覽
+     * 
+     * @param userId 用戶 ID
+     * @param recentLimit 最近交易記錄的筆數
+     * @return 首頁總覽
+     * @throws ServiceBusyException 如果線程池已滿或子查詢逾時
+     */
+    public DashboardDTO getDashboard(Long userId, int recentLimit) {
+        LocalDateTime monthStart = LocalDate.now().withDayOfMonth(1).atStartOfDay();
+        LocalDateTime monthEnd = monthStart.plusMonths(1).minusNanos(1);
+
+        CompletableFuture<List<TodoDTO>> openTodos = null;
+        CompletableFuture<List<TransactionDTO>> recentTransactions = null;
+        CompletableFuture<Map<String, Object>> monthSummary = null;
+        try {
+            openTodos = CompletableFuture.supplyAsync(
+                    () -> todoService.getOpenTodosByUserId(userId), dashboardTaskExecutor);
+            recentTransactions = CompletableFuture.supplyAsync(
+                    () -> transactionService.getRecentTransactions(userId, recentLimit), dashboardTaskExecutor);
+            monthSummary = CompletableFuture.supplyAsync(
+                    () -> transactionService.getTransactionsSummary(userId, monthStart, monthEnd), dashboardTaskExecutor);
+        } catch (RejectedExecutionException e) {
+            // 線程池已滿，已提交的子查詢也一併放棄
+            cancel(openTodos, recentTransactions, monthSummary);
+            throw new ServiceBusyException("系統繁忙，請稍後再試", RETRY_AFTER_SECONDS);
+        }
+
+        CompletableFuture<Void> all = CompletableFuture.allOf(openTodos, recentTransactions, monthSummary);
+        try {
+            all.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            cancel(openTodos, recentTransactions, monthSummary);
+            throw new ServiceBusyException("系統繁忙，請稍後再試", RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(openTodos, recentTransactions, monthSummary);
+            throw new ServiceBusyException("系統繁忙，請稍後再試", RETRY_AFTER_SECONDS);
+        } catch (ExecutionException e) {
+            // 子查詢的異常（例如分片遷移中）原樣拋出，由全局異常處理器轉換
+            Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+        return new DashboardDTO(openTodos.join(), recentTransactions.join(), monthSummary.join());
+    }
+
+    /**
+     * 放棄尚未開始的子查詢
+     * 已在執行的子查詢會繼續到結束，它們只持有提交時取出的用戶 ID，不引用已結束的請求
+     */
+    private static void cancel(CompletableFuture<?>... futures) {
+        for (CompletableFuture<?> future : futures) {
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+}
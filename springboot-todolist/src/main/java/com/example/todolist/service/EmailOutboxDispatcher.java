@@ -0,0 +1,180 @@
+package com.example.todolist.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.todolist.model.entity.EmailOutbox;
+import com.example.todolist.service.EmailOutboxService.EmailOutboxEnqueuedEvent;
+
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * 郵件發件箱派發器
+ *
+ * 在後台發送發件箱中的郵件，SMTP 通訊全程不持有數據庫事務和連接：
+ * - 業務事務提交後，由事件監聽方法在郵件線程池中立即派發
+ * - 定時輪詢作為補充，處理到期的重試、被拒絕的喚醒以及重啟前未完成的記錄；
+ *   輪詢只把派發交給郵件線程池，SMTP 的阻塞不會佔住共用的排程線程
+ * 同一實例內同時只有一次派發在執行；多個實例之間由 SKIP LOCKED 領取避免重複。
+ * 每批領取的郵件經由同一個 SMTP 連接發送。
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    /**
+     * 日誌記錄器
+     */
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    /**
+     * 郵件發件箱服務
+     */
+    @Autowired
+    private EmailOutboxService outboxService;
+
+    /**
+     * 電子郵件服務
+     */
+    @Autowired
+    private EmailService emailService;
+
+    /**
+     * 郵件發送線程池
+     */
+    @Autowired
+    @Qualifier("mailTaskExecutor")
+    private TaskExecutor mailTaskExecutor;
+
+    /**
+     * 每批領取的記錄數
+     */
+    @Value("${app.mail.outbox.batch-size:20}")
+    private int batchSize;
+
+    /**
+     * 是否正在派發
+     */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * 發件箱記錄提交後立即派發
+     *
+     * @param event 發件箱寫入事件
+     */
+    @Async("mailTaskExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEnqueued(EmailOutboxEnqueuedEvent event) {
+        dispatchDue();
+    }
+
+    /**
+     * 定時輪詢到期的記錄
+     * 排程線程由所有定時任務共用，這裡只提交到郵件線程池後立即返回；
+     * 已有派發在執行時不再提交，佇列滿時任務被丟棄，等下次輪詢
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:15000}")
+    public void poll() {
+        if (!running.get()) {
+            mailTaskExecutor.execute(this::dispatchDue);
+        }
+    }
+
+    /**
+     * 逐批領取並發送到期的記錄，直到沒有剩餘
+     * 已有派發在執行時直接返回，新記錄會由正在執行的循環接著處理
+     */
+    public void dispatchDue() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<EmailOutbox> batch;
+            do {
+                batch = outboxService.claimDueBatch(batchSize);
+                sendBatch(batch);
+            } while (batch.size() == batchSize);
+        } catch (RuntimeException e) {
+            // 領取失敗（例如數據庫暫時不可用）時等待下次輪詢
+            logger.warn("Email outbox dispatch aborted: {}", e.getMessage());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 經由同一個 SMTP 連接發送一批郵件並記錄結果
+     *
+     * @param batch 已領取的記錄
+     */
+    private void sendBatch(List<EmailOutbox> batch) {
+        Map<MimeMessage, EmailOutbox> messages = new LinkedHashMap<>();
+        for (EmailOutbox outbox : batch) {
+            try {
+                messages.put(createMessage(outbox), outbox);
+            } catch (RuntimeException e) {
+                markFailed(outbox, e);
+            }
+        }
+
+        Map<MimeMessage, Exception> failures = emailService.sendBatch(new ArrayList<>(messages.keySet()));
+        List<Long> sent = new ArrayList<>();
+        messages.forEach((message, outbox) -> {
+            Exception failure = failures.get(message);
+            if (failure == null) {
+                sent.add(outbox.getId());
+            } else {
+                markFailed(outbox, failure);
+            }
+        });
+        if (!sent.isEmpty()) {
+            outboxService.markSent(sent);
+        }
+    }
+
+    /**
+     * 根據郵件類型創建郵件
+     *
+     * @param outbox 發件箱記錄
+     * @return 郵件對象
+     */
+    private MimeMessage createMessage(EmailOutbox outbox) {
+        Locale locale = outbox.getLocale() != null ? Locale.forLanguageTag(outbox.getLocale()) : null;
+        return switch (outbox.getType()) {
+            case PASSWORD_RESET -> emailService.createPasswordResetEmail(
+                outbox.getRecipient(), outbox.getPayload(), locale);
+        };
+    }
+
+    /**
+     * 記錄發送失敗
+     *
+     * @param outbox 發件箱記錄
+     * @param e 失敗原因
+     */
+    private void markFailed(EmailOutbox outbox, Exception e) {
+        boolean dead = outboxService.markFailed(outbox.getId(), e.getMessage());
+        if (dead) {
+            logger.error("Email outbox {} moved to DEAD after {} attempts: {}",
+                outbox.getId(), outbox.getAttempts(), e.getMessage());
+        } else {
+            logger.warn("Email outbox {} attempt {} failed, will retry: {}",
+                outbox.getId(), outbox.getAttempts(), e.getMessage());
+        }
+    }
+}
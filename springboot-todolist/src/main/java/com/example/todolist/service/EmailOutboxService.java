@@ -0,0 +1,265 @@
+package com.example.todolist.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.todolist.model.entity.EmailOutbox;
+import com.example.todolist.model.entity.EmailOutbox.EmailType;
+import com.example.todolist.model.entity.EmailOutbox.OutboxStatus;
+import com.example.todolist.repository.EmailOutboxRepository;
+import com.example.todolist.repository.PasswordResetTokenRepository;
+import com.example.todolist.util.ResetTokens;
+
+/**
+ * 郵件發件箱服務
+ *
+ * 負責發件箱記錄的寫入和狀態變更，每個方法都是一個短事務：
+ * - 業務事務中調用 enqueue 方法寫入待發送記錄，與業務數據一起提交或回滾
+ * - 派發器調用 claimDueBatch 領取一批記錄並設置租約，然後在事務之外發送郵件
+ * - 發送結束後調用 markSent 或 markFailed 更新結果
+ * 郵件數據（密碼重設令牌）只在需要發送時保留：發送成功或標記為 DEAD 時清空，
+ * 令牌過期後仍未送出的記錄由 expireStalePayloads 清空。
+ */
+@Service
+public class EmailOutboxService {
+
+    /**
+     * 領取時撈取的狀態：等待發送的記錄，以及租約已過期（派發器中途停止）的記錄
+     */
+    private static final EnumSet<OutboxStatus> CLAIMABLE = EnumSet.of(OutboxStatus.PENDING, OutboxStatus.SENDING);
+
+    /**
+     * 錯誤信息的最大保存長度，與 lastError 欄位長度一致
+     */
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    /**
+     * 租約在最壞發送時間之外額外保留的秒數
+     */
+    private static final long LEASE_MARGIN_SECONDS = 30L;
+
+    /**
+     * 郵件發件箱數據訪問接口
+     */
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    /**
+     * 密碼重設令牌數據訪問接口
+     * 郵件無法送達時作廢對應的令牌
+     */
+    @Autowired
+    private PasswordResetTokenRepository tokenRepository;
+
+    /**
+     * 事件發布器
+     * 寫入記錄後發布事件，事務提交後喚醒派發器
+     */
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 領取後的最短租約時長（秒），超過租約仍未完成的記錄會被重新領取
+     */
+    @Value("${app.mail.outbox.lease-seconds:300}")
+    private long leaseSeconds;
+
+    /**
+     * 等待 SMTP 連接池可用連接的最長時間（毫秒）
+     */
+    @Value("${app.mail.pool.borrow-timeout-ms:10000}")
+    private long borrowTimeoutMillis;
+
+    /**
+     * SMTP 連接超時（毫秒）
+     */
+    @Value("${spring.mail.properties.mail.smtp.connectiontimeout:5000}")
+    private long connectionTimeoutMillis;
+
+    /**
+     * SMTP 讀取超時（毫秒）
+     */
+    @Value("${spring.mail.properties.mail.smtp.timeout:5000}")
+    private long readTimeoutMillis;
+
+    /**
+     * SMTP 寫入超時（毫秒）
+     */
+    @Value("${spring.mail.properties.mail.smtp.writetimeout:5000}")
+    private long writeTimeoutMillis;
+
+    /**
+     * 最大發送次數，超過後標記為 DEAD
+     */
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    /**
+     * 第一次重試的等待時間（秒），之後每次加倍
+     */
+    @Value("${app.mail.outbox.initial-backoff-seconds:30}")
+    private long initialBackoffSeconds;
+
+    /**
+     * 重試等待時間的上限（秒）
+     */
+    @Value("${app.mail.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    /**
+     * 寫入一筆密碼重設郵件
+     * 必須在調用方的事務中執行，令牌和郵件記錄一起提交
+     *
+     * @param recipient 收件人電子郵件地址
+     * @param token 密碼重設令牌
+     * @param locale 收件人語言，用於選擇郵件模板
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueuePasswordReset(String recipient, String token, Locale locale) {
+        EmailOutbox outbox = new EmailOutbox();
+        outbox.setType(EmailType.PASSWORD_RESET);
+        outbox.setRecipient(recipient);
+        outbox.setPayload(token);
+        outbox.setLocale(locale != null ? locale.toLanguageTag() : null);
+        outbox.setStatus(OutboxStatus.PENDING);
+        outbox.setNextAttemptAt(LocalDateTime.now());
+        outboxRepository.save(outbox);
+
+        // 事務提交後由派發器的監聽方法處理；事務回滾則不會觸發
+        eventPublisher.publishEvent(new EmailOutboxEnqueuedEvent(outbox.getId()));
+    }
+
+    /**
+     * 領取一批到期的記錄
+     * 記錄被標記為 SENDING 並設置租約，嘗試次數加一，事務提交後行鎖即釋放
+     * 租約按批次大小計算，整批郵件發送完之前不會被其他實例重新領取
+     *
+     * @param batchSize 每批最多領取的數量
+     * @return 已領取的記錄
+     */
+    @Transactional
+    public List<EmailOutbox> claimDueBatch(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        long lease = leaseSecondsFor(batchSize);
+        List<EmailOutbox> due = outboxRepository.findByStatusInAndNextAttemptAtLessThanEqualOrderByNextAttemptAt(
+            CLAIMABLE, now, PageRequest.of(0, batchSize));
+        for (EmailOutbox outbox : due) {
+            outbox.setStatus(OutboxStatus.SENDING);
+            outbox.setAttempts(outbox.getAttempts() + 1);
+            outbox.setNextAttemptAt(now.plusSeconds(lease));
+        }
+        return due;
+    }
+
+    /**
+     * 計算一批記錄的租約秒數
+     * 取配置的最短租約與整批郵件在最壞情況下的發送時間之間的較大者：
+     * 等待連接、建立連接並認證，然後每封郵件的寫入和回應都等到超時
+     *
+     * @param batchSize 批次大小
+     * @return 租約秒數
+     */
+    long leaseSecondsFor(int batchSize) {
+        long worstCaseMillis = borrowTimeoutMillis + connectionTimeoutMillis + readTimeoutMillis
+            + batchSize * (writeTimeoutMillis + readTimeoutMillis);
+        return Math.max(leaseSeconds, TimeUnit.MILLISECONDS.toSeconds(worstCaseMillis) + LEASE_MARGIN_SECONDS);
+    }
+
+    /**
+     * 標記一批記錄為發送成功，並清空郵件數據
+     *
+     * @param ids 記錄 ID
+     */
+    @Transactional
+    public void markSent(Collection<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        for (EmailOutbox outbox : outboxRepository.findAllById(ids)) {
+            outbox.setStatus(OutboxStatus.SENT);
+            outbox.setPayload(null);
+            outbox.setLastError(null);
+            outbox.setSentTime(now);
+        }
+    }
+
+    /**
+     * 標記為發送失敗
+     * 未達最大次數時按指數退避安排下次發送，否則標記為 DEAD，
+     * 同時清空郵件數據並作廢其中的密碼重設令牌
+     *
+     * @param id 記錄 ID
+     * @param error 錯誤信息
+     * @return 是否已標記為 DEAD
+     */
+    @Transactional
+    public boolean markFailed(Long id, String error) {
+        EmailOutbox outbox = outboxRepository.findById(id).orElse(null);
+        if (outbox == null) {
+            return false;
+        }
+        outbox.setLastError(error != null && error.length() > MAX_ERROR_LENGTH
+            ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        if (outbox.getAttempts() >= maxAttempts) {
+            outbox.setStatus(OutboxStatus.DEAD);
+            discardPayload(outbox);
+            return true;
+        }
+        outbox.setStatus(OutboxStatus.PENDING);
+        outbox.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoffSeconds(outbox.getAttempts())));
+        return false;
+    }
+
+    /**
+     * 清空創建時間早於指定時間的記錄中的郵件數據
+     * 其中的令牌已過期，郵件即使送出也無法使用，記錄直接標記為 DEAD
+     *
+     * @param cutoff 創建時間上限，通常為當前時間減去令牌有效期
+     * @return 清空的記錄數
+     */
+    @Transactional
+    public int expireStalePayloads(LocalDateTime cutoff) {
+        return outboxRepository.expirePayloads(OutboxStatus.DEAD, "payload expired", cutoff);
+    }
+
+    /**
+     * 清空郵件數據，密碼重設郵件同時刪除對應的令牌
+     *
+     * @param outbox 發件箱記錄
+     */
+    private void discardPayload(EmailOutbox outbox) {
+        if (outbox.getType() == EmailType.PASSWORD_RESET && outbox.getPayload() != null) {
+            tokenRepository.deleteByTokenHash(ResetTokens.hash(outbox.getPayload()));
+        }
+        outbox.setPayload(null);
+    }
+
+    /**
+     * 計算第 n 次失敗後的等待時間
+     *
+     * @param attempts 已嘗試次數
+     * @return 等待秒數
+     */
+    private long backoffSeconds(int attempts) {
+        int shift = Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(initialBackoffSeconds << shift, maxBackoffSeconds);
+    }
+
+    /**
+     * 發件箱寫入事件
+     *
+     * @param outboxId 新寫入的記錄 ID
+     */
+    public record EmailOutboxEnqueuedEvent(Long outboxId) {
+    }
+}
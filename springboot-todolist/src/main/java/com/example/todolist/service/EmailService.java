@@ -1,20 +1,37 @@
 package com.example.todolist.service;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import com.example.todolist.mail.EmailTemplateEngine;
+import com.example.todolist.mail.EmailTemplateEngine.RenderedEmail;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 /**
  * 電子郵件服務
  * 
  * 負責發送系統郵件，如密碼重設郵件等。
- * 使用 Spring 的 JavaMailSender 實現郵件發送功能。
+ * 使用 Spring 的 JavaMailSender 實現郵件發送功能，
+ * 底層為連接池化的發送器，多封郵件可經由同一個 SMTP 連接發送。
+ * 郵件內容來自預先解析的模板，按收件人語言選擇版本。
  */
 @Service
 public class EmailService {
@@ -32,6 +49,13 @@ public class EmailService {
     @Autowired
     private JavaMailSender mailSender;
     
+    /**
+     * 指標註冊表
+     * 記錄郵件發送耗時（mail.send）和成功/失敗的郵件數（mail.messages）
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     /**
      * 發件人電子郵件地址
      * 從配置文件中獲取，使用 @Value 注解
@@ -40,16 +64,54 @@ public class EmailService {
     private String fromEmail;
     
     /**
-     * 發送密碼重設郵件
+     * 郵件模板引擎
+     * 啟動時預先解析所有郵件模板
+     */
+    @Autowired
+    private EmailTemplateEngine templateEngine;
+    
+    /**
+     * 前端網站的基礎 URL，用於生成郵件中的連結
+     */
+    @Value("${app.frontend.base-url:http://localhost:5173}")
+    private String frontendBaseUrl;
+    
+    /**
+     * 密碼重設令牌的有效時數，顯示在郵件中
+     */
+    @Value("${app.password-reset.token-validity-hours:24}")
+    private int tokenValidityHours;
+    
+    /**
+     * 創建密碼重設郵件，不發送
      * 
      * @param to 收件人電子郵件地址
      * @param resetToken 密碼重設令牌
-     * @throws RuntimeException 如果郵件發送失敗
+     * @param locale 收件人語言，可為 null
+     * @return 郵件對象
+     * @throws RuntimeException 如果郵件內容無法設置
      */
-    public void sendPasswordResetEmail(String to, String resetToken) {
+    public MimeMessage createPasswordResetEmail(String to, String resetToken, Locale locale) {
+        String resetUrl = frontendBaseUrl + "/reset-password?token="
+            + URLEncoder.encode(resetToken, StandardCharsets.UTF_8);
+        return createEmail(to, "password-reset", locale, Map.of(
+            "resetUrl", resetUrl,
+            "expiryHours", String.valueOf(tokenValidityHours)));
+    }
+    
+    /**
+     * 按模板創建 HTML 郵件，不發送
+     * 
+     * @param to 收件人電子郵件地址
+     * @param template 模板名稱
+     * @param locale 收件人語言，可為 null
+     * @param variables 模板變量
+     * @return 郵件對象
+     * @throws RuntimeException 如果模板不存在或郵件內容無法設置
+     */
+    public MimeMessage createEmail(String to, String template, Locale locale, Map<String, String> variables) {
+        RenderedEmail rendered = templateEngine.render(template, locale, variables);
         try {
-            logger.info("Preparing to send password reset email to: {}", to);
-            
             // 創建 MIME 郵件對象和幫助器
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
@@ -57,35 +119,49 @@ public class EmailService {
             // 設置郵件基本屬性
             helper.setFrom(fromEmail);
             helper.setTo(to);
-            helper.setSubject("密碼重設");
-            
-            // 構建 HTML 格式的郵件內容
-            String htmlContent = String.format(
-                "<div style='padding: 20px; background-color: #f8f9fa;'>" +
-                "<h2 style='color: #333;'>密碼重設請求</h2>" +
-                "<p>您好，</p>" +
-                "<p>我們收到了您的密碼重設請求。請點擊下面的連結重設您的密碼：</p>" +
-                "<p><a href='http://localhost:5173/reset-password?token=%s' " +
-                "style='background-color: #007bff; color: white; padding: 10px 20px; " +
-                "text-decoration: none; border-radius: 5px;'>重設密碼</a></p>" +
-                "<p style='color: #666;'>此連結將在24小時後失效。</p>" +
-                "<p style='color: #666;'>如果您沒有請求重設密碼，請忽略此郵件。</p>" +
-                "</div>",
-                resetToken
-            );
+            helper.setSubject(rendered.subject());
             
             // 設置郵件內容為 HTML 格式
-            helper.setText(htmlContent, true);
-            
-            // 發送郵件
-            logger.info("Attempting to send email...");
-            mailSender.send(message);
-            logger.info("Password reset email sent successfully to: {}", to);
+            helper.setText(rendered.html(), true);
+            return message;
             
         } catch (MessagingException e) {
             // 記錄錯誤並拋出運行時異常
-            logger.error("Failed to send password reset email: ", e);
-            throw new RuntimeException("發送重設密碼郵件失敗: " + e.getMessage());
+            logger.error("Failed to build email from template {}: ", template, e);
+            throw new RuntimeException("創建郵件失敗: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * 經由同一個 SMTP 連接批量發送郵件
+     * 單封郵件失敗不影響其他郵件
+     * 
+     * @param messages 要發送的郵件
+     * @return 發送失敗的郵件及其原因，全部成功時為空
+     */
+    public Map<MimeMessage, Exception> sendBatch(List<MimeMessage> messages) {
+        if (messages.isEmpty()) {
+            return Map.of();
+        }
+        Map<MimeMessage, Exception> failures = new HashMap<>();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                messages.forEach(message -> failures.put(message, e));
+            } else {
+                e.getFailedMessages().forEach((message, cause) -> failures.put((MimeMessage) message, cause));
+            }
+        } catch (MailException e) {
+            // 例如認證失敗，整批都未發送
+            messages.forEach(message -> failures.put(message, e));
         }
+        String outcome = failures.isEmpty() ? "success" : failures.size() < messages.size() ? "partial" : "failure";
+        sample.stop(meterRegistry.timer("mail.send", "outcome", outcome));
+        meterRegistry.counter("mail.messages", "result", "sent").increment(messages.size() - failures.size());
+        meterRegistry.counter("mail.messages", "result", "failed").increment(failures.size());
+        logger.info("Sent {} of {} emails in batch", messages.size() - failures.size(), messages.size());
+        return failures;
     }
 }
\ No newline at end of file
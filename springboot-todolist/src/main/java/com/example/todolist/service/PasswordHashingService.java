@@ -0,0 +1,195 @@
+package com.example.todolist.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.example.todolist.exception.ServiceBusyException;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 密碼雜湊服務
+ *
+ * 將 BCrypt 的加密與比對移到專用且有界的執行緒池中執行，避免登入高峰時
+ * 佔滿所有 Tomcat 請求執行緒和 CPU 核心，拖垮待辦事項與交易記錄的請求。
+ * 佇列已滿或等待逾時時拋出 ServiceBusyException，由全局異常處理器返回 503。
+ */
+@Service
+public class PasswordHashingService {
+
+    /**
+     * 日誌記錄器
+     */
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    /**
+     * 密碼加密器
+     * 實際執行 BCrypt 運算，工作因子由 SecurityConfig 配置
+     */
+    private final PasswordEncoder passwordEncoder;
+
+    /**
+     * 專用的雜湊執行緒池
+     * 固定執行緒數加有界佇列，超出容量的任務直接拒絕
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 請求執行緒等待雜湊結果的最長時間（毫秒）
+     */
+    private final long waitTimeoutMillis;
+
+    /**
+     * 返回 503 時建議客戶端重試的秒數
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * 構造器注入
+     *
+     * @param passwordEncoder 密碼加密器
+     * @param threads 雜湊執行緒數，0 表示使用 CPU 核心數的一半
+     * @param queueCapacity 等待佇列容量
+     * @param waitTimeoutMillis 等待雜湊結果的最長時間
+     * @param retryAfterSeconds 建議的重試等待秒數
+     */
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+            @Value("${app.security.hashing.threads:0}") int threads,
+            @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${app.security.hashing.wait-timeout-ms:5000}") long waitTimeoutMillis,
+            @Value("${app.security.hashing.retry-after-seconds:2}") long retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        logger.info("Password hashing executor started with {} threads, queue capacity {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * 加密密碼
+     *
+     * @param rawPassword 明文密碼
+     * @return 加密後的密碼
+     * @throws ServiceBusyException 如果雜湊執行緒池已滿或等待逾時
+     */
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * 比對明文密碼與加密後的密碼
+     *
+     * @param rawPassword 明文密碼
+     * @param encodedPassword 數據庫中的加密密碼
+     * @return 匹配返回 true
+     * @throws ServiceBusyException 如果雜湊執行緒池已滿或等待逾時
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 檢查加密密碼的工作因子是否低於當前配置
+     * 只解析雜湊字串，不做 BCrypt 運算，因此直接在呼叫執行緒執行
+     *
+     * @param encodedPassword 數據庫中的加密密碼
+     * @return 需要以新的工作因子重新加密時返回 true
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * 當前在佇列中等待的雜湊任務數
+     *
+     * @return 佇列深度
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * 當前正在執行的雜湊任務數
+     *
+     * @return 活躍執行緒數
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * 提交任務並等待結果
+     *
+     * @param task 雜湊任務
+     * @return 任務結果
+     */
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Password hashing queue is full, rejecting request");
+            throw new ServiceBusyException("系統繁忙，請稍後再試", retryAfterSeconds);
+        }
+
+        try {
+            return future.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.warn("Password hashing did not complete within {} ms", waitTimeoutMillis);
+            throw new ServiceBusyException("系統繁忙，請稍後再試", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("系統繁忙，請稍後再試", retryAfterSeconds);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("密碼雜湊失敗", cause);
+        }
+    }
+
+    /**
+     * 應用關閉時停止執行緒池
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 雜湊執行緒工廠
+     * 為執行緒命名，方便在執行緒轉儲和監控中辨識
+     */
+    private static class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.todolist.service;
+
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.todolist.repository.PasswordResetTokenRepository;
+
+/**
+ * 過期密碼重設令牌清理任務
+ *
+ * 令牌過期後不再依賴用戶點擊連結時順便刪除，而是定期經由 expiry_date 索引分批清除，
+ * 每批一個短事務，直到沒有剩餘或達到批次上限，避免表無限增長。
+ * 同時清空發件箱中超過令牌有效期仍未送出的郵件數據，原始令牌不會長期留在數據庫中。
+ */
+@Component
+public class PasswordResetTokenCleaner {
+
+    /**
+     * 日誌記錄器
+     */
+    private static final Logger logger = LoggerFactory.getLogger(PasswordResetTokenCleaner.class);
+
+    /**
+     * 密碼重設令牌數據訪問接口
+     */
+    private final PasswordResetTokenRepository tokenRepository;
+
+    /**
+     * 郵件發件箱服務
+     */
+    private final EmailOutboxService outboxService;
+
+    /**
+     * 令牌有效時數
+     */
+    private final long tokenValidityHours;
+
+    /**
+     * 每批刪除的數量
+     */
+    private final int batchSize;
+
+    /**
+     * 每次執行最多刪除的批數
+     */
+    private final int maxBatches;
+
+    /**
+     * 構造器注入
+     *
+     * @param tokenRepository 密碼重設令牌數據訪問接口
+     * @param outboxService 郵件發件箱服務
+     * @param tokenValidityHours 令牌有效時數
+     * @param batchSize 每批刪除的數量
+     * @param maxBatches 每次執行最多刪除的批數
+     */
+    public PasswordResetTokenCleaner(PasswordResetTokenRepository tokenRepository,
+            EmailOutboxService outboxService,
+            @Value("${app.password-reset.token-validity-hours:24}") long tokenValidityHours,
+            @Value("${app.password-reset.cleanup-batch-size:1000}") int batchSize,
+            @Value("${app.password-reset.cleanup-max-batches:50}") int maxBatches) {
+        this.tokenRepository = tokenRepository;
+        this.outboxService = outboxService;
+        this.tokenValidityHours = tokenValidityHours;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    /**
+     * 定期分批清除過期令牌，並清空發件箱中已過期的郵件數據
+     */
+    @Scheduled(fixedDelayString = "${app.password-reset.cleanup-interval-ms:600000}")
+    public void purgeExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            int deleted = tokenRepository.deleteExpiredBatch(now, batchSize);
+            total += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            logger.debug("Removed {} expired password reset tokens", total);
+        }
+
+        int expired = outboxService.expireStalePayloads(now.minusHours(tokenValidityHours));
+        if (expired > 0) {
+            logger.warn("Discarded {} password reset emails not sent within the token validity period", expired);
+        }
+    }
+}
@@ -24,6 +24,14 @@ public interface TodoService {
 	 * @return 該用戶的所有待辦事項列表
 	 */
     List<TodoDTO> getAllTodosByUserId(Long userId);
+
+    /**
+     * 根據用戶 ID 獲取未完成的待辦事項
+     * 
+     * @param userId 用戶 ID
+     * @return 該用戶未完成的待辦事項列表
+     */
+    List<TodoDTO> getOpenTodosByUserId(Long userId);
     
     /**
      * 創建待辦事項
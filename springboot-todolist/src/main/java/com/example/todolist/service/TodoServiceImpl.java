@@ -1,13 +1,14 @@
 package com.example.todolist.service;
 
 import java.util.List;
-import java.util.stream.Collectors;
-import org.modelmapper.ModelMapper;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.example.todolist.exception.TodoNotFoundException;
+import com.example.todolist.mapper.TodoMapper;
 import com.example.todolist.model.dto.TodoDTO;
+import com.example.todolist.model.entity.CollectionVersion.CollectionType;
 import com.example.todolist.model.entity.Todo;
 import com.example.todolist.model.entity.User;
 import com.example.todolist.repository.TodoRepository;
@@ -20,6 +21,7 @@ import com.example.todolist.repository.UserRepository;
  * 所有方法都包含用戶ID參數，確保數據安全隔離，用戶只能訪問自己的待辦事項。
  */
 @Service
+@Timed("app.service")  // 記錄每個公開方法的執行時間，按 class 和 method 標籤區分
 public class TodoServiceImpl implements TodoService {
 
     /**
@@ -31,17 +33,24 @@ public class TodoServiceImpl implements TodoService {
     
     /**
      * 用戶數據訪問接口
-     * 用於在創建待辦事項時查找用戶
+     * 用於在創建待辦事項時取得用戶引用
      */
     @Autowired
     private UserRepository userRepository;
     
     /**
-     * 對象映射工具
-     * 用於 Entity 和 DTO 之間的轉換
+     * 待辦事項映射器
+     * 編譯時生成的映射代碼，用於 Entity 和 DTO 之間的轉換
      */
     @Autowired
-    private ModelMapper modelMapper;
+    private TodoMapper todoMapper;
+
+    /**
+     * 列表版本服務
+     * 每次寫入後更新待辦事項列表的版本號，使列表的 ETag 失效
+     */
+    @Autowired
+    private CollectionVersionService collectionVersionService;
 
     /**
      * 獲取用戶的所有待辦事項
@@ -51,6 +60,8 @@ public class TodoServiceImpl implements TodoService {
      * 2. 將每個實體對象轉換為 DTO
      * 3. 返回 DTO 列表
      * 
+     * 加載範圍：只查詢 todos 表的欄位，不加載用戶關聯。
+     * 
      * @param userId 用戶ID
      * @return 該用戶的所有待辦事項列表
      */
@@ -60,33 +71,46 @@ public class TodoServiceImpl implements TodoService {
         // 查詢用戶的所有待辦事項
         List<Todo> todos = todoRepository.findByUserId(userId);
         
-        // 使用 Java 8 Stream API 將實體列表轉換為 DTO 列表
-        return todos.stream()
-                   .map(todo -> modelMapper.map(todo, TodoDTO.class))
-                   .collect(Collectors.toList());
+        // 將實體列表轉換為 DTO 列表
+        return todoMapper.toDtoList(todos);
+    }
+
+    /**
+     * 獲取用戶未完成的待辦事項
+     * 
+     * 加載範圍：只查詢 todos 表的欄位，不加載用戶關聯。
+     * 
+     * @param userId 用戶ID
+     * @return 該用戶未完成的待辦事項列表
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TodoDTO> getOpenTodosByUserId(Long userId) {
+        return todoMapper.toDtoList(todoRepository.findByUserIdAndCompletedFalse(userId));
     }
 
     /**
      * 創建新的待辦事項
      * 
      * 業務邏輯:
-     * 1. 查找用戶實體
+     * 1. 取得用戶實體的引用代理（不查詢數據庫）
      * 2. 創建新的待辦事項實體並設置其屬性
      * 3. 關聯用戶和待辦事項
      * 4. 保存到數據庫
      * 5. 返回創建的待辦事項 DTO
      * 
+     * 用戶 ID 來自已登入的會話，只需要用來設置外鍵，
+     * 因此使用 getReferenceById 取得代理對象，整個新增只執行一條 INSERT。
+     * 
      * @param todoDTO 待辦事項數據，不需要包含 ID
      * @param userId 用戶 ID
      * @return 創建成功的待辦事項，包含自動生成的 ID
-     * @throws RuntimeException 如果用戶不存在
      */
     @Override
     @Transactional
     public TodoDTO createTodo(TodoDTO todoDTO, Long userId) {
-        // 查找用戶，如果不存在則拋出異常
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("用戶不存在"));
+        // 取得用戶引用，只用於設置外鍵，不會觸發 SELECT
+        User user = userRepository.getReferenceById(userId);
             
         // 創建新的待辦事項實體
         Todo todo = new Todo();
@@ -94,20 +118,23 @@ public class TodoServiceImpl implements TodoService {
         todo.setCompleted(false);  // 默認未完成
         todo.setUser(user);  // 設置所屬用戶
         
-        // 保存待辦事項並返回
+        // 保存待辦事項並更新列表版本
         Todo savedTodo = todoRepository.save(todo);
-        return modelMapper.map(savedTodo, TodoDTO.class);
+        collectionVersionService.bump(userId, CollectionType.TODO);
+        return todoMapper.toDto(savedTodo);
     }
 
     /**
      * 更新待辦事項
      * 
      * 業務邏輯:
-     * 1. 根據ID查找待辦事項
-     * 2. 驗證待辦事項是否屬於該用戶
-     * 3. 更新待辦事項的屬性
-     * 4. 保存更新後的待辦事項
-     * 5. 返回更新後的待辦事項 DTO
+     * 1. 根據ID和用戶ID查找待辦事項，查詢條件本身就完成歸屬驗證
+     * 2. 更新待辦事項的屬性
+     * 3. 保存更新後的待辦事項
+     * 4. 返回更新後的待辦事項 DTO
+     * 
+     * 加載範圍：只查詢 todos 表的一行，用戶關聯保持未加載，
+     * DTO 在事務內轉換完成，返回後不再訪問實體。
      * 
      * @param todoDTO 待辦事項更新數據，必須包含 ID
      * @param userId 用戶 ID
@@ -117,31 +144,28 @@ public class TodoServiceImpl implements TodoService {
     @Override
     @Transactional
     public TodoDTO updateTodo(TodoDTO todoDTO, Long userId) throws TodoNotFoundException {
-        // 查找待辦事項，如果不存在則拋出異常
-        Todo todo = todoRepository.findById(todoDTO.getId())
+        // 查找屬於該用戶的待辦事項，不存在或不屬於該用戶都拋出異常
+        Todo todo = todoRepository.findByIdAndUserId(todoDTO.getId(), userId)
             .orElseThrow(() -> new TodoNotFoundException("查無資料"));
-            
-        // 驗證待辦事項是否屬於該用戶
-        if (!todo.getUser().getId().equals(userId)) {
-            throw new TodoNotFoundException("無權限修改此待辦事項");
-        }
         
         // 更新待辦事項屬性
         todo.setText(todoDTO.getText());
         todo.setCompleted(todoDTO.getCompleted());
         
-        // 保存更新並返回
+        // 保存更新並更新列表版本
         Todo updatedTodo = todoRepository.save(todo);
-        return modelMapper.map(updatedTodo, TodoDTO.class);
+        collectionVersionService.bump(userId, CollectionType.TODO);
+        return todoMapper.toDto(updatedTodo);
     }
 
     /**
      * 刪除待辦事項
      * 
      * 業務邏輯:
-     * 1. 根據ID查找待辦事項
-     * 2. 驗證待辦事項是否屬於該用戶
-     * 3. 刪除待辦事項
+     * 1. 根據ID和用戶ID查找待辦事項，查詢條件本身就完成歸屬驗證
+     * 2. 刪除待辦事項
+     * 
+     * 加載範圍：只查詢 todos 表的一行，不加載用戶關聯。
      * 
      * @param id 待辦事項 ID
      * @param userId 用戶 ID
@@ -150,16 +174,12 @@ public class TodoServiceImpl implements TodoService {
     @Override
     @Transactional
     public void deleteTodo(Long id, Long userId) throws TodoNotFoundException {
-        // 查找待辦事項，如果不存在則拋出異常
-        Todo todo = todoRepository.findById(id)
+        // 查找屬於該用戶的待辦事項，不存在或不屬於該用戶都拋出異常
+        Todo todo = todoRepository.findByIdAndUserId(id, userId)
             .orElseThrow(() -> new TodoNotFoundException("查無資料"));
-            
-        // 驗證待辦事項是否屬於該用戶
-        if (!todo.getUser().getId().equals(userId)) {
-            throw new TodoNotFoundException("無權限刪除此待辦事項");
-        }
         
-        // 刪除待辦事項
-        todoRepository.deleteById(id);
+        // 刪除已加載的實體，不再重複查詢
+        todoRepository.delete(todo);
+        collectionVersionService.bump(userId, CollectionType.TODO);
     }
 }
\ No newline at end of file
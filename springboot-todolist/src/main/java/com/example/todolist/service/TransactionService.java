@@ -1,5 +1,6 @@
 package com.example.todolist.service;
 
+import com.example.todolist.exception.NotFoundException;
 import com.example.todolist.model.dto.TransactionDTO;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -28,7 +29,7 @@ public interface TransactionService {
      * @param transactionDTO 交易記錄更新數據，必須包含 ID
      * @param userId 用戶 ID
      * @return 更新後的交易記錄
-     * @throws RuntimeException 如果交易記錄不存在或不屬於該用戶
+     * @throws NotFoundException 如果交易記錄不存在或不屬於該用戶
      */
     TransactionDTO updateTransaction(TransactionDTO transactionDTO, Long userId);
     
@@ -37,7 +38,7 @@ public interface TransactionService {
      * 
      * @param transactionId 交易記錄 ID
      * @param userId 用戶 ID
-     * @throws RuntimeException 如果交易記錄不存在或不屬於該用戶
+     * @throws NotFoundException 如果交易記錄不存在或不屬於該用戶
      */
     void deleteTransaction(Long transactionId, Long userId);
     
@@ -49,6 +50,15 @@ public interface TransactionService {
      */
     List<TransactionDTO> getAllTransactions(Long userId);
     
+    /**
+     * 獲取用戶最近的交易記錄
+     * 
+     * @param userId 用戶 ID
+     * @param limit 最多返回的筆數
+     * @return 最近的交易記錄列表，最新的排在前面
+     */
+    List<TransactionDTO> getRecentTransactions(Long userId, int limit);
+    
     /**
      * 獲取特定時間範圍的交易記錄
      * 
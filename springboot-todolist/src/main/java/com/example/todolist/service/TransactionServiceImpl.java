@@ -1,12 +1,16 @@
 package com.example.todolist.service;
 
+import com.example.todolist.exception.NotFoundException;
+import com.example.todolist.mapper.TransactionMapper;
 import com.example.todolist.model.dto.TransactionDTO;
+import com.example.todolist.model.entity.CollectionVersion.CollectionType;
 import com.example.todolist.model.entity.Transaction;
 import com.example.todolist.model.entity.User;
 import com.example.todolist.repository.TransactionRepository;
 import com.example.todolist.repository.UserRepository;
-import org.modelmapper.ModelMapper;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,7 +19,6 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * 交易記錄服務實現類
@@ -24,6 +27,7 @@ import java.util.stream.Collectors;
  * 以及提供財務統計和分析功能。所有方法都包含用戶ID參數，確保數據安全隔離。
  */
 @Service
+@Timed("app.service")  // 記錄每個公開方法的執行時間，按 class 和 method 標籤區分
 public class TransactionServiceImpl implements TransactionService {
 
     /**
@@ -35,23 +39,30 @@ public class TransactionServiceImpl implements TransactionService {
 
     /**
      * 用戶數據訪問接口
-     * 用於在創建交易記錄時查找用戶
+     * 用於在創建交易記錄時取得用戶引用
      */
     @Autowired
     private UserRepository userRepository;
 
     /**
-     * 對象映射工具
-     * 用於 Entity 和 DTO 之間的轉換
+     * 交易記錄映射器
+     * 編譯時生成的映射代碼，用於 Entity 和 DTO 之間的轉換
      */
     @Autowired
-    private ModelMapper modelMapper;
+    private TransactionMapper transactionMapper;
+
+    /**
+     * 列表版本服務
+     * 每次寫入後更新交易記錄列表的版本號，使列表的 ETag 失效
+     */
+    @Autowired
+    private CollectionVersionService collectionVersionService;
 
     /**
      * 創建新交易記錄
      * 
      * 業務邏輯:
-     * 1. 查找用戶實體
+     * 1. 取得用戶實體的引用代理（不查詢數據庫）
      * 2. 將 DTO 轉換為實體並設置關聯用戶
      * 3. 如果沒有指定日期，使用當前時間
      * 4. 保存交易記錄
@@ -60,17 +71,15 @@ public class TransactionServiceImpl implements TransactionService {
      * @param transactionDTO 交易記錄數據
      * @param userId 用戶 ID
      * @return 創建成功的交易記錄，包含自動生成的 ID
-     * @throws RuntimeException 如果用戶不存在
      */
     @Override
     @Transactional
     public TransactionDTO createTransaction(TransactionDTO transactionDTO, Long userId) {
-        // 查找用戶，如果不存在則拋出異常
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("用戶不存在"));
+        // 取得用戶引用，只用於設置外鍵，不會觸發 SELECT
+        User user = userRepository.getReferenceById(userId);
 
         // 將 DTO 轉換為實體並設置關聯用戶
-        Transaction transaction = modelMapper.map(transactionDTO, Transaction.class);
+        Transaction transaction = transactionMapper.toEntity(transactionDTO);
         transaction.setUser(user);
         
         // 如果沒有指定日期，使用當前時間
@@ -78,77 +87,75 @@ public class TransactionServiceImpl implements TransactionService {
             transaction.setDate(LocalDateTime.now());
         }
 
-        // 保存交易記錄並返回
+        // 保存交易記錄並更新列表版本
         Transaction savedTransaction = transactionRepository.save(transaction);
-        return modelMapper.map(savedTransaction, TransactionDTO.class);
+        collectionVersionService.bump(userId, CollectionType.TRANSACTION);
+        return transactionMapper.toDto(savedTransaction);
     }
 
     /**
      * 更新交易記錄
      * 
      * 業務邏輯:
-     * 1. 根據ID查找交易記錄
-     * 2. 驗證交易記錄是否屬於該用戶
-     * 3. 更新交易記錄的屬性
-     * 4. 保存更新後的交易記錄
-     * 5. 返回更新後的交易記錄 DTO
+     * 1. 根據ID和用戶ID查找交易記錄，查詢條件本身就完成歸屬驗證
+     * 2. 更新交易記錄的屬性
+     * 3. 保存更新後的交易記錄
+     * 4. 返回更新後的交易記錄 DTO
+     * 
+     * 加載範圍：只查詢 transactions 表的一行，用戶關聯保持未加載，
+     * DTO 在事務內轉換完成，返回後不再訪問實體。
      * 
      * @param transactionDTO 交易記錄更新數據，必須包含 ID
      * @param userId 用戶 ID
      * @return 更新後的交易記錄
-     * @throws RuntimeException 如果交易記錄不存在或不屬於該用戶
+     * @throws NotFoundException 如果交易記錄不存在或不屬於該用戶
      */
     @Override
     @Transactional
     public TransactionDTO updateTransaction(TransactionDTO transactionDTO, Long userId) {
-        // 查找交易記錄，如果不存在則拋出異常
-        Transaction transaction = transactionRepository.findById(transactionDTO.getId())
-            .orElseThrow(() -> new RuntimeException("交易記錄不存在"));
-
-        // 驗證交易記錄是否屬於該用戶
-        if (!transaction.getUser().getId().equals(userId)) {
-            throw new RuntimeException("無權限修改此交易記錄");
-        }
+        // 查找屬於該用戶的交易記錄，不存在或不屬於該用戶都拋出異常
+        Transaction transaction = transactionRepository.findByIdAndUserId(transactionDTO.getId(), userId)
+            .orElseThrow(() -> new NotFoundException("交易記錄不存在"));
 
-        // 更新交易記錄屬性
-        modelMapper.map(transactionDTO, transaction);
+        // 更新交易記錄屬性，DTO 中為 null 的欄位保留原值
+        transactionMapper.updateEntity(transactionDTO, transaction);
         
-        // 保存更新並返回
+        // 保存更新並更新列表版本
         Transaction updatedTransaction = transactionRepository.save(transaction);
-        return modelMapper.map(updatedTransaction, TransactionDTO.class);
+        collectionVersionService.bump(userId, CollectionType.TRANSACTION);
+        return transactionMapper.toDto(updatedTransaction);
     }
 
     /**
      * 刪除交易記錄
      * 
      * 業務邏輯:
-     * 1. 根據ID查找交易記錄
-     * 2. 驗證交易記錄是否屬於該用戶
-     * 3. 刪除交易記錄
+     * 1. 根據ID和用戶ID查找交易記錄，查詢條件本身就完成歸屬驗證
+     * 2. 刪除交易記錄
+     * 
+     * 加載範圍：只查詢 transactions 表的一行，不加載用戶關聯。
      * 
      * @param transactionId 交易記錄 ID
      * @param userId 用戶 ID
-     * @throws RuntimeException 如果交易記錄不存在或不屬於該用戶
+     * @throws NotFoundException 如果交易記錄不存在或不屬於該用戶
      */
     @Override
     @Transactional
     public void deleteTransaction(Long transactionId, Long userId) {
-        // 查找交易記錄，如果不存在則拋出異常
-        Transaction transaction = transactionRepository.findById(transactionId)
-            .orElseThrow(() -> new RuntimeException("交易記錄不存在"));
-
-        // 驗證交易記錄是否屬於該用戶
-        if (!transaction.getUser().getId().equals(userId)) {
-            throw new RuntimeException("無權限刪除此交易記錄");
-        }
+        // 查找屬於該用戶的交易記錄，不存在或不屬於該用戶都拋出異常
+        Transaction transaction = transactionRepository.findByIdAndUserId(transactionId, userId)
+            .orElseThrow(() -> new NotFoundException("交易記錄不存在"));
 
-        // 刪除交易記錄
-        transactionRepository.deleteById(transactionId);
+        // 刪除已加載的實體，不再重複查詢
+        transactionRepository.delete(transaction);
+        collectionVersionService.bump(userId, CollectionType.TRANSACTION);
     }
 
     /**
      * 獲取用戶所有交易記錄，按日期降序排序
      * 
+     * 加載範圍：只查詢 transactions 表的欄位，不加載用戶關聯。
+     * 
      * @param userId 用戶 ID
      * @return 該用戶的所有交易記錄列表
      */
@@ -156,10 +163,23 @@ public class TransactionServiceImpl implements TransactionService {
     @Transactional(readOnly = true)  // 只讀事務，優化性能
     public List<TransactionDTO> getAllTransactions(Long userId) {
         // 獲取用戶的所有交易記錄，按日期降序排序
-        return transactionRepository.findByUserIdOrderByDateDesc(userId)
-            .stream()
-            .map(transaction -> modelMapper.map(transaction, TransactionDTO.class))
-            .collect(Collectors.toList());
+        return transactionMapper.toDtoList(transactionRepository.findByUserIdOrderByDateDesc(userId));
+    }
+
+    /**
+     * 獲取用戶最近的交易記錄，按日期降序排序
+     * 
+     * 加載範圍：只查詢 transactions 表的欄位，不加載用戶關聯。
+     * 
+     * @param userId 用戶 ID
+     * @param limit 最多返回的筆數
+     * @return 最近的交易記錄列表
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransactionDTO> getRecentTransactions(Long userId, int limit) {
+        return transactionMapper.toDtoList(
+                transactionRepository.findByUserIdOrderByDateDesc(userId, PageRequest.of(0, limit)));
     }
 
     /**
@@ -174,10 +194,7 @@ public class TransactionServiceImpl implements TransactionService {
     @Transactional(readOnly = true)
     public List<TransactionDTO> getTransactionsByDateRange(Long userId, LocalDateTime start, LocalDateTime end) {
         // 獲取特定時間範圍的交易記錄，按日期降序排序
-        return transactionRepository.findByUserIdAndDateBetweenOrderByDateDesc(userId, start, end)
-            .stream()
-            .map(transaction -> modelMapper.map(transaction, TransactionDTO.class))
-            .collect(Collectors.toList());
+        return transactionMapper.toDtoList(transactionRepository.findByUserIdAndDateBetweenOrderByDateDesc(userId, start, end));
     }
 
     /**
@@ -191,10 +208,7 @@ public class TransactionServiceImpl implements TransactionService {
     @Transactional(readOnly = true)
     public List<TransactionDTO> getTransactionsByCategory(Long userId, String category) {
         // 獲取特定類別的交易記錄，按日期降序排序
-        return transactionRepository.findByUserIdAndCategoryOrderByDateDesc(userId, category)
-            .stream()
-            .map(transaction -> modelMapper.map(transaction, TransactionDTO.class))
-            .collect(Collectors.toList());
+        return transactionMapper.toDtoList(transactionRepository.findByUserIdAndCategoryOrderByDateDesc(userId, category));
     }
 
     /**
@@ -216,7 +230,17 @@ public class TransactionServiceImpl implements TransactionService {
     public Map<String, Object> getTransactionsSummary(Long userId, LocalDateTime start, LocalDateTime end) {
         // 查詢時間範圍內的交易統計數據
         List<Object[]> summary = transactionRepository.sumByTypeAndDateBetween(userId, start, end);
-        
+        return summarize(summary);
+    }
+
+    /**
+     * 將按交易類型分組的統計結果彙總為總收入、總支出和結餘
+     * 不依賴數據庫，單獨抽出以便基準測試和響應式只讀 API 直接調用
+     * 
+     * @param summary 查詢結果，每行為 [交易類型, 金額合計]
+     * @return 包含總收入、總支出和結餘的統計數據
+     */
+    public static Map<String, Object> summarize(List<Object[]> summary) {
         // 初始化結果 Map 和統計變量
         Map<String, Object> result = new HashMap<>();
         BigDecimal totalIncome = BigDecimal.ZERO;
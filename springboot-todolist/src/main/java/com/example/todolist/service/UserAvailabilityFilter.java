@@ -0,0 +1,342 @@
+package com.example.todolist.service;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.todolist.repository.UserRepository;
+import com.example.todolist.util.BloomFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 用戶名/信箱可用性過濾器
+ *
+ * 註冊表單在輸入時會頻繁調用用戶名和信箱的存在檢查。這裡用兩個布隆過濾器
+ * 在記憶體中先行判斷：過濾器回答「一定不存在」時直接返回，不訪問數據庫；
+ * 只有「可能存在」的情況才交給數據庫的索引查詢確認。
+ *
+ * 過濾器在應用啟動後載入，註冊成功時即時更新，並定期重建，
+ * 以吸收其他節點的註冊和已刪除的用戶。重建完成前所有查詢都直接走數據庫。
+ * 兩個過濾器放在同一個不可變的對象中整體替換，查詢不會看到新舊混合的一對。
+ */
+@Component
+public class UserAvailabilityFilter {
+
+    /**
+     * 日誌記錄器
+     */
+    private static final Logger logger = LoggerFactory.getLogger(UserAvailabilityFilter.class);
+
+    /**
+     * 匹配 Unicode 組合附加符號，用於去除重音
+     */
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    /**
+     * 用戶數據訪問接口
+     */
+    private final UserRepository userRepository;
+
+    /**
+     * 目標誤判率
+     */
+    private final double falsePositiveRate;
+
+    /**
+     * 過濾器的最小容量，避免用戶很少時過濾器太小而迅速飽和
+     */
+    private final long minimumCapacity;
+
+    /**
+     * 啟動載入時每批讀取的用戶數
+     */
+    private final int loadBatchSize;
+
+    /**
+     * 當前使用的過濾器，尚未載入時為 null
+     */
+    private volatile Filters current;
+
+    /**
+     * 重建中的過濾器，重建期間的註冊會同時寫入，避免切換時遺漏
+     */
+    private volatile Filters building;
+
+    /**
+     * 保證同時只有一次重建
+     */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    /**
+     * 各類查詢結果的計數器
+     */
+    private final Counter usernameFree;
+    private final Counter usernameProbable;
+    private final Counter usernameFalsePositive;
+    private final Counter emailFree;
+    private final Counter emailProbable;
+    private final Counter emailFalsePositive;
+
+    /**
+     * 記錄誤判次數和確定不存在次數，用於計算實際誤判率
+     */
+    private final AtomicLong[] negatives = { new AtomicLong(), new AtomicLong() };
+    private final AtomicLong[] falsePositives = { new AtomicLong(), new AtomicLong() };
+
+    /**
+     * 構造器注入
+     *
+     * @param userRepository 用戶數據訪問接口
+     * @param meterRegistry 指標註冊表
+     * @param falsePositiveRate 目標誤判率
+     * @param minimumCapacity 過濾器最小容量
+     * @param loadBatchSize 載入時每批讀取的用戶數
+     */
+    public UserAvailabilityFilter(UserRepository userRepository, MeterRegistry meterRegistry,
+            @Value("${app.user-availability.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${app.user-availability.minimum-capacity:100000}") long minimumCapacity,
+            @Value("${app.user-availability.load-batch-size:5000}") int loadBatchSize) {
+        this.userRepository = userRepository;
+        this.falsePositiveRate = falsePositiveRate;
+        this.minimumCapacity = minimumCapacity;
+        this.loadBatchSize = loadBatchSize;
+
+        this.usernameFree = checkCounter(meterRegistry, "username", "definitely_free");
+        this.usernameProbable = checkCounter(meterRegistry, "username", "probable_hit");
+        this.usernameFalsePositive = checkCounter(meterRegistry, "username", "false_positive");
+        this.emailFree = checkCounter(meterRegistry, "email", "definitely_free");
+        this.emailProbable = checkCounter(meterRegistry, "email", "probable_hit");
+        this.emailFalsePositive = checkCounter(meterRegistry, "email", "false_positive");
+
+        Gauge.builder("user.availability.bloom.memory", this, f -> f.memoryBytes())
+                .baseUnit("bytes")
+                .description("Memory used by the username and email Bloom filters")
+                .register(meterRegistry);
+        Gauge.builder("user.availability.bloom.false.positive.rate", this, f -> f.observedFalsePositiveRate(0))
+                .tag("field", "username")
+                .description("Observed share of absent usernames that the filter reported as probable hits")
+                .register(meterRegistry);
+        Gauge.builder("user.availability.bloom.false.positive.rate", this, f -> f.observedFalsePositiveRate(1))
+                .tag("field", "email")
+                .description("Observed share of absent emails that the filter reported as probable hits")
+                .register(meterRegistry);
+        Gauge.builder("user.availability.bloom.expected.false.positive.rate", this,
+                f -> f.current != null ? f.current.usernames().expectedFalsePositiveRate() : Double.NaN)
+                .tag("field", "username")
+                .register(meterRegistry);
+        Gauge.builder("user.availability.bloom.expected.false.positive.rate", this,
+                f -> f.current != null ? f.current.emails().expectedFalsePositiveRate() : Double.NaN)
+                .tag("field", "email")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 應用啟動完成後載入過濾器
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * 定期重建過濾器
+     * 吸收其他節點註冊的用戶，並清除已刪除用戶留下的位元
+     */
+    @Scheduled(initialDelayString = "${app.user-availability.rebuild-interval-ms:600000}",
+            fixedDelayString = "${app.user-availability.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * 從數據庫重新載入所有用戶名和信箱
+     * 以 ID 為遊標分批讀取，建好新的過濾器後再整體替換
+     */
+    public void rebuild() {
+        // 使用 ReentrantLock 而非 synchronized：重建期間會查詢數據庫，
+        // 在虛擬執行緒上於 synchronized 中阻塞會釘住載體執行緒
+        rebuildLock.lock();
+        try {
+            long capacity = Math.max(minimumCapacity, userRepository.count() * 2);
+            Filters rebuilt = new Filters(new BloomFilter(capacity, falsePositiveRate),
+                    new BloomFilter(capacity, falsePositiveRate));
+            building = rebuilt;
+
+            long lastId = 0L;
+            List<Object[]> batch;
+            do {
+                batch = userRepository.findUsernamesAndEmailsAfter(lastId, PageRequest.of(0, loadBatchSize));
+                for (Object[] row : batch) {
+                    lastId = (Long) row[0];
+                    rebuilt.put(normalize((String) row[1]), normalize((String) row[2]));
+                }
+            } while (batch.size() == loadBatchSize);
+
+            // 先發布新的過濾器再清除 building，addUser 看到 building 為 null 時必定讀到新的過濾器
+            current = rebuilt;
+            logger.info("User availability filter loaded {} users, {} bytes",
+                    rebuilt.usernames().insertions(), memoryBytes());
+        } catch (RuntimeException e) {
+            // 載入失敗時保留舊的過濾器；若從未載入，查詢會直接走數據庫
+            logger.warn("Failed to rebuild user availability filter", e);
+        } finally {
+            building = null;
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * 註冊提交後將新用戶寫入過濾器
+     * 先讀 building 再讀 current：若此時沒有重建在進行，之後開始的重建會從數據庫讀到這個用戶；
+     * 若重建已完成，current 已是新的過濾器。因此新用戶不會只寫入即將被丟棄的舊過濾器。
+     *
+     * @param username 用戶名
+     * @param email 電子郵件
+     */
+    public void addUser(String username, String email) {
+        String normalizedUsername = normalize(username);
+        String normalizedEmail = normalize(email);
+        Filters inProgress = building;
+        if (inProgress != null) {
+            inProgress.put(normalizedUsername, normalizedEmail);
+        }
+        Filters filters = current;
+        if (filters != null) {
+            filters.put(normalizedUsername, normalizedEmail);
+        }
+    }
+
+    /**
+     * 用戶名是否可能已被使用
+     *
+     * @param username 用戶名
+     * @return false 表示一定未被使用；true 表示需要查詢數據庫確認
+     */
+    public boolean mightContainUsername(String username) {
+        Filters filters = current;
+        if (filters == null) {
+            return true;
+        }
+        if (filters.usernames().mightContain(normalize(username))) {
+            usernameProbable.increment();
+            return true;
+        }
+        usernameFree.increment();
+        negatives[0].incrementAndGet();
+        return false;
+    }
+
+    /**
+     * 信箱是否可能已被使用
+     *
+     * @param email 電子郵件
+     * @return false 表示一定未被使用；true 表示需要查詢數據庫確認
+     */
+    public boolean mightContainEmail(String email) {
+        Filters filters = current;
+        if (filters == null) {
+            return true;
+        }
+        if (filters.emails().mightContain(normalize(email))) {
+            emailProbable.increment();
+            return true;
+        }
+        emailFree.increment();
+        negatives[1].incrementAndGet();
+        return false;
+    }
+
+    /**
+     * 記錄用戶名誤判：過濾器回答可能存在，但數據庫確認不存在
+     */
+    public void recordUsernameFalsePositive() {
+        usernameFalsePositive.increment();
+        falsePositives[0].incrementAndGet();
+    }
+
+    /**
+     * 記錄信箱誤判：過濾器回答可能存在，但數據庫確認不存在
+     */
+    public void recordEmailFalsePositive() {
+        emailFalsePositive.increment();
+        falsePositives[1].incrementAndGet();
+    }
+
+    /**
+     * 兩個過濾器佔用的記憶體（位元組）
+     *
+     * @return 記憶體大小
+     */
+    public long memoryBytes() {
+        Filters filters = current;
+        return filters != null ? filters.usernames().memoryBytes() + filters.emails().memoryBytes() : 0;
+    }
+
+    /**
+     * 實際觀察到的誤判率：誤判次數 / 所有實際不存在的查詢次數
+     *
+     * @param field 0 表示用戶名，1 表示信箱
+     * @return 誤判率，尚無數據時為 0
+     */
+    private double observedFalsePositiveRate(int field) {
+        long fp = falsePositives[field].get();
+        long total = fp + negatives[field].get();
+        return total == 0 ? 0.0 : (double) fp / total;
+    }
+
+    /**
+     * 正規化用戶名/信箱
+     * MySQL 預設的排序規則不區分大小寫和重音，過濾器必須使用相同或更寬鬆的比較，
+     * 否則會把數據庫認為相同的值誤判為「一定不存在」
+     *
+     * @param value 原始值
+     * @return 正規化後的值
+     */
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value.strip(), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 創建可用性檢查計數器
+     */
+    private static Counter checkCounter(MeterRegistry registry, String field, String result) {
+        return Counter.builder("user.availability.checks")
+                .tag("field", field)
+                .tag("result", result)
+                .description("Username and email availability checks answered by the Bloom filter")
+                .register(registry);
+    }
+
+    /**
+     * 一起發布的用戶名和信箱過濾器
+     *
+     * @param usernames 用戶名過濾器
+     * @param emails 信箱過濾器
+     */
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+
+        void put(String username, String email) {
+            usernames.put(username);
+            emails.put(email);
+        }
+    }
+}
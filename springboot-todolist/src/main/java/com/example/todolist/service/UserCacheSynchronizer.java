@@ -0,0 +1,92 @@
+package com.example.todolist.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.todolist.model.entity.User;
+import com.example.todolist.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 用戶二級緩存同步任務
+ *
+ * 二級緩存只在本實例內，本實例的修改由 Hibernate 直接更新緩存，
+ * 其他實例（或直接修改數據庫）的修改則經由 update_time 發現：
+ * 定期查詢上次同步之後修改過的用戶並從緩存中清除，下次讀取時重新從數據庫載入。
+ * 查詢起點往前多取一段重疊時間，容忍各實例時鐘偏差和未提交的事務。
+ */
+@Component
+@ConditionalOnProperty(name = "app.user-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class UserCacheSynchronizer {
+
+    /**
+     * 日誌記錄器
+     */
+    private static final Logger logger = LoggerFactory.getLogger(UserCacheSynchronizer.class);
+
+    /**
+     * 用戶數據訪問接口
+     */
+    private final UserRepository userRepository;
+
+    /**
+     * Hibernate 二級緩存
+     */
+    private final Cache cache;
+
+    /**
+     * 查詢起點往前的重疊時間
+     */
+    private final Duration overlap;
+
+    /**
+     * 上次同步開始的時間，啟動時緩存為空，從當前時間開始
+     */
+    private volatile LocalDateTime lastSync = LocalDateTime.now();
+
+    /**
+     * 構造器注入
+     *
+     * @param userRepository 用戶數據訪問接口
+     * @param entityManagerFactory 實體管理器工廠，用於取得二級緩存
+     * @param overlapMillis 查詢起點往前的重疊時間（毫秒）
+     */
+    public UserCacheSynchronizer(UserRepository userRepository,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${app.user-cache.sync-overlap-ms:10000}") long overlapMillis) {
+        this.userRepository = userRepository;
+        this.cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        this.overlap = Duration.ofMillis(overlapMillis);
+    }
+
+    /**
+     * 清除上次同步之後修改過的用戶
+     *
+     * @return 清除的用戶數
+     */
+    @Scheduled(fixedDelayString = "${app.user-cache.sync-interval-ms:5000}")
+    public int evictUpdatedUsers() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<Object[]> updated = userRepository.findIdsUpdatedAfter(lastSync.minus(overlap));
+        for (Object[] row : updated) {
+            cache.evictEntityData(User.class, row[0]);
+        }
+        if (!updated.isEmpty()) {
+            // 電子郵件可能已修改，按電子郵件緩存的查詢結果一併清除
+            cache.evictDefaultQueryRegion();
+            logger.debug("Evicted {} updated users from second-level cache", updated.size());
+        }
+        lastSync = startedAt;
+        return updated.size();
+    }
+}
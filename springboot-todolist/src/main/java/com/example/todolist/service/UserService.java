@@ -2,6 +2,10 @@ package com.example.todolist.service;
 
 import org.springframework.stereotype.Service;
 
+import com.example.todolist.exception.ConflictException;
+import com.example.todolist.exception.InvalidRequestException;
+import com.example.todolist.exception.NotFoundException;
+import com.example.todolist.exception.UnauthorizedException;
 import com.example.todolist.model.dto.LoginDTO;
 import com.example.todolist.model.dto.RegisterDTO;
 import com.example.todolist.model.dto.UserResponseDTO;
@@ -21,7 +25,7 @@ public interface UserService {
 	 * 
 	 * @param registerDTO 註冊請求數據，包含用戶名、密碼和電子郵件
 	 * @return 註冊成功的用戶信息（不包含密碼）
-	 * @throws RuntimeException 如果用戶名或電子郵件已存在
+	 * @throws ConflictException 如果用戶名或電子郵件已存在
 	 */
 	UserResponseDTO register(RegisterDTO registerDTO);
 	
@@ -31,7 +35,7 @@ public interface UserService {
 	 * 
 	 * @param loginDTO 登入請求數據，包含用戶名和密碼
 	 * @return 登入成功的用戶信息（不包含密碼）
-	 * @throws RuntimeException 如果用戶不存在或密碼錯誤
+	 * @throws UnauthorizedException 如果用戶不存在或密碼錯誤
 	 */
 	UserResponseDTO login(LoginDTO loginDTO);
 	
@@ -40,7 +44,7 @@ public interface UserService {
 	 * 
 	 * @param username 要查詢的用戶名
 	 * @return 查詢到的用戶信息（不包含密碼）
-	 * @throws RuntimeException 如果用戶不存在
+	 * @throws NotFoundException 如果用戶不存在
 	 */
 	UserResponseDTO findByUsername(String username);
 	
@@ -64,10 +68,10 @@ public interface UserService {
 	
 	/**
 	 * 發起密碼重設流程
-	 * 為用戶創建密碼重設令牌並發送重設郵件
+	 * 為用戶創建密碼重設令牌，並將重設郵件寫入發件箱等待後台發送
 	 * 
 	 * @param email 用戶的電子郵件
-	 * @throws RuntimeException 如果電子郵件不存在或發送失敗
+	 * @throws NotFoundException 如果電子郵件不存在
 	 */
 	void initiatePasswordReset(String email);
 	
@@ -76,7 +80,7 @@ public interface UserService {
 	 * 檢查令牌是否有效且未過期
 	 * 
 	 * @param token 密碼重設令牌
-	 * @throws RuntimeException 如果令牌無效或已過期
+	 * @throws InvalidRequestException 如果令牌無效或已過期
 	 */
 	void validatePasswordResetToken(String token);
 	
@@ -86,7 +90,7 @@ public interface UserService {
 	 * 
 	 * @param token 密碼重設令牌
 	 * @param newPassword 新密碼
-	 * @throws RuntimeException 如果令牌無效或密碼不符合規則
+	 * @throws InvalidRequestException 如果令牌無效或密碼不符合規則
 	 */
 	void resetPassword(String token, String newPassword);
 }
\ No newline at end of file
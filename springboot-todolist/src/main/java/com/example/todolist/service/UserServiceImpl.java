@@ -1,5 +1,11 @@
 package com.example.todolist.service;
 
+import com.example.todolist.exception.ConflictException;
+import com.example.todolist.exception.InvalidRequestException;
+import com.example.todolist.exception.NotFoundException;
+import com.example.todolist.exception.ServiceBusyException;
+import com.example.todolist.exception.UnauthorizedException;
+import com.example.todolist.mapper.UserMapper;
 import com.example.todolist.model.dto.LoginDTO;
 import com.example.todolist.model.dto.RegisterDTO;
 import com.example.todolist.model.dto.UserResponseDTO;
@@ -7,14 +13,16 @@ import com.example.todolist.model.entity.PasswordResetToken;
 import com.example.todolist.model.entity.User;
 import com.example.todolist.repository.PasswordResetTokenRepository;
 import com.example.todolist.repository.UserRepository;
-import org.modelmapper.ModelMapper;
+import com.example.todolist.util.ResetTokens;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 /**
  * 用戶服務實現類
@@ -23,6 +31,7 @@ import java.util.UUID;
  * 作為系統中用戶管理的核心組件，處理用戶認證、授權和資料管理。
  */
 @Service
+@Timed("app.service")  // 記錄每個公開方法的執行時間，按 class 和 method 標籤區分
 public class UserServiceImpl implements UserService {
 
     /**
@@ -40,25 +49,45 @@ public class UserServiceImpl implements UserService {
     private PasswordResetTokenRepository tokenRepository;
     
     /**
-     * 電子郵件服務
-     * 用於發送密碼重設郵件
+     * 郵件發件箱服務
+     * 密碼重設郵件先寫入發件箱，事務提交後由後台派發器發送
      */
     @Autowired
-    private EmailService emailService;
+    private EmailOutboxService emailOutboxService;
     
     /**
-     * 對象映射工具
-     * 用於 Entity 和 DTO 之間的轉換
+     * 密碼重設令牌的有效時數
+     */
+    @Value("${app.password-reset.token-validity-hours:24}")
+    private int tokenValidityHours;
+    
+    /**
+     * 用戶名/信箱可用性過濾器
+     * 在記憶體中先判斷用戶名和信箱是否一定未被使用，減少數據庫查詢
+     */
+    @Autowired
+    private UserAvailabilityFilter availabilityFilter;
+    
+    /**
+     * 用戶映射器
+     * 編譯時生成的映射代碼，用於 Entity 和 DTO 之間的轉換
      */
     @Autowired
-    private ModelMapper modelMapper;
+    private UserMapper userMapper;
     
     /**
-     * 密碼加密工具
-     * 用於加密用戶密碼和驗證密碼
+     * 密碼雜湊服務
+     * 在專用的有界執行緒池中加密和驗證密碼，不佔用請求執行緒的 CPU
      */
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+    
+    /**
+     * 編程式事務模板
+     * 重設密碼時 BCrypt 運算在事務之外執行，只有最後的寫入放在短事務中
+     */
+    @Autowired
+    private TransactionTemplate transactionTemplate;
     
     /**
      * 用戶註冊
@@ -72,27 +101,29 @@ public class UserServiceImpl implements UserService {
      * 
      * @param registerDTO 註冊請求數據
      * @return 註冊成功的用戶信息
-     * @throws RuntimeException 如果用戶名或電子郵件已存在
+     * @throws ConflictException 如果用戶名或電子郵件已存在
      */
     @Override
     public UserResponseDTO register(RegisterDTO registerDTO) {
         // 檢查用戶名和信箱是否已存在
-        if (isUsernameExists(registerDTO.getUsername())) {
-            throw new RuntimeException("用戶名已存在");
+        // 註冊時直接查詢數據庫，不經過布隆過濾器，避免過濾器未同步其他節點時誤放行
+        if (userRepository.existsByUsername(registerDTO.getUsername())) {
+            throw new ConflictException("用戶名已存在");
         }
-        if (isEmailExists(registerDTO.getEmail())) {
-            throw new RuntimeException("信箱已存在");
+        if (userRepository.existsByEmail(registerDTO.getEmail())) {
+            throw new ConflictException("信箱已存在");
         }
         
         // 創建新用戶
         User user = new User();
         user.setUsername(registerDTO.getUsername());
-        user.setPassword(passwordEncoder.encode(registerDTO.getPassword())); // 對密碼進行加密
+        user.setPassword(passwordHashingService.encode(registerDTO.getPassword())); // 對密碼進行加密
         user.setEmail(registerDTO.getEmail());
         
-        // 保存用戶並返回
+        // 保存用戶並寫入可用性過濾器
         User savedUser = userRepository.save(user);
-        return modelMapper.map(savedUser, UserResponseDTO.class);
+        availabilityFilter.addUser(savedUser.getUsername(), savedUser.getEmail());
+        return userMapper.toResponseDto(savedUser);
     }
     
     /**
@@ -102,25 +133,47 @@ public class UserServiceImpl implements UserService {
      * 業務邏輯:
      * 1. 根據用戶名查找用戶
      * 2. 驗證密碼是否匹配
-     * 3. 返回不含敏感信息的用戶數據
+     * 3. 如果密碼的工作因子低於當前配置，以新的工作因子重新加密
+     * 4. 返回不含敏感信息的用戶數據
      * 
      * @param loginDTO 登入請求數據
      * @return 登入成功的用戶信息
-     * @throws RuntimeException 如果用戶不存在或密碼錯誤
+     * @throws UnauthorizedException 如果用戶不存在或密碼錯誤
      */
     @Override
     public UserResponseDTO login(LoginDTO loginDTO) {
         // 查找用戶，如果不存在則拋出異常
         User user = userRepository.findByUsername(loginDTO.getUsername())
-            .orElseThrow(() -> new RuntimeException("用戶不存在"));
+            .orElseThrow(() -> new UnauthorizedException("用戶不存在"));
             
         // 驗證密碼
-        if (!passwordEncoder.matches(loginDTO.getPassword(), user.getPassword())) {
-            throw new RuntimeException("密碼錯誤");
+        if (!passwordHashingService.matches(loginDTO.getPassword(), user.getPassword())) {
+            throw new UnauthorizedException("密碼錯誤");
+        }
+        
+        // 工作因子已調高時，趁持有明文密碼的機會透明地升級雜湊
+        if (passwordHashingService.upgradeEncoding(user.getPassword())) {
+            upgradePasswordHash(user, loginDTO.getPassword());
         }
         
         // 返回用戶數據，不包含密碼
-        return modelMapper.map(user, UserResponseDTO.class);
+        return userMapper.toResponseDto(user);
+    }
+    
+    /**
+     * 以當前工作因子重新加密用戶密碼
+     * 升級只是優化，雜湊執行緒池繁忙時直接跳過，等下次登入再升級，不影響本次登入
+     * 
+     * @param user 已通過密碼驗證的用戶
+     * @param rawPassword 用戶本次登入使用的明文密碼
+     */
+    private void upgradePasswordHash(User user, String rawPassword) {
+        try {
+            user.setPassword(passwordHashingService.encode(rawPassword));
+            userRepository.save(user);
+        } catch (ServiceBusyException e) {
+            // 繁忙時放棄本次升級
+        }
     }
     
     /**
@@ -128,35 +181,51 @@ public class UserServiceImpl implements UserService {
      * 
      * @param username 要查詢的用戶名
      * @return 查詢到的用戶信息
-     * @throws RuntimeException 如果用戶不存在
+     * @throws NotFoundException 如果用戶不存在
      */
     @Override
     public UserResponseDTO findByUsername(String username) {
         User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("用戶不存在"));
-        return modelMapper.map(user, UserResponseDTO.class);
+            .orElseThrow(() -> new NotFoundException("用戶不存在"));
+        return userMapper.toResponseDto(user);
     }
     
     /**
      * 檢查用戶名是否存在
+     * 布隆過濾器確定不存在時直接返回，只有可能存在時才查詢數據庫
      * 
      * @param username 要檢查的用戶名
      * @return 存在返回 true，不存在返回 false
      */
     @Override
     public boolean isUsernameExists(String username) {
-        return userRepository.existsByUsername(username);
+        if (!availabilityFilter.mightContainUsername(username)) {
+            return false;
+        }
+        boolean exists = userRepository.existsByUsername(username);
+        if (!exists) {
+            availabilityFilter.recordUsernameFalsePositive();
+        }
+        return exists;
     }
     
     /**
      * 檢查電子郵件是否已存在
+     * 布隆過濾器確定不存在時直接返回，只有可能存在時才查詢數據庫
      * 
      * @param email 要檢查的電子郵件
      * @return 存在返回 true，不存在返回 false
      */
     @Override
     public boolean isEmailExists(String email) {
-        return userRepository.existsByEmail(email);
+        if (!availabilityFilter.mightContainEmail(email)) {
+            return false;
+        }
+        boolean exists = userRepository.existsByEmail(email);
+        if (!exists) {
+            availabilityFilter.recordEmailFalsePositive();
+        }
+        return exists;
     }
 
     /**
@@ -166,38 +235,36 @@ public class UserServiceImpl implements UserService {
      * 1. 根據電子郵件查找用戶
      * 2. 刪除該用戶現有的令牌，避免多個有效令牌
      * 3. 創建新的重設令牌
-     * 4. 設置令牌過期時間為24小時後
+     * 4. 設置令牌過期時間（默認24小時後）
      * 5. 保存令牌
-     * 6. 發送含有重設連結的郵件
+     * 6. 將含有重設連結的郵件連同請求語言寫入發件箱，事務提交後由後台發送
      * 
      * @param email 用戶的電子郵件
-     * @throws RuntimeException 如果電子郵件不存在或發送失敗
+     * @throws NotFoundException 如果電子郵件不存在
      */
     @Override
     @Transactional  // 確保整個操作是原子的，要麼全部成功，要麼全部失敗
     public void initiatePasswordReset(String email) {
-        try {
-            // 查找用戶，如果不存在則拋出異常
-            User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("找不到此信箱關聯的帳號"));
-                
-            // 刪除該用戶現有的重設令牌
-            tokenRepository.deleteByUser_Id(user.getId());
-            
-            // 創建新的重設令牌
-            String token = UUID.randomUUID().toString();
-            PasswordResetToken resetToken = new PasswordResetToken();
-            resetToken.setUser(user);
-            resetToken.setToken(token);
-            resetToken.setExpiryDate(LocalDateTime.now().plusHours(24));  // 令牌24小時後過期
-            
-            tokenRepository.save(resetToken);
+        // 查找用戶，如果不存在則拋出異常
+        User user = userRepository.findByEmail(email)
+            .orElseThrow(() -> new NotFoundException("找不到此信箱關聯的帳號"));
             
-            // 發送重設密碼郵件
-            emailService.sendPasswordResetEmail(user.getEmail(), token);
-        } catch (Exception e) {
-            throw new RuntimeException("密碼重設郵件發送失敗: " + e.getMessage());
-        }
+        // 刪除該用戶現有的重設令牌
+        tokenRepository.deleteByUserId(user.getId());
+        
+        // 創建新的重設令牌
+        // 原始令牌只出現在郵件中，數據庫只保存其雜湊
+        String token = ResetTokens.newToken();
+        PasswordResetToken resetToken = new PasswordResetToken();
+        resetToken.setUser(user);
+        resetToken.setTokenHash(ResetTokens.hash(token));
+        resetToken.setExpiryDate(LocalDateTime.now().plusHours(tokenValidityHours));  // 令牌默認24小時後過期
+        
+        tokenRepository.save(resetToken);
+        
+        // 將重設密碼郵件寫入發件箱，與令牌在同一事務中提交
+        // 郵件由後台發送，這裡的失敗只可能來自數據庫，直接向上拋出並回滾事務
+        emailOutboxService.enqueuePasswordReset(user.getEmail(), token, LocaleContextHolder.getLocale());
     }
 
     /**
@@ -205,21 +272,19 @@ public class UserServiceImpl implements UserService {
      * 檢查令牌是否有效且未過期
      * 
      * @param token 密碼重設令牌
-     * @throws RuntimeException 如果令牌無效或已過期
+     * @throws InvalidRequestException 如果令牌無效或已過期
      */
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public void validatePasswordResetToken(String token) {
-        // 查找令牌
-        PasswordResetToken resetToken = tokenRepository.findByToken(token);
-        if (resetToken == null) {
-            throw new RuntimeException("無效的重設連結");
-        }
+        // 按令牌雜湊查找，只讀取過期時間，不加載用戶
+        PasswordResetTokenRepository.TokenExpiry resetToken = tokenRepository
+            .findExpiryByTokenHash(ResetTokens.hash(token))
+            .orElseThrow(() -> new InvalidRequestException("無效的重設連結"));
         
-        // 檢查令牌是否過期
-        if (resetToken.isExpired()) {
-            tokenRepository.delete(resetToken);  // 刪除過期令牌
-            throw new RuntimeException("重設連結已過期");
+        // 檢查令牌是否過期，過期令牌由 PasswordResetTokenCleaner 定期清除
+        if (LocalDateTime.now().isAfter(resetToken.getExpiryDate())) {
+            throw new InvalidRequestException("重設連結已過期");
         }
     }
 
@@ -229,34 +294,47 @@ public class UserServiceImpl implements UserService {
      * 業務邏輯:
      * 1. 驗證令牌有效性
      * 2. 檢查新密碼是否與舊密碼相同
-     * 3. 更新用戶密碼
-     * 4. 刪除已使用的令牌
+     * 3. 加密新密碼
+     * 4. 在短事務中刪除已使用的令牌並更新用戶密碼
+     * 
+     * 步驟 2、3 的 BCrypt 運算可能要在雜湊執行緒池中排隊，因此不放在事務中，
+     * 等待期間不佔用數據庫連接。
      * 
      * @param token 密碼重設令牌
      * @param newPassword 新密碼
-     * @throws RuntimeException 如果令牌無效或密碼不符合規則
+     * @throws InvalidRequestException 如果令牌無效或密碼不符合規則
      */
     @Override
-    @Transactional
     public void resetPassword(String token, String newPassword) {
-        // 查找並驗證令牌
-        PasswordResetToken resetToken = tokenRepository.findByToken(token);
+        String tokenHash = ResetTokens.hash(token);
+        
+        // 查找並驗證令牌，同時加載用戶
+        PasswordResetToken resetToken = tokenRepository.findWithUserByTokenHash(tokenHash)
+            .orElse(null);
         if (resetToken == null || resetToken.isExpired()) {
-            throw new RuntimeException("無效的重設連結");
+            throw new InvalidRequestException("無效的重設連結");
         }
         
-        User user = resetToken.getUser();
+        Long userId = resetToken.getUser().getId();
         
         // 檢查新密碼是否與舊密碼相同
-        if (passwordEncoder.matches(newPassword, user.getPassword())) {
-            throw new RuntimeException("新密碼不能與舊密碼相同");
+        if (passwordHashingService.matches(newPassword, resetToken.getUser().getPassword())) {
+            throw new InvalidRequestException("新密碼不能與舊密碼相同");
         }
         
-        // 更新用戶密碼
-        user.setPassword(passwordEncoder.encode(newPassword));
-        userRepository.save(user);
+        String encodedPassword = passwordHashingService.encode(newPassword);
         
-        // 刪除已使用的令牌
-        tokenRepository.delete(resetToken);
+        transactionTemplate.executeWithoutResult(status -> {
+            // 刪除已使用的令牌；令牌已被並發的重設請求使用時不更新密碼
+            if (tokenRepository.deleteByTokenHash(tokenHash) == 0) {
+                throw new InvalidRequestException("無效的重設連結");
+            }
+            
+            // 更新用戶密碼
+            User user = userRepository.findById(userId)
+                .orElseThrow(() -> new InvalidRequestException("無效的重設連結"));
+            user.setPassword(encodedPassword);
+            userRepository.save(user);
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.example.todolist.session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * JDBC 會話清理任務
+ *
+ * 取代 Spring Session 內建的單條 DELETE 清理（已通過 cleanup-cron=- 停用）。
+ * 每次只刪除一批過期會話（經由 EXPIRY_TIME 索引），直到沒有剩餘或達到批次上限，
+ * 避免一次大刪除長時間鎖住會話表，影響正在登入或讀取會話的請求。
+ * 會話屬性表通過外鍵的 ON DELETE CASCADE 一併刪除。
+ */
+@Component
+@ConditionalOnProperty(name = "app.session.store", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcSessionCleaner {
+
+    /**
+     * 日誌記錄器
+     */
+    private static final Logger logger = LoggerFactory.getLogger(JdbcSessionCleaner.class);
+
+    /**
+     * 分批刪除過期會話的 SQL
+     */
+    private static final String DELETE_EXPIRED_BATCH =
+            "DELETE FROM SPRING_SESSION WHERE EXPIRY_TIME < ? LIMIT ?";
+
+    /**
+     * JDBC 操作模板
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 每批刪除的數量
+     */
+    private final int batchSize;
+
+    /**
+     * 每次執行最多刪除的批數
+     */
+    private final int maxBatches;
+
+    /**
+     * 構造器注入
+     *
+     * @param jdbcTemplate JDBC 操作模板
+     * @param batchSize 每批刪除的數量
+     * @param maxBatches 每次執行最多刪除的批數
+     */
+    public JdbcSessionCleaner(JdbcTemplate jdbcTemplate,
+            @Value("${app.session.cleanup-batch-size:1000}") int batchSize,
+            @Value("${app.session.cleanup-max-batches:50}") int maxBatches) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    /**
+     * 定期分批清除過期會話
+     */
+    @Scheduled(fixedDelayString = "${app.session.cleanup-interval-ms:60000}")
+    public void cleanUpExpiredSessions() {
+        long now = System.currentTimeMillis();
+        int total = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            int deleted = jdbcTemplate.update(DELETE_EXPIRED_BATCH, now, batchSize);
+            total += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            logger.debug("Removed {} expired sessions", total);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.todolist.session;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.GenericConverter;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+
+import com.example.todolist.model.dto.UserResponseDTO;
+
+/**
+ * 會話屬性序列化轉換器
+ *
+ * 供 Spring Session 在寫入/讀取共享會話存儲時轉換屬性值。
+ * 登入用戶（UserResponseDTO）使用 SessionPrincipalCodec 的緊湊二進位格式，
+ * 其他屬性仍使用 Java 序列化。第一個位元組為類型標記，用於解碼時區分格式。
+ */
+public class SessionAttributeConverter implements GenericConverter {
+
+    /**
+     * 類型標記：Java 序列化
+     */
+    private static final byte TAG_JAVA = 0;
+
+    /**
+     * 類型標記：登入用戶緊湊編碼
+     */
+    private static final byte TAG_PRINCIPAL = 1;
+
+    /**
+     * Java 序列化器
+     */
+    private final SerializingConverter serializer = new SerializingConverter();
+
+    /**
+     * Java 反序列化器
+     */
+    private final DeserializingConverter deserializer;
+
+    /**
+     * 建構子
+     *
+     * @param classLoader 反序列化時使用的類加載器
+     */
+    public SessionAttributeConverter(ClassLoader classLoader) {
+        this.deserializer = new DeserializingConverter(classLoader);
+    }
+
+    @Override
+    public Set<ConvertiblePair> getConvertibleTypes() {
+        return Set.of(new ConvertiblePair(Object.class, byte[].class),
+                new ConvertiblePair(byte[].class, Object.class));
+    }
+
+    @Override
+    public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+        if (source == null) {
+            return null;
+        }
+        if (byte[].class.equals(targetType.getType())) {
+            return serialize(source);
+        }
+        return deserialize((byte[]) source);
+    }
+
+    /**
+     * 序列化屬性值
+     *
+     * @param value 屬性值
+     * @return 帶類型標記的位元組
+     */
+    private byte[] serialize(Object value) {
+        if (value instanceof UserResponseDTO) {
+            return withTag(TAG_PRINCIPAL, SessionPrincipalCodec.encode((UserResponseDTO) value));
+        }
+        return withTag(TAG_JAVA, serializer.convert(value));
+    }
+
+    /**
+     * 反序列化屬性值
+     *
+     * @param bytes 帶類型標記的位元組
+     * @return 屬性值
+     */
+    private Object deserialize(byte[] bytes) {
+        if (bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] == TAG_PRINCIPAL) {
+            return SessionPrincipalCodec.decode(bytes, 1, bytes.length - 1);
+        }
+        return deserializer.convert(Arrays.copyOfRange(bytes, 1, bytes.length));
+    }
+
+    private static byte[] withTag(byte tag, byte[] payload) {
+        byte[] result = new byte[payload.length + 1];
+        result[0] = tag;
+        System.arraycopy(payload, 0, result, 1, payload.length);
+        return result;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.todolist.session;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+
+/**
+ * 會話存儲配置類
+ *
+ * 會話由 Spring Session 管理，控制器仍然透過 HttpSession 使用，存儲方式可插拔：
+ * - app.session.store=jdbc（默認）：存放在現有數據源的 SPRING_SESSION 表，
+ *   多個應用實例共享，無需黏性會話，重啟後登入狀態仍然保留
+ * - app.session.store=memory：分片的記憶體存儲，只適用於單節點或開發環境
+ *
+ * 同一請求內 Spring Session 只讀取一次會話並緩存在請求中，
+ * 屬性值也只在第一次 getAttribute 時反序列化。
+ */
+@Configuration
+public class SessionConfig implements BeanClassLoaderAware {
+
+    /**
+     * 類加載器，用於反序列化會話屬性
+     */
+    private ClassLoader classLoader;
+
+    @Override
+    public void setBeanClassLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * 會話屬性轉換服務
+     * Spring Session JDBC 按名稱 springSessionConversionService 查找，
+     * 以緊湊二進位格式存放登入用戶
+     *
+     * @return 轉換服務
+     */
+    @Bean
+    public ConversionService springSessionConversionService() {
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(new SessionAttributeConverter(classLoader));
+        return conversionService;
+    }
+
+    /**
+     * 記憶體會話存儲配置
+     * 定義了 SessionRepository 後，Spring Boot 的 JDBC 會話自動配置會自動退出
+     */
+    @Configuration
+    @EnableSpringHttpSession
+    @ConditionalOnProperty(name = "app.session.store", havingValue = "memory")
+    static class InMemorySessionConfig {
+
+        private static final Logger logger = LoggerFactory.getLogger(InMemorySessionConfig.class);
+
+        /**
+         * 分片記憶體會話存儲
+         */
+        private final ShardedMapSessionRepository repository;
+
+        /**
+         * 每個分片每次最多清除的過期會話數
+         */
+        private final int cleanupBatchSize;
+
+        /**
+         * 構造器注入配置
+         *
+         * @param shards 分片數量
+         * @param timeout 會話閒置逾時
+         * @param cleanupBatchSize 每個分片每次最多清除的過期會話數
+         */
+        InMemorySessionConfig(@Value("${app.session.memory.shards:16}") int shards,
+                @Value("${server.servlet.session.timeout:30m}") Duration timeout,
+                @Value("${app.session.cleanup-batch-size:1000}") int cleanupBatchSize) {
+            this.repository = new ShardedMapSessionRepository(shards, timeout);
+            this.cleanupBatchSize = cleanupBatchSize;
+        }
+
+        /**
+         * 註冊分片記憶體會話存儲
+         *
+         * @return 會話存儲
+         */
+        @Bean
+        public ShardedMapSessionRepository sessionRepository() {
+            return repository;
+        }
+
+        /**
+         * 定期分批清除過期會話
+         */
+        @Scheduled(fixedDelayString = "${app.session.cleanup-interval-ms:60000}")
+        public void cleanUpExpiredSessions() {
+            int removed = repository.cleanUpExpiredSessions(cleanupBatchSize);
+            if (removed > 0) {
+                logger.debug("Removed {} expired in-memory sessions", removed);
+            }
+        }
+    }
+}
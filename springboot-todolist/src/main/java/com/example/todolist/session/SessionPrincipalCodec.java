@@ -0,0 +1,125 @@
+package com.example.todolist.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import com.example.todolist.model.dto.UserResponseDTO;
+
+/**
+ * 會話登入用戶的緊湊二進位編碼
+ *
+ * 會話中的 UserResponseDTO 每個請求都會被讀取，存放在數據庫時也會隨會話寫回。
+ * 這裡以固定欄位順序寫出，一筆通常不到 100 位元組，
+ * 遠小於 Java 序列化附帶的類描述信息，也不要求 DTO 實現 Serializable。
+ *
+ * 格式：版本(1) | 欄位存在位元遮罩(1) | id(8) | username(UTF) | email(UTF)
+ *      | createTime(秒 8 + 納秒 4) | updateTime(秒 8 + 納秒 4)
+ * 只寫出存在的欄位。
+ */
+public final class SessionPrincipalCodec {
+
+    /**
+     * 編碼格式版本，欄位變更時遞增
+     */
+    private static final byte VERSION = 1;
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_USERNAME = 1 << 1;
+    private static final int HAS_EMAIL = 1 << 2;
+    private static final int HAS_CREATE_TIME = 1 << 3;
+    private static final int HAS_UPDATE_TIME = 1 << 4;
+
+    private SessionPrincipalCodec() {
+    }
+
+    /**
+     * 編碼登入用戶
+     *
+     * @param user 登入用戶
+     * @return 編碼後的位元組
+     */
+    public static byte[] encode(UserResponseDTO user) {
+        int flags = (user.getId() != null ? HAS_ID : 0)
+                | (user.getUsername() != null ? HAS_USERNAME : 0)
+                | (user.getEmail() != null ? HAS_EMAIL : 0)
+                | (user.getCreateTime() != null ? HAS_CREATE_TIME : 0)
+                | (user.getUpdateTime() != null ? HAS_UPDATE_TIME : 0);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(flags);
+            if ((flags & HAS_ID) != 0) {
+                out.writeLong(user.getId());
+            }
+            if ((flags & HAS_USERNAME) != 0) {
+                out.writeUTF(user.getUsername());
+            }
+            if ((flags & HAS_EMAIL) != 0) {
+                out.writeUTF(user.getEmail());
+            }
+            if ((flags & HAS_CREATE_TIME) != 0) {
+                writeTime(out, user.getCreateTime());
+            }
+            if ((flags & HAS_UPDATE_TIME) != 0) {
+                writeTime(out, user.getUpdateTime());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 解碼登入用戶
+     *
+     * @param data 編碼後的位元組
+     * @param offset 起始位置
+     * @param length 長度
+     * @return 登入用戶
+     */
+    public static UserResponseDTO decode(byte[] data, int offset, int length) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, offset, length))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported session principal version: " + version);
+            }
+            int flags = in.readUnsignedByte();
+            UserResponseDTO user = new UserResponseDTO();
+            if ((flags & HAS_ID) != 0) {
+                user.setId(in.readLong());
+            }
+            if ((flags & HAS_USERNAME) != 0) {
+                user.setUsername(in.readUTF());
+            }
+            if ((flags & HAS_EMAIL) != 0) {
+                user.setEmail(in.readUTF());
+            }
+            if ((flags & HAS_CREATE_TIME) != 0) {
+                user.setCreateTime(readTime(in));
+            }
+            if ((flags & HAS_UPDATE_TIME) != 0) {
+                user.setUpdateTime(readTime(in));
+            }
+            return user;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        long seconds = in.readLong();
+        int nanos = in.readInt();
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+}
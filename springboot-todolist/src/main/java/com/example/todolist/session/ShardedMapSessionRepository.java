@@ -0,0 +1,133 @@
+package com.example.todolist.session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.session.MapSession;
+import org.springframework.session.SessionRepository;
+
+/**
+ * 分片的記憶體會話存儲
+ *
+ * 把會話按 ID 的雜湊值分散到多個 ConcurrentHashMap 中，
+ * 清理過期會話時逐個分片分批處理，不會長時間佔用單一大表。
+ * 只適用於單節點部署或開發環境；多節點部署請使用 JDBC 存儲。
+ *
+ * 與 Spring Session 的 MapSessionRepository 一樣，保存和讀取時都複製一份，
+ * 請求中對會話的修改要到 save 時才生效。
+ */
+public class ShardedMapSessionRepository implements SessionRepository<MapSession> {
+
+    /**
+     * 會話分片
+     */
+    private final Map<String, MapSession>[] shards;
+
+    /**
+     * 新會話的默認閒置逾時
+     */
+    private final Duration defaultMaxInactiveInterval;
+
+    /**
+     * 創建分片會話存儲
+     *
+     * @param shardCount 分片數量
+     * @param defaultMaxInactiveInterval 新會話的默認閒置逾時
+     */
+    @SuppressWarnings("unchecked")
+    public ShardedMapSessionRepository(int shardCount, Duration defaultMaxInactiveInterval) {
+        this.shards = new Map[Math.max(1, shardCount)];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+    }
+
+    @Override
+    public MapSession createSession() {
+        MapSession session = new MapSession();
+        session.setMaxInactiveInterval(defaultMaxInactiveInterval);
+        return session;
+    }
+
+    @Override
+    public void save(MapSession session) {
+        // 會話 ID 被更換（例如登入後防止會話固定攻擊）時移除舊 ID
+        if (!session.getId().equals(session.getOriginalId())) {
+            shardFor(session.getOriginalId()).remove(session.getOriginalId());
+        }
+        shardFor(session.getId()).put(session.getId(), new MapSession(session));
+    }
+
+    @Override
+    public MapSession findById(String id) {
+        Map<String, MapSession> shard = shardFor(id);
+        MapSession saved = shard.get(id);
+        if (saved == null) {
+            return null;
+        }
+        if (saved.isExpired()) {
+            shard.remove(id, saved);
+            return null;
+        }
+        return new MapSession(saved);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        shardFor(id).remove(id);
+    }
+
+    /**
+     * 分批清除過期會話
+     * 每個分片最多清除 batchSize 筆，剩餘的留到下次執行
+     *
+     * @param batchSize 每個分片每次最多清除的數量
+     * @return 本次清除的會話數
+     */
+    public int cleanUpExpiredSessions(int batchSize) {
+        Instant now = Instant.now();
+        int removed = 0;
+        for (Map<String, MapSession> shard : shards) {
+            int removedInShard = 0;
+            Iterator<MapSession> iterator = shard.values().iterator();
+            while (iterator.hasNext() && removedInShard < batchSize) {
+                MapSession session = iterator.next();
+                if (isExpired(session, now)) {
+                    iterator.remove();
+                    removedInShard++;
+                }
+            }
+            removed += removedInShard;
+        }
+        return removed;
+    }
+
+    /**
+     * 當前保存的會話數
+     *
+     * @return 會話數
+     */
+    public int size() {
+        int size = 0;
+        for (Map<String, MapSession> shard : shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    private Map<String, MapSession> shardFor(String id) {
+        return shards[Math.floorMod(id.hashCode(), shards.length)];
+    }
+
+    private static boolean isExpired(MapSession session, Instant now) {
+        Duration maxInactive = session.getMaxInactiveInterval();
+        if (maxInactive.isNegative()) {
+            return false;
+        }
+        return now.minus(maxInactive).isAfter(session.getLastAccessedTime());
+    }
+}
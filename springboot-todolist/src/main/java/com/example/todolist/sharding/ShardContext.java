@@ -0,0 +1,50 @@
+package com.example.todolist.sharding;
+
+/**
+ * 當前線程的分片上下文
+ *
+ * 由 ShardRoutingAspect 在調用按用戶分片的服務方法前設置，ShardRoutingDataSource 據此選擇連接池。
+ * 未設置時使用目錄庫。
+ */
+public final class ShardContext {
+
+    /**
+     * 當前線程使用的分片
+     */
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return 當前分片，未設置時返回 null
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 設置當前分片
+     *
+     * @param shard 分片編號
+     * @return 設置前的分片，供 restore 恢復
+     */
+    public static Integer set(Integer shard) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    /**
+     * 恢復之前的分片
+     *
+     * @param previous set 返回的分片
+     */
+    public static void restore(Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
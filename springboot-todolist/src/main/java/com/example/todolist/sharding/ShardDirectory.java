@@ -0,0 +1,149 @@
+package com.example.todolist.sharding;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.todolist.exception.ServiceBusyException;
+
+/**
+ * 分片目錄
+ *
+ * 在目錄庫的 user_shard 表中記錄每個用戶的數據所在的分片。
+ * 用戶第一次訪問分片數據時按 user_id 的雜湊分配分片並寫入目錄，之後只在遷移時改變。
+ * 查詢結果在記憶體中緩存一段時間，遷移工具在改變目錄後至少等待這段時間，
+ * 讓其他實例的緩存過期後才開始複製數據。
+ */
+public class ShardDirectory {
+
+    /**
+     * 目錄庫
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 分片數量
+     */
+    private final int shardCount;
+
+    /**
+     * 緩存有效期（納秒）
+     */
+    private final long cacheTtlNanos;
+
+    /**
+     * 遷移期間返回 503 時的 Retry-After 秒數
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * 緩存的目錄條目
+     */
+    private final ConcurrentHashMap<Long, Placement> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 構造器
+     *
+     * @param jdbcTemplate 目錄庫
+     * @param shardCount 分片數量
+     * @param cacheTtlMillis 緩存有效期（毫秒）
+     * @param retryAfterSeconds 遷移期間返回 503 時的 Retry-After 秒數
+     */
+    public ShardDirectory(JdbcTemplate jdbcTemplate, int shardCount, long cacheTtlMillis, long retryAfterSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardCount = shardCount;
+        this.cacheTtlNanos = TimeUnit.MILLISECONDS.toNanos(cacheTtlMillis);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * 取得用戶數據所在的分片，用於路由
+     *
+     * @param userId 用戶 ID
+     * @return 分片編號
+     * @throws ServiceBusyException 如果該用戶的數據正在遷移
+     */
+    public int shardFor(Long userId) {
+        Placement placement = cache.get(userId);
+        if (placement == null || System.nanoTime() - placement.loadedAt() > cacheTtlNanos) {
+            placement = load(userId);
+            cache.put(userId, placement);
+        }
+        if (placement.moving()) {
+            throw new ServiceBusyException("用戶數據正在遷移，請稍後再試", retryAfterSeconds);
+        }
+        return placement.shard();
+    }
+
+    /**
+     * 從目錄庫讀取用戶的分片，不使用緩存
+     * 目錄中沒有該用戶時按雜湊分配並寫入
+     *
+     * @param userId 用戶 ID
+     * @return 目錄條目
+     */
+    public Placement load(Long userId) {
+        Placement placement = find(userId);
+        if (placement != null) {
+            return placement;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO user_shard (user_id, shard_index, moving) VALUES (?, ?, FALSE)",
+                    userId, Math.floorMod(Long.hashCode(userId), shardCount));
+        } catch (DuplicateKeyException e) {
+            // 其他請求已同時分配，以已寫入的為準
+        }
+        return find(userId);
+    }
+
+    /**
+     * 標記用戶數據開始遷移，之後該用戶的請求返回 503
+     *
+     * @param userId 用戶 ID
+     */
+    public void markMoving(Long userId) {
+        jdbcTemplate.update("UPDATE user_shard SET moving = TRUE WHERE user_id = ?", userId);
+        cache.remove(userId);
+    }
+
+    /**
+     * 遷移完成或放棄後，將用戶指向給定分片並恢復讀寫
+     *
+     * @param userId 用戶 ID
+     * @param shard 分片編號
+     */
+    public void markActive(Long userId, int shard) {
+        jdbcTemplate.update("UPDATE user_shard SET shard_index = ?, moving = FALSE WHERE user_id = ?", shard, userId);
+        cache.remove(userId);
+    }
+
+    /**
+     * @return 分片數量
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * 查詢目錄條目
+     */
+    private Placement find(Long userId) {
+        List<Placement> rows = jdbcTemplate.query("SELECT shard_index, moving FROM user_shard WHERE user_id = ?",
+                (rs, rowNum) -> new Placement(rs.getInt("shard_index"), rs.getBoolean("moving"), System.nanoTime()),
+                userId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * 目錄條目
+     *
+     * @param shard 分片編號
+     * @param moving 是否正在遷移
+     * @param loadedAt 讀取時間（System.nanoTime）
+     */
+    public record Placement(int shard, boolean moving, long loadedAt) {
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.todolist.sharding;
+
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 分片遷移工具
+ *
+ * 將一個用戶的所有分片數據移到另一個分片，其他用戶不受影響：
+ * 1. 在目錄中標記該用戶正在遷移，之後該用戶的請求返回 503
+ * 2. 等待其他實例的目錄緩存過期、進行中的請求完成
+ * 3. 在一個事務中把數據原樣複製到目標分片（先清除目標分片上可能殘留的舊數據）
+ * 4. 目錄指向目標分片並恢復讀寫
+ * 5. 刪除來源分片上的數據
+ * 中途失敗時目錄恢復指向來源分片，可以直接重新執行。
+ */
+public class ShardRebalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    /**
+     * 按用戶分片的表，都以 user_id 作為分片鍵
+     */
+    static final List<String> SHARDED_TABLES = List.of("todo", "transactions", "collection_version");
+
+    /**
+     * 分片目錄
+     */
+    private final ShardDirectory shardDirectory;
+
+    /**
+     * 各分片，下標即分片編號
+     */
+    private final List<DataSource> shards;
+
+    /**
+     * 標記遷移後開始複製前的等待時間（毫秒）
+     */
+    private final long settleMillis;
+
+    /**
+     * 構造器
+     *
+     * @param shardDirectory 分片目錄
+     * @param shards 各分片，下標即分片編號
+     * @param settleMillis 標記遷移後開始複製前的等待時間（毫秒），應大於目錄緩存有效期加上最長的請求時間
+     */
+    public ShardRebalancer(ShardDirectory shardDirectory, List<DataSource> shards, long settleMillis) {
+        this.shardDirectory = shardDirectory;
+        this.shards = List.copyOf(shards);
+        this.settleMillis = settleMillis;
+    }
+
+    /**
+     * 將用戶的數據移到目標分片
+     *
+     * @param userId 用戶 ID
+     * @param target 目標分片編號
+     * @return 每個表移動的行數
+     * @throws IllegalArgumentException 如果目標分片不存在
+     * @throws InterruptedException 如果等待期間被中斷
+     */
+    public synchronized Map<String, Integer> move(Long userId, int target) throws InterruptedException {
+        if (target < 0 || target >= shards.size()) {
+            throw new IllegalArgumentException("分片不存在: " + target);
+        }
+        int source = shardDirectory.load(userId).shard();
+        if (source == target) {
+            return Collections.emptyMap();
+        }
+
+        shardDirectory.markMoving(userId);
+        Map<String, Integer> moved;
+        try {
+            Thread.sleep(settleMillis);
+            moved = copy(userId, shards.get(source), shards.get(target));
+        } catch (InterruptedException | RuntimeException e) {
+            shardDirectory.markActive(userId, source);
+            throw e;
+        }
+        shardDirectory.markActive(userId, target);
+
+        // 目錄已指向目標分片，來源分片上的數據不再被讀取，刪除失敗只留下孤立數據，下次遷移時會被清除
+        try {
+            deleteUserRows(new JdbcTemplate(shards.get(source)), userId);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to delete rows of user {} from shard {}: {}", userId, source, e.getMessage());
+        }
+        logger.info("Moved user {} from shard {} to shard {}: {}", userId, source, target, moved);
+        return moved;
+    }
+
+    /**
+     * 在目標分片的一個事務中複製用戶的所有數據
+     */
+    private Map<String, Integer> copy(Long userId, DataSource from, DataSource to) {
+        JdbcTemplate source = new JdbcTemplate(from);
+        JdbcTemplate target = new JdbcTemplate(to);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(to));
+        return transaction.execute(status -> {
+            deleteUserRows(target, userId);
+            Map<String, Integer> moved = new LinkedHashMap<>();
+            for (String table : SHARDED_TABLES) {
+                moved.put(table, copyTable(source, target, table, userId));
+            }
+            return moved;
+        });
+    }
+
+    /**
+     * 原樣複製一個表中屬於該用戶的行，包括主鍵
+     */
+    private static int copyTable(JdbcTemplate source, JdbcTemplate target, String table, Long userId) {
+        List<String> columns = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        source.query("SELECT * FROM " + table + " WHERE user_id = ?", rs -> {
+            ResultSetMetaData metaData = rs.getMetaData();
+            if (columns.isEmpty()) {
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    columns.add(metaData.getColumnLabel(i));
+                }
+            }
+            Object[] row = new Object[columns.size()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            rows.add(row);
+        }, userId);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        target.batchUpdate(sql, rows);
+        return rows.size();
+    }
+
+    /**
+     * 刪除一個分片上屬於該用戶的所有行
+     */
+    private static void deleteUserRows(JdbcTemplate jdbcTemplate, Long userId) {
+        for (String table : SHARDED_TABLES) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE user_id = ?", userId);
+        }
+    }
+}
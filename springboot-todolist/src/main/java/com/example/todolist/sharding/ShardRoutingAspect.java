@@ -0,0 +1,80 @@
+package com.example.todolist.sharding;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * 分片路由切面
+ *
+ * 攔截待辦事項、交易記錄和列表版本服務中帶有 userId 參數的公開方法，
+ * 按分片目錄設置當前線程的分片後再執行。優先級最高，在事務開始之前設置，
+ * 事務取得的連接即來自該用戶的分片。
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ShardRoutingAspect {
+
+    /**
+     * 分片鍵參數的名稱
+     */
+    private static final String USER_ID = "userId";
+
+    /**
+     * 分片目錄
+     */
+    private final ShardDirectory shardDirectory;
+
+    /**
+     * 構造器
+     *
+     * @param shardDirectory 分片目錄
+     */
+    public ShardRoutingAspect(ShardDirectory shardDirectory) {
+        this.shardDirectory = shardDirectory;
+    }
+
+    /**
+     * 在用戶的分片上執行服務方法
+     * 沒有 userId 參數的方法（例如事件監聽和定時任務）保持原來的上下文
+     *
+     * @param joinPoint 連接點
+     * @return 方法的返回值
+     * @throws Throwable 方法拋出的異常
+     */
+    @Around("execution(public * com.example.todolist.service.TodoService+.*(..))"
+            + " || execution(public * com.example.todolist.service.TransactionService+.*(..))"
+            + " || execution(public * com.example.todolist.service.CollectionVersionService.*(..))")
+    public Object routeByUser(ProceedingJoinPoint joinPoint) throws Throwable {
+        Long userId = userIdArgument(joinPoint);
+        if (userId == null) {
+            return joinPoint.proceed();
+        }
+        Integer previous = ShardContext.set(shardDirectory.shardFor(userId));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    /**
+     * 取得名為 userId 的 Long 參數
+     */
+    private static Long userIdArgument(ProceedingJoinPoint joinPoint) {
+        String[] names = ((MethodSignature) joinPoint.getSignature()).getParameterNames();
+        Object[] args = joinPoint.getArgs();
+        if (names == null) {
+            return null;
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (USER_ID.equals(names[i]) && args[i] instanceof Long) {
+                return (Long) args[i];
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.todolist.sharding;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * 分片路由數據源
+ *
+ * 當前線程設置了分片時使用該分片的連接池，否則使用目錄庫。
+ * 目錄庫存放用戶、密碼重設令牌、會話和發件箱等全局數據，
+ * 各分片存放按 user_id 劃分的待辦事項、交易記錄和列表版本號。
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    /**
+     * 目錄庫的查找鍵
+     */
+    public static final String DIRECTORY = "directory";
+
+    /**
+     * 目錄庫
+     */
+    private final DataSource directory;
+
+    /**
+     * 各分片，下標即分片編號
+     */
+    private final List<DataSource> shards;
+
+    /**
+     * 構造器
+     *
+     * @param directory 目錄庫
+     * @param shards 各分片，下標即分片編號
+     */
+    public ShardRoutingDataSource(DataSource directory, List<DataSource> shards) {
+        this.directory = directory;
+        this.shards = List.copyOf(shards);
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(DIRECTORY, directory);
+        for (int i = 0; i < this.shards.size(); i++) {
+            targets.put(i, this.shards.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(directory);
+        // 未知的分片編號直接報錯，不退回目錄庫
+        setLenientFallback(false);
+    }
+
+    /**
+     * @return 目錄庫
+     */
+    public DataSource getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return 各分片，下標即分片編號
+     */
+    public List<DataSource> getShards() {
+        return shards;
+    }
+
+    /**
+     * 決定當前連接使用的數據源
+     *
+     * @return 分片編號或目錄庫的查找鍵
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = ShardContext.current();
+        return shard != null ? shard : DIRECTORY;
+    }
+
+    /**
+     * 關閉所有連接池
+     */
+    @Override
+    public void close() throws IOException {
+        for (DataSource dataSource : getResolvedDataSources().values()) {
+            if (dataSource instanceof Closeable) {
+                ((Closeable) dataSource).close();
+            }
+        }
+    }
+}
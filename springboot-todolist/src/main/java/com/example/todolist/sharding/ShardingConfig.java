@@ -0,0 +1,130 @@
+package com.example.todolist.sharding;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.example.todolist.datasource.HikariPools;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 分片配置類
+ *
+ * 啟用 app.sharding.enabled 後：
+ * - spring.datasource.* 指向目錄庫，存放用戶、令牌、會話、發件箱和分片目錄
+ * - app.sharding.urls 中的每個地址是一個分片，按順序編號，存放待辦事項、交易記錄和列表版本號
+ * 分片數量決定新用戶的分配，上線後只能增加分片並用遷移工具搬移用戶，不能減少或重新排序。
+ * 與讀寫分離（app.datasource.replica.enabled）不能同時啟用。
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    /**
+     * 分片路由數據源，作為應用唯一使用的數據源
+     *
+     * @param properties 目錄庫連接配置
+     * @param environment 用於綁定連接池設置
+     * @param meterRegistry 指標註冊表
+     * @param shardUrls 分片地址
+     * @param shardUsername 分片用戶名，默認與目錄庫相同
+     * @param shardPassword 分片密碼，默認與目錄庫相同
+     * @param initializeSchema 是否在啟動時建立目錄表和分片表
+     * @return 分片路由數據源
+     */
+    @Bean(destroyMethod = "close")
+    @Primary
+    public ShardRoutingDataSource dataSource(DataSourceProperties properties,
+            Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.sharding.urls}") List<String> shardUrls,
+            @Value("${app.sharding.username:${spring.datasource.username:}}") String shardUsername,
+            @Value("${app.sharding.password:${spring.datasource.password:}}") String shardPassword,
+            @Value("${app.sharding.initialize-schema:true}") boolean initializeSchema) {
+        DataSource directory = HikariPools.create(ShardRoutingDataSource.DIRECTORY, properties.determineDriverClassName(),
+                properties.determineUrl(), properties.determineUsername(), properties.determinePassword(),
+                environment, meterRegistry);
+        List<DataSource> shards = new ArrayList<>();
+        for (String url : shardUrls) {
+            shards.add(HikariPools.create("shard-" + shards.size(), properties.determineDriverClassName(), url.trim(),
+                    shardUsername, shardPassword, environment, meterRegistry));
+        }
+
+        if (initializeSchema) {
+            new ResourceDatabasePopulator(new ClassPathResource("db/shard/directory-schema.sql")).execute(directory);
+            ResourceDatabasePopulator shardSchema = new ResourceDatabasePopulator(new ClassPathResource("db/shard/shard-schema.sql"));
+            shards.forEach(shardSchema::execute);
+        }
+
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(directory, shards);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    /**
+     * 分片目錄
+     *
+     * @param dataSource 分片路由數據源
+     * @param cacheTtlMillis 目錄緩存有效期（毫秒）
+     * @param retryAfterSeconds 遷移期間返回 503 時的 Retry-After 秒數
+     * @return 分片目錄
+     */
+    @Bean
+    public ShardDirectory shardDirectory(ShardRoutingDataSource dataSource,
+            @Value("${app.sharding.directory-cache-ttl-ms:5000}") long cacheTtlMillis,
+            @Value("${app.sharding.move-retry-after-seconds:5}") long retryAfterSeconds) {
+        return new ShardDirectory(new JdbcTemplate(dataSource.getDirectory()), dataSource.getShards().size(),
+                cacheTtlMillis, retryAfterSeconds);
+    }
+
+    /**
+     * 分片路由切面
+     *
+     * @param shardDirectory 分片目錄
+     * @return 切面
+     */
+    @Bean
+    public ShardRoutingAspect shardRoutingAspect(ShardDirectory shardDirectory) {
+        return new ShardRoutingAspect(shardDirectory);
+    }
+
+    /**
+     * 分片遷移工具
+     *
+     * @param dataSource 分片路由數據源
+     * @param shardDirectory 分片目錄
+     * @param settleMillis 標記遷移後開始複製前的等待時間（毫秒）
+     * @return 遷移工具
+     */
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardRoutingDataSource dataSource, ShardDirectory shardDirectory,
+            @Value("${app.sharding.move-settle-ms:10000}") long settleMillis) {
+        return new ShardRebalancer(shardDirectory, dataSource.getShards(), settleMillis);
+    }
+
+    /**
+     * 分片管理端點
+     *
+     * @param shardDirectory 分片目錄
+     * @param shardRebalancer 遷移工具
+     * @return 端點
+     */
+    @Bean
+    public ShardsEndpoint shardsEndpoint(ShardDirectory shardDirectory, ShardRebalancer shardRebalancer) {
+        return new ShardsEndpoint(shardDirectory, shardRebalancer);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.todolist.sharding;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * 分片管理端點
+ *
+ * GET  /actuator/shards/{userId}            查詢用戶所在的分片
+ * POST /actuator/shards/{userId} {"target":1} 將用戶的數據移到目標分片
+ * 默認不對外暴露，需要時加入 management.endpoints.web.exposure.include，並只在管理端口上開放。
+ */
+@Endpoint(id = "shards")
+public class ShardsEndpoint {
+
+    /**
+     * 分片目錄
+     */
+    private final ShardDirectory shardDirectory;
+
+    /**
+     * 分片遷移工具
+     */
+    private final ShardRebalancer shardRebalancer;
+
+    /**
+     * 構造器
+     *
+     * @param shardDirectory 分片目錄
+     * @param shardRebalancer 分片遷移工具
+     */
+    public ShardsEndpoint(ShardDirectory shardDirectory, ShardRebalancer shardRebalancer) {
+        this.shardDirectory = shardDirectory;
+        this.shardRebalancer = shardRebalancer;
+    }
+
+    /**
+     * 查詢用戶所在的分片
+     *
+     * @param userId 用戶 ID
+     * @return 分片編號和是否正在遷移
+     */
+    @ReadOperation
+    public Map<String, Object> placement(@Selector Long userId) {
+        ShardDirectory.Placement placement = shardDirectory.load(userId);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("userId", userId);
+        result.put("shard", placement.shard());
+        result.put("moving", placement.moving());
+        return result;
+    }
+
+    /**
+     * 將用戶的數據移到目標分片
+     *
+     * @param userId 用戶 ID
+     * @param target 目標分片編號
+     * @return 每個表移動的行數
+     * @throws InterruptedException 如果等待期間被中斷
+     */
+    @WriteOperation
+    public Map<String, Object> move(@Selector Long userId, int target) throws InterruptedException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("userId", userId);
+        result.put("shard", target);
+        result.put("moved", shardRebalancer.move(userId, target));
+        return result;
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.todolist.throttle;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.todolist.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 登入與密碼重設限流服務
+ *
+ * 在 UserServiceImpl 執行 BCrypt 驗證、數據庫寫入或發送郵件之前，
+ * 按用戶名/信箱和客戶端 IP 兩個維度做令牌桶限流。
+ * 先檢查 IP，IP 已被限流時不再消耗或創建用戶名/信箱的桶，
+ * 單個客戶端無法以偽造的用戶名填滿用戶名的桶。
+ * 任一維度的令牌不足時直接拋出 TooManyRequestsException，返回 429。
+ * 密碼重設另有按信箱的冷卻期，冷卻期內的重複請求直接返回成功，不再執行重設流程。
+ */
+@Component
+public class AuthThrottleService {
+
+    /**
+     * 每個用戶名的登入嘗試
+     */
+    private final TokenBucketRegistry loginByUsername;
+
+    /**
+     * 每個 IP 的登入嘗試
+     */
+    private final TokenBucketRegistry loginByIp;
+
+    /**
+     * 每個信箱的密碼重設請求
+     */
+    private final TokenBucketRegistry resetByEmail;
+
+    /**
+     * 每個 IP 的密碼重設請求
+     */
+    private final TokenBucketRegistry resetByIp;
+
+    /**
+     * 每個信箱的密碼重設冷卻期
+     */
+    private final CooldownCache resetCooldown;
+
+    /**
+     * 閒置淘汰門檻（納秒）
+     */
+    private final long idleEvictNanos;
+
+    /**
+     * 被拒絕的登入請求數
+     */
+    private final Counter loginThrottled;
+
+    /**
+     * 被拒絕的密碼重設請求數
+     */
+    private final Counter resetThrottled;
+
+    /**
+     * 因冷卻期被略過的密碼重設請求數
+     */
+    private final Counter resetSuppressed;
+
+    /**
+     * 構造器注入配置
+     */
+    public AuthThrottleService(MeterRegistry meterRegistry,
+            @Value("${app.throttle.login.username.capacity:5}") double loginUsernameCapacity,
+            @Value("${app.throttle.login.username.refill-per-minute:5}") double loginUsernameRefill,
+            @Value("${app.throttle.login.ip.capacity:20}") double loginIpCapacity,
+            @Value("${app.throttle.login.ip.refill-per-minute:20}") double loginIpRefill,
+            @Value("${app.throttle.password-reset.email.capacity:3}") double resetEmailCapacity,
+            @Value("${app.throttle.password-reset.email.refill-per-minute:0.2}") double resetEmailRefill,
+            @Value("${app.throttle.password-reset.ip.capacity:10}") double resetIpCapacity,
+            @Value("${app.throttle.password-reset.ip.refill-per-minute:10}") double resetIpRefill,
+            @Value("${app.throttle.password-reset.cooldown-seconds:60}") long resetCooldownSeconds,
+            @Value("${app.throttle.max-entries:100000}") int maxEntries,
+            @Value("${app.throttle.idle-evict-minutes:30}") long idleEvictMinutes) {
+        this.loginByUsername = new TokenBucketRegistry(loginUsernameCapacity, loginUsernameRefill / 60d, maxEntries);
+        this.loginByIp = new TokenBucketRegistry(loginIpCapacity, loginIpRefill / 60d, maxEntries);
+        this.resetByEmail = new TokenBucketRegistry(resetEmailCapacity, resetEmailRefill / 60d, maxEntries);
+        this.resetByIp = new TokenBucketRegistry(resetIpCapacity, resetIpRefill / 60d, maxEntries);
+        this.resetCooldown = new CooldownCache(TimeUnit.SECONDS.toNanos(resetCooldownSeconds), maxEntries);
+        this.idleEvictNanos = TimeUnit.MINUTES.toNanos(idleEvictMinutes);
+
+        this.loginThrottled = Counter.builder("auth.throttled")
+                .tag("action", "login")
+                .description("Requests rejected by the authentication throttle")
+                .register(meterRegistry);
+        this.resetThrottled = Counter.builder("auth.throttled")
+                .tag("action", "password_reset")
+                .description("Requests rejected by the authentication throttle")
+                .register(meterRegistry);
+        this.resetSuppressed = Counter.builder("auth.password_reset.suppressed")
+                .description("Password reset requests answered from the per-email cooldown")
+                .register(meterRegistry);
+        Gauge.builder("auth.throttle.buckets", this, s -> s.loginByUsername.size() + s.loginByIp.size()
+                + s.resetByEmail.size() + s.resetByIp.size() + s.resetCooldown.size())
+                .description("Token buckets currently held by the authentication throttle")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 檢查登入請求是否超過配額
+     *
+     * @param clientIp 客戶端 IP
+     * @param username 用戶名
+     * @throws TooManyRequestsException 如果超過配額
+     */
+    public void checkLogin(String clientIp, String username) {
+        long wait = loginByIp.tryConsume(clientIp);
+        if (wait == 0) {
+            wait = loginByUsername.tryConsume(normalize(username));
+        }
+        if (wait > 0) {
+            loginThrottled.increment();
+            throw new TooManyRequestsException("登入嘗試過於頻繁，請稍後再試", toRetryAfterSeconds(wait));
+        }
+    }
+
+    /**
+     * 檢查密碼重設請求是否超過配額
+     *
+     * @param clientIp 客戶端 IP
+     * @param email 電子郵件
+     * @throws TooManyRequestsException 如果超過配額
+     */
+    public void checkPasswordReset(String clientIp, String email) {
+        long wait = resetByIp.tryConsume(clientIp);
+        if (wait == 0) {
+            wait = resetByEmail.tryConsume(normalize(email));
+        }
+        if (wait > 0) {
+            resetThrottled.increment();
+            throw new TooManyRequestsException("密碼重設請求過於頻繁，請稍後再試", toRetryAfterSeconds(wait));
+        }
+    }
+
+    /**
+     * 進入密碼重設冷卻期
+     * 同一信箱在冷卻期內的重複請求返回 false，調用方應直接返回成功而不再發起重設
+     *
+     * @param email 電子郵件
+     * @return true 表示應執行重設流程；false 表示仍在冷卻期內
+     */
+    public boolean tryEnterPasswordResetCooldown(String email) {
+        if (resetCooldown.tryEnter(normalize(email))) {
+            return true;
+        }
+        resetSuppressed.increment();
+        return false;
+    }
+
+    /**
+     * 取消信箱的密碼重設冷卻期
+     * 重設流程失敗時調用，允許用戶立即重試
+     *
+     * @param email 電子郵件
+     */
+    public void releasePasswordResetCooldown(String email) {
+        resetCooldown.release(normalize(email));
+    }
+
+    /**
+     * 定期清除閒置的令牌桶，限制記憶體佔用
+     */
+    @Scheduled(fixedDelayString = "${app.throttle.evict-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        loginByUsername.evictIdle(idleEvictNanos);
+        loginByIp.evictIdle(idleEvictNanos);
+        resetByEmail.evictIdle(idleEvictNanos);
+        resetByIp.evictIdle(idleEvictNanos);
+        resetCooldown.evictExpired();
+    }
+
+    /**
+     * 限流鍵不區分大小寫，避免以大小寫變化繞過限制
+     */
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 將等待納秒數轉為 Retry-After 秒數，至少 1 秒
+     */
+    private static long toRetryAfterSeconds(long waitNanos) {
+        if (waitNanos == Long.MAX_VALUE) {
+            return 3600L;
+        }
+        return Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.todolist.throttle;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 按鍵的冷卻時間快取
+ *
+ * 記錄每個鍵最近一次被放行的時間，冷卻期內的重複請求直接判定為重複，
+ * 不需要執行後續的數據庫查詢或郵件發送。保存的鍵數量有上限，
+ * 達到上限且無法清出過期鍵時，新鍵直接放行但不記錄，由令牌桶限流兜底。
+ */
+public class CooldownCache {
+
+    /**
+     * 每個鍵的冷卻結束時間（System.nanoTime）
+     */
+    private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+
+    /**
+     * 冷卻時間（納秒）
+     */
+    private final long cooldownNanos;
+
+    /**
+     * 最多保存的鍵數量
+     */
+    private final int maxEntries;
+
+    /**
+     * 創建冷卻快取
+     *
+     * @param cooldownNanos 冷卻時間（納秒）
+     * @param maxEntries 最多保存的鍵數量
+     */
+    public CooldownCache(long cooldownNanos, int maxEntries) {
+        this.cooldownNanos = cooldownNanos;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 嘗試放行指定的鍵，放行後開始新的冷卻期
+     *
+     * @param key 冷卻鍵
+     * @return true 表示放行；false 表示仍在冷卻期內
+     */
+    public boolean tryEnter(String key) {
+        long now = System.nanoTime();
+        if (!expiries.containsKey(key) && expiries.size() >= maxEntries && evictExpired() == 0) {
+            return true;
+        }
+        AtomicBoolean entered = new AtomicBoolean();
+        expiries.compute(key, (k, expiry) -> {
+            if (expiry != null && expiry - now > 0) {
+                return expiry;
+            }
+            entered.set(true);
+            return now + cooldownNanos;
+        });
+        return entered.get();
+    }
+
+    /**
+     * 取消指定鍵的冷卻，例如處理失敗後允許立即重試
+     *
+     * @param key 冷卻鍵
+     */
+    public void release(String key) {
+        expiries.remove(key);
+    }
+
+    /**
+     * 清除已過冷卻期的鍵
+     *
+     * @return 清除的鍵數量
+     */
+    public int evictExpired() {
+        long now = System.nanoTime();
+        int before = expiries.size();
+        expiries.values().removeIf(expiry -> expiry - now <= 0);
+        return Math.max(0, before - expiries.size());
+    }
+
+    /**
+     * 當前保存的鍵數量
+     *
+     * @return 鍵數量
+     */
+    public int size() {
+        return expiries.size();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.todolist.throttle;
+
+/**
+ * 令牌桶
+ *
+ * 以固定速率補充令牌，每次請求消耗一個令牌，令牌不足時拒絕。
+ * 容量決定允許的瞬間突發量，補充速率決定長期的平均速率。
+ * 每個桶只保護自己的狀態，臨界區很短，不同鍵之間互不競爭。
+ */
+public class TokenBucket {
+
+    /**
+     * 桶的容量（最多可累積的令牌數）
+     */
+    private final double capacity;
+
+    /**
+     * 每納秒補充的令牌數
+     */
+    private final double refillPerNano;
+
+    /**
+     * 當前令牌數
+     */
+    private double tokens;
+
+    /**
+     * 上次補充令牌的時間（納秒）
+     */
+    private long lastRefillNanos;
+
+    /**
+     * 上次被訪問的時間（納秒），用於閒置淘汰
+     */
+    private volatile long lastAccessNanos;
+
+    /**
+     * 創建一個已裝滿令牌的桶
+     *
+     * @param capacity 容量
+     * @param refillPerSecond 每秒補充的令牌數
+     * @param nowNanos 當前時間（納秒）
+     */
+    public TokenBucket(double capacity, double refillPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+        this.lastAccessNanos = nowNanos;
+    }
+
+    /**
+     * 嘗試消耗一個令牌
+     *
+     * @param nowNanos 當前時間（納秒）
+     * @return 0 表示成功；否則為距離下一個令牌可用的納秒數
+     */
+    public synchronized long tryConsume(long nowNanos) {
+        refill(nowNanos);
+        lastAccessNanos = nowNanos;
+        if (tokens >= 1d) {
+            tokens -= 1d;
+            return 0L;
+        }
+        if (refillPerNano <= 0d) {
+            return Long.MAX_VALUE;
+        }
+        return (long) Math.ceil((1d - tokens) / refillPerNano);
+    }
+
+    /**
+     * 桶是否已閒置超過指定時間且令牌已補滿
+     * 滿桶被淘汰後重新創建的效果相同，因此可以安全移除
+     *
+     * @param nowNanos 當前時間（納秒）
+     * @param idleNanos 閒置門檻（納秒）
+     * @return 可以淘汰時返回 true
+     */
+    public synchronized boolean isIdle(long nowNanos, long idleNanos) {
+        if (nowNanos - lastAccessNanos < idleNanos) {
+            return false;
+        }
+        refill(nowNanos);
+        return tokens >= capacity;
+    }
+
+    /**
+     * 上次被訪問的時間（納秒）
+     *
+     * @return 上次被訪問的時間
+     */
+    public long lastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    /**
+     * 依經過的時間補充令牌
+     *
+     * @param nowNanos 當前時間（納秒）
+     */
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * refillPerNano);
+            lastRefillNanos = nowNanos;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.todolist.throttle;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按鍵分組的令牌桶集合
+ *
+ * 以 ConcurrentHashMap 保存每個鍵（用戶名、信箱、IP、用戶 ID 等）的令牌桶，
+ * 並限制最多保存的桶數量。數量達到上限時從少量抽樣的桶中淘汰一個（近似 LRU）：
+ * 優先淘汰已補滿的桶（移除後重新創建的效果相同），否則淘汰樣本中最久未訪問的桶。
+ * 每個新鍵只付出固定的抽樣成本，不掃描或排序整個集合，新鍵總是得到自己的桶，
+ * 大量偽造的鍵不會撐爆記憶體，也不會讓其他鍵共用同一個桶而被一起限流。
+ * 多個線程同時淘汰時數量可能短暫超出上限少許。閒置且已補滿的桶另由 evictIdle 定期清除。
+ */
+public class TokenBucketRegistry {
+
+    /**
+     * 淘汰時抽樣的桶數量
+     */
+    private static final int EVICTION_SAMPLE_SIZE = 16;
+
+    /**
+     * 每個鍵的令牌桶
+     */
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * 桶的容量
+     */
+    private final double capacity;
+
+    /**
+     * 每秒補充的令牌數
+     */
+    private final double refillPerSecond;
+
+    /**
+     * 最多保存的桶數量
+     */
+    private final int maxEntries;
+
+    /**
+     * 創建令牌桶集合
+     *
+     * @param capacity 每個桶的容量
+     * @param refillPerSecond 每秒補充的令牌數
+     * @param maxEntries 最多保存的桶數量
+     */
+    public TokenBucketRegistry(double capacity, double refillPerSecond, int maxEntries) {
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 為指定的鍵嘗試消耗一個令牌
+     *
+     * @param key 限流鍵
+     * @return 0 表示成功；否則為距離下一個令牌可用的納秒數
+     */
+    public long tryConsume(String key) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxEntries) {
+                evictOne(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, refillPerSecond, now));
+        }
+        return bucket.tryConsume(now);
+    }
+
+    /**
+     * 清除閒置且已補滿的令牌桶
+     *
+     * @param idleNanos 閒置門檻（納秒）
+     * @return 清除的桶數量
+     */
+    public int evictIdle(long idleNanos) {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+        return Math.max(0, before - buckets.size());
+    }
+
+    /**
+     * 當前保存的桶數量
+     *
+     * @return 桶數量
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * 為新鍵騰出空間
+     * 抽樣固定數量的桶，遇到已補滿的桶立即淘汰，否則淘汰樣本中最久未訪問的桶
+     */
+    private void evictOne(long now) {
+        String victim = null;
+        long oldestAccess = 0L;
+        Iterator<Map.Entry<String, TokenBucket>> iterator = buckets.entrySet().iterator();
+        for (int sampled = 0; sampled < EVICTION_SAMPLE_SIZE && iterator.hasNext(); sampled++) {
+            Map.Entry<String, TokenBucket> entry = iterator.next();
+            TokenBucket bucket = entry.getValue();
+            if (bucket.isIdle(now, 0L)) {
+                victim = entry.getKey();
+                break;
+            }
+            if (victim == null || bucket.lastAccessNanos() - oldestAccess < 0) {
+                oldestAccess = bucket.lastAccessNanos();
+                victim = entry.getKey();
+            }
+        }
+        if (victim != null) {
+            buckets.remove(victim);
+        }
+    }
+}
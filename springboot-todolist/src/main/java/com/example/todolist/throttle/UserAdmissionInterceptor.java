@@ -0,0 +1,60 @@
+package com.example.todolist.throttle;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.example.todolist.model.dto.UserResponseDTO;
+import com.example.todolist.security.CurrentUserIdArgumentResolver;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * 按用戶的請求准入攔截器
+ *
+ * 在請求到達控制器之前經由 UserAdmissionService 檢查速率和並發上限，
+ * 超過時拋出的 TooManyRequestsException 由 GlobalExceptionHandler 轉換為 429。
+ * 未登入的請求直接放行，由 CurrentUserIdArgumentResolver 返回 401。
+ */
+public class UserAdmissionInterceptor implements HandlerInterceptor {
+
+    /**
+     * 已准入請求的用戶 ID 在請求屬性中的名稱，請求結束時據此釋放並發名額
+     */
+    private static final String ADMITTED_USER = UserAdmissionInterceptor.class.getName() + ".USER";
+
+    /**
+     * 准入控制服務
+     */
+    private final UserAdmissionService admissionService;
+
+    /**
+     * 構造器
+     *
+     * @param admissionService 准入控制服務
+     */
+    public UserAdmissionInterceptor(UserAdmissionService admissionService) {
+        this.admissionService = admissionService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        HttpSession session = request.getSession(false);
+        Object user = session != null ? session.getAttribute(CurrentUserIdArgumentResolver.SESSION_USER) : null;
+        if (user instanceof UserResponseDTO && ((UserResponseDTO) user).getId() != null) {
+            Long userId = ((UserResponseDTO) user).getId();
+            admissionService.admit(userId);
+            request.setAttribute(ADMITTED_USER, userId);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        Object userId = request.getAttribute(ADMITTED_USER);
+        if (userId instanceof Long) {
+            admissionService.release((Long) userId);
+        }
+    }
+}
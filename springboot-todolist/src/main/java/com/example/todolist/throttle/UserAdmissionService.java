@@ -0,0 +1,205 @@
+package com.example.todolist.throttle;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.todolist.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 按用戶的請求准入控制
+ *
+ * 所有用戶共用一個數據庫連接池，單個客戶端不停輪詢就可能佔滿連接。
+ * 每個已登入用戶的請求在進入控制器之前要通過兩道檢查：
+ * - 令牌桶：限制請求速率，容量為允許的突發次數
+ * - 並發上限：同一用戶同時處理中的請求數
+ * 任一檢查不通過時拋出 TooManyRequestsException，返回 429。
+ * 限額按等級（app.admission.tiers.*）配置，用戶所屬等級在 app.admission.user-tiers.<用戶 ID> 中指定，
+ * 未指定的用戶使用 app.admission.default-tier。
+ */
+@Component
+@ConditionalOnProperty(name = "app.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class UserAdmissionService {
+
+    /**
+     * 並發上限拒絕時建議的重試等待秒數
+     */
+    private static final long CONCURRENCY_RETRY_AFTER_SECONDS = 1L;
+
+    /**
+     * 各等級的限額
+     */
+    private final Map<String, TierState> tiers = new HashMap<>();
+
+    /**
+     * 指定了等級的用戶
+     */
+    private final Map<Long, String> userTiers;
+
+    /**
+     * 未指定等級的用戶使用的等級
+     */
+    private final TierState defaultTier;
+
+    /**
+     * 每個用戶處理中的請求數，沒有處理中的請求時移除
+     */
+    private final ConcurrentHashMap<Long, Integer> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 閒置淘汰門檻（納秒）
+     */
+    private final long idleEvictNanos;
+
+    /**
+     * 構造器注入配置
+     *
+     * @param meterRegistry 指標註冊表
+     * @param environment 用於綁定等級配置
+     * @param defaultTierName 默認等級名稱
+     * @param maxEntries 每個等級最多保存的令牌桶數量
+     * @param idleEvictMinutes 令牌桶閒置多久後淘汰（分鐘）
+     */
+    public UserAdmissionService(MeterRegistry meterRegistry, Environment environment,
+            @Value("${app.admission.default-tier:standard}") String defaultTierName,
+            @Value("${app.admission.max-entries:100000}") int maxEntries,
+            @Value("${app.admission.idle-evict-minutes:30}") long idleEvictMinutes) {
+        Binder binder = Binder.get(environment);
+        Map<String, Tier> configured = binder.bind("app.admission.tiers", Bindable.mapOf(String.class, Tier.class))
+                .orElseGet(Map::of);
+        configured.forEach((name, tier) -> tiers.put(name, new TierState(name, tier, maxEntries, meterRegistry)));
+        this.defaultTier = tiers.get(defaultTierName);
+        if (defaultTier == null) {
+            throw new IllegalStateException("未配置默認准入等級: app.admission.tiers." + defaultTierName);
+        }
+        this.userTiers = binder.bind("app.admission.user-tiers", Bindable.mapOf(Long.class, String.class))
+                .orElseGet(Map::of);
+        userTiers.forEach((userId, tier) -> {
+            if (!tiers.containsKey(tier)) {
+                throw new IllegalStateException("用戶 " + userId + " 的准入等級未配置: " + tier);
+            }
+        });
+        this.idleEvictNanos = TimeUnit.MINUTES.toNanos(idleEvictMinutes);
+
+        Gauge.builder("http.admission.in_flight_users", inFlight, Map::size)
+                .description("Users with requests currently admitted")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 准入一個請求，通過後必須在請求結束時調用 {@link #release(Long)}
+     *
+     * @param userId 用戶 ID
+     * @throws TooManyRequestsException 如果超過速率或並發上限
+     */
+    public void admit(Long userId) {
+        TierState tier = tierOf(userId);
+        boolean[] admitted = new boolean[1];
+        inFlight.compute(userId, (id, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= tier.maxConcurrent) {
+                return count;
+            }
+            admitted[0] = true;
+            return current + 1;
+        });
+        if (!admitted[0]) {
+            tier.concurrencyRejected.increment();
+            throw new TooManyRequestsException("同時進行的請求過多，請稍後再試", CONCURRENCY_RETRY_AFTER_SECONDS);
+        }
+
+        long wait = tier.buckets.tryConsume(userId.toString());
+        if (wait > 0) {
+            release(userId);
+            tier.rateRejected.increment();
+            throw new TooManyRequestsException("請求過於頻繁，請稍後再試", toRetryAfterSeconds(wait));
+        }
+    }
+
+    /**
+     * 請求結束，釋放並發名額
+     *
+     * @param userId 用戶 ID
+     */
+    public void release(Long userId) {
+        inFlight.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * 定期清除閒置的令牌桶，限制記憶體佔用
+     */
+    @Scheduled(fixedDelayString = "${app.admission.evict-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        tiers.values().forEach(tier -> tier.buckets.evictIdle(idleEvictNanos));
+    }
+
+    /**
+     * 取得用戶所屬的等級
+     */
+    private TierState tierOf(Long userId) {
+        String name = userTiers.get(userId);
+        return name == null ? defaultTier : tiers.get(name);
+    }
+
+    /**
+     * 將等待納秒數轉為 Retry-After 秒數，至少 1 秒
+     */
+    private static long toRetryAfterSeconds(long waitNanos) {
+        if (waitNanos == Long.MAX_VALUE) {
+            return 3600L;
+        }
+        return Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+
+    /**
+     * 准入等級配置
+     *
+     * @param capacity 令牌桶容量，即允許的突發請求數
+     * @param refillPerSecond 每秒補充的令牌數，即長期的平均速率
+     * @param maxConcurrent 同時處理中的請求數上限
+     */
+    public record Tier(double capacity, double refillPerSecond, int maxConcurrent) {
+    }
+
+    /**
+     * 一個等級的令牌桶和拒絕計數
+     */
+    private static final class TierState {
+
+        private final TokenBucketRegistry buckets;
+
+        private final int maxConcurrent;
+
+        private final Counter rateRejected;
+
+        private final Counter concurrencyRejected;
+
+        TierState(String name, Tier tier, int maxEntries, MeterRegistry meterRegistry) {
+            this.buckets = new TokenBucketRegistry(tier.capacity(), tier.refillPerSecond(), maxEntries);
+            this.maxConcurrent = tier.maxConcurrent();
+            this.rateRejected = rejectedCounter(meterRegistry, name, "rate");
+            this.concurrencyRejected = rejectedCounter(meterRegistry, name, "concurrency");
+        }
+
+        private static Counter rejectedCounter(MeterRegistry meterRegistry, String tier, String reason) {
+            return Counter.builder("http.admission.rejected")
+                    .tag("tier", tier)
+                    .tag("reason", reason)
+                    .description("Requests rejected by per-user admission control")
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.todolist.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 字串布隆過濾器
+ *
+ * 以位元陣列記錄元素的多個雜湊位置，可以確定地回答「一定不存在」，
+ * 而「可能存在」則有一定的誤判率。位元陣列使用 AtomicLongArray，
+ * 寫入和查詢都不需要加鎖，可在多執行緒下直接使用。
+ */
+public class BloomFilter {
+
+    /**
+     * 位元陣列，每個 long 存放 64 個位元
+     */
+    private final AtomicLongArray bits;
+
+    /**
+     * 位元總數
+     */
+    private final long bitSize;
+
+    /**
+     * 每個元素使用的雜湊函數個數
+     */
+    private final int hashFunctions;
+
+    /**
+     * 已寫入的元素個數（重複寫入也會計數）
+     */
+    private final AtomicLong insertions = new AtomicLong();
+
+    /**
+     * 根據預期元素數量和目標誤判率創建過濾器
+     *
+     * @param expectedInsertions 預期寫入的元素數量
+     * @param falsePositiveRate 目標誤判率，例如 0.01
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        long n = Math.max(1, expectedInsertions);
+        // m = -n * ln(p) / (ln 2)^2，k = m / n * ln 2
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (m + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+    }
+
+    /**
+     * 寫入元素
+     *
+     * @param value 元素
+     */
+    public void put(String value) {
+        long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL);
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, bitSize);
+            setBit(index);
+        }
+        insertions.incrementAndGet();
+    }
+
+    /**
+     * 查詢元素是否可能存在
+     *
+     * @param value 元素
+     * @return false 表示一定不存在；true 表示可能存在
+     */
+    public boolean mightContain(String value) {
+        long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL);
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, bitSize);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 根據已寫入的元素數量估算當前的理論誤判率
+     * p = (1 - e^(-k * n / m))^k
+     *
+     * @return 理論誤判率
+     */
+    public double expectedFalsePositiveRate() {
+        double exponent = -(double) hashFunctions * insertions.get() / bitSize;
+        return Math.pow(1 - Math.exp(exponent), hashFunctions);
+    }
+
+    /**
+     * 位元陣列佔用的記憶體（位元組）
+     *
+     * @return 記憶體大小
+     */
+    public long memoryBytes() {
+        return bitSize / 8;
+    }
+
+    /**
+     * 已寫入的元素個數
+     *
+     * @return 寫入次數
+     */
+    public long insertions() {
+        return insertions.get();
+    }
+
+    /**
+     * 以 CAS 方式設置指定位元
+     *
+     * @param index 位元索引
+     */
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    /**
+     * 64 位元 FNV-1a 雜湊，再經 murmur3 finalizer 打散
+     *
+     * @param value 元素
+     * @param seed 種子，用於產生兩個獨立的雜湊值
+     * @return 雜湊值
+     */
+    private static long hash(String value, long seed) {
+        long h = 0xCBF29CE484222325L ^ seed;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.todolist.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * 密碼重設令牌工具類
+ *
+ * 令牌以 SecureRandom 生成 256 位元隨機數並以 URL 安全的 Base64 編碼發送給用戶，
+ * 數據庫中只保存其 SHA-256 雜湊。即使數據庫外洩，也無法還原出可用的重設連結；
+ * 令牌本身熵值足夠高，因此不需要加鹽或使用慢雜湊。
+ */
+public final class ResetTokens {
+
+    /**
+     * 令牌的隨機位元組數
+     */
+    private static final int TOKEN_BYTES = 32;
+
+    /**
+     * 安全隨機數生成器，線程安全
+     */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private ResetTokens() {
+    }
+
+    /**
+     * 生成新的令牌
+     *
+     * @return URL 安全的令牌字串
+     */
+    public static String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * 計算令牌的雜湊值
+     *
+     * @param token 令牌字串
+     * @return 64 個字元的十六進位 SHA-256 雜湊
+     */
+    public static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // 所有 Java 平台都必須支持 SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- 分片目錄表（存放在目錄庫，即 spring.datasource.* 指向的數據庫）
+-- 記錄每個用戶的數據所在的分片；moving 為 TRUE 時該用戶的數據正在遷移，暫停讀寫
+-- 使用 IF NOT EXISTS，應用每次啟動都可以安全執行
+
+CREATE TABLE IF NOT EXISTS user_shard (
+	user_id BIGINT NOT NULL,
+	shard_index INT NOT NULL,
+	moving BOOLEAN NOT NULL DEFAULT FALSE,
+	PRIMARY KEY (user_id)
+);
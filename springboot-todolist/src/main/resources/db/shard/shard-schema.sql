@@ -0,0 +1,33 @@
+-- 分片表（每個分片各執行一次）
+-- 與實體映射一致，但不建立指向 users 的外鍵：用戶表只存在於目錄庫
+-- 各分片應設置不同的 auto_increment_offset（auto_increment_increment 設為分片數），
+-- 保證 ID 全局唯一，用戶遷移時可以原樣複製
+-- 使用 IF NOT EXISTS，應用每次啟動都可以安全執行
+
+CREATE TABLE IF NOT EXISTS todo (
+	id BIGINT NOT NULL AUTO_INCREMENT,
+	text VARCHAR(255) NOT NULL,
+	completed BIT NOT NULL,
+	user_id BIGINT NOT NULL,
+	PRIMARY KEY (id),
+	INDEX idx_todo_user (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+	id BIGINT NOT NULL AUTO_INCREMENT,
+	date DATETIME(6) NOT NULL,
+	type VARCHAR(16) NOT NULL,
+	amount DECIMAL(10, 2) NOT NULL,
+	category VARCHAR(255) NOT NULL,
+	note VARCHAR(255),
+	user_id BIGINT NOT NULL,
+	PRIMARY KEY (id),
+	INDEX idx_transactions_user_date (user_id, date)
+);
+
+CREATE TABLE IF NOT EXISTS collection_version (
+	user_id BIGINT NOT NULL,
+	collection VARCHAR(16) NOT NULL,
+	version BIGINT NOT NULL,
+	PRIMARY KEY (user_id, collection)
+);
@@ -0,0 +1,147 @@
+package com.example.todolist.reactive;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.example.todolist.model.dto.UserResponseDTO;
+import com.example.todolist.session.SessionAttributeConverter;
+
+/**
+ * 響應式只讀 API 測試
+ *
+ * 使用 R2DBC H2 數據庫，直接寫入 Servlet 版本格式的會話記錄，
+ * 驗證三個端點返回與 Servlet 版本相同的 ApiResponse 格式，以及未登入時返回 401。
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive-test;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:db/reactive/schema-h2.sql" })
+@ActiveProfiles("reactive")
+class ReactiveReadApplicationTest {
+
+    private static final long USER_ID = 42L;
+
+    private static final String SESSION_ID = "7f8c2a9e-1111-4c3b-9a55-reactive0001";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        for (String table : new String[] { "SPRING_SESSION_ATTRIBUTES", "SPRING_SESSION", "todo", "transactions" }) {
+            databaseClient.sql("DELETE FROM " + table).then().block();
+        }
+
+        insertTodo("買牛奶", false);
+        insertTodo("繳電費", true);
+        insertTransaction("2024-05-01T12:00:00", "EXPENSE", "120.50", "飲食");
+        insertTransaction("2024-05-03T09:00:00", "INCOME", "30000.00", "薪資");
+        insertTransaction("2024-05-02T18:30:00", "EXPENSE", "80.00", "交通");
+
+        UserResponseDTO user = new UserResponseDTO();
+        user.setId(USER_ID);
+        user.setUsername("reactive-user");
+        byte[] attribute = (byte[]) new SessionAttributeConverter(getClass().getClassLoader())
+                .convert(user, TypeDescriptor.valueOf(UserResponseDTO.class), TypeDescriptor.valueOf(byte[].class));
+        long now = System.currentTimeMillis();
+        databaseClient.sql("INSERT INTO SPRING_SESSION VALUES ('p-1', :sessionId, :now, :now, 1800, :expiry, NULL)")
+                .bind("sessionId", SESSION_ID)
+                .bind("now", now)
+                .bind("expiry", now + 1_800_000L)
+                .then().block();
+        databaseClient.sql("INSERT INTO SPRING_SESSION_ATTRIBUTES VALUES ('p-1', 'user', :bytes)")
+                .bind("bytes", attribute)
+                .then().block();
+    }
+
+    @Test
+    void listTodosUsesServletResponseFormat() {
+        get("/reactive/todolist")
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(200)
+                .jsonPath("$.message").isEqualTo("查詢成功")
+                .jsonPath("$.data.length()").isEqualTo(2)
+                .jsonPath("$.data[0].text").isEqualTo("買牛奶")
+                .jsonPath("$.data[1].completed").isEqualTo(true);
+    }
+
+    @Test
+    void listTransactionsIsOrderedByDateDescending() {
+        get("/reactive/api/transactions")
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(3)
+                .jsonPath("$.data[0].category").isEqualTo("薪資")
+                .jsonPath("$.data[0].date").isEqualTo("2024-05-03T09:00:00")
+                .jsonPath("$.data[2].category").isEqualTo("飲食");
+    }
+
+    @Test
+    void summaryTotalsIncomeAndExpense() {
+        get("/reactive/api/transactions/summary?start=2024-05-01T00:00:00&end=2024-05-31T23:59:59")
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.totalIncome").isEqualTo(30000.00)
+                .jsonPath("$.data.totalExpense").isEqualTo(200.50)
+                .jsonPath("$.data.balance").isEqualTo(29799.50);
+    }
+
+    @Test
+    void emptyListIsStillValidJson() {
+        databaseClient.sql("DELETE FROM todo").then().block();
+
+        get("/reactive/todolist")
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(0);
+    }
+
+    @Test
+    void requestWithoutSessionIsUnauthorized() {
+        webTestClient.get().uri("/reactive/todolist")
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(401);
+    }
+
+    private WebTestClient.ResponseSpec get(String uri) {
+        String cookie = Base64.getEncoder().encodeToString(SESSION_ID.getBytes(StandardCharsets.UTF_8));
+        return webTestClient.get().uri(uri).cookie("SESSION", cookie).exchange();
+    }
+
+    private void insertTodo(String text, boolean completed) {
+        databaseClient.sql("INSERT INTO todo (text, completed, user_id) VALUES (:text, :completed, :userId)")
+                .bind("text", text)
+                .bind("completed", completed)
+                .bind("userId", USER_ID)
+                .then().block();
+    }
+
+    private void insertTransaction(String date, String type, String amount, String category) {
+        databaseClient.sql("INSERT INTO transactions (date, type, amount, category, user_id) "
+                + "VALUES (:date, :type, :amount, :category, :userId)")
+                .bind("date", LocalDateTime.parse(date))
+                .bind("type", type)
+                .bind("amount", new BigDecimal(amount))
+                .bind("category", category)
+                .bind("userId", USER_ID)
+                .then().block();
+    }
+}
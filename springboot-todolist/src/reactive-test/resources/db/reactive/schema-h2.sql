@@ -0,0 +1,35 @@
+-- 響應式只讀 API 測試用表結構（H2），欄位與 JPA 實體和 Spring Session JDBC 表一致
+
+CREATE TABLE IF NOT EXISTS todo (
+	id BIGINT AUTO_INCREMENT PRIMARY KEY,
+	text VARCHAR(255) NOT NULL,
+	completed BOOLEAN NOT NULL,
+	user_id BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+	id BIGINT AUTO_INCREMENT PRIMARY KEY,
+	date TIMESTAMP NOT NULL,
+	type VARCHAR(16) NOT NULL,
+	amount DECIMAL(10, 2) NOT NULL,
+	category VARCHAR(255) NOT NULL,
+	note VARCHAR(255),
+	user_id BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS SPRING_SESSION (
+	PRIMARY_ID CHAR(36) NOT NULL PRIMARY KEY,
+	SESSION_ID CHAR(36) NOT NULL UNIQUE,
+	CREATION_TIME BIGINT NOT NULL,
+	LAST_ACCESS_TIME BIGINT NOT NULL,
+	MAX_INACTIVE_INTERVAL INT NOT NULL,
+	EXPIRY_TIME BIGINT NOT NULL,
+	PRINCIPAL_NAME VARCHAR(100)
+);
+
+CREATE TABLE IF NOT EXISTS SPRING_SESSION_ATTRIBUTES (
+	SESSION_PRIMARY_ID CHAR(36) NOT NULL,
+	ATTRIBUTE_NAME VARCHAR(200) NOT NULL,
+	ATTRIBUTE_BYTES VARBINARY(4096) NOT NULL,
+	PRIMARY KEY (SESSION_PRIMARY_ID, ATTRIBUTE_NAME)
+);
@@ -0,0 +1,60 @@
+package com.example.todolist.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.actuate.autoconfigure.security.reactive.ReactiveManagementWebSecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveSecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.boot.autoconfigure.session.SessionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * 響應式只讀 API 應用程序入口類
+ *
+ * 與 Servlet 版本分開部署的非阻塞服務，只提供讀取量最大的三個端點，
+ * 以 /reactive 為路徑前綴，JSON 格式與 TodoController、TransactionController 相同：
+ * - GET /reactive/todolist
+ * - GET /reactive/api/transactions
+ * - GET /reactive/api/transactions/summary
+ *
+ * 使用 WebFlux + R2DBC，列表查詢的每一行取得後立即寫出，不在記憶體中收集整個結果。
+ * 登入狀態直接讀取 Servlet 版本寫入 SPRING_SESSION 表的會話（需 app.session.store=jdbc），
+ * 因此兩個版本可以掛在同一個反向代理之後，共用同一個 SESSION Cookie。
+ *
+ * 源碼位於 src/reactive，WebFlux 和 R2DBC 依賴只在 Maven 的 reactive profile 中加入，
+ * 默認構建的 Servlet 版本不包含這些類和依賴。
+ * 構建：mvn -Preactive package
+ * 啟動：java -cp app.jar -Dloader.main=com.example.todolist.reactive.ReactiveReadApplication
+ *       org.springframework.boot.loader.launch.PropertiesLauncher
+ * 或在 IDE 中直接運行 main 方法，配置見 application-reactive.properties。
+ */
+@Profile("reactive")  // 與 Servlet 版本同時在類路徑上時，不被其組件掃描加載
+@SpringBootApplication(exclude = {
+        // 不使用 JDBC/JPA，只通過 R2DBC 訪問數據庫
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        // 會話由 ReactiveSessionUserResolver 只讀地查詢，不創建也不更新會話
+        SessionAutoConfiguration.class,
+        // 與 Servlet 版本一樣在處理方法中檢查登入狀態，不使用 Spring Security 的默認登入
+        ReactiveSecurityAutoConfiguration.class,
+        ReactiveUserDetailsServiceAutoConfiguration.class,
+        ReactiveManagementWebSecurityAutoConfiguration.class })
+public class ReactiveReadApplication {
+
+    /**
+     * 應用程序入口點
+     *
+     * @param args 命令行參數
+     */
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveReadApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive")
+                .run(args);
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.todolist.reactive;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.NoSuchElementException;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.example.todolist.model.dto.TodoDTO;
+import com.example.todolist.model.dto.TransactionDTO;
+import com.example.todolist.model.entity.Transaction.TransactionType;
+import com.example.todolist.response.ApiResponse;
+import com.example.todolist.service.TransactionServiceImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 響應式只讀端點處理器
+ *
+ * 響應格式與 Servlet 版本的 ApiResponse 相同。列表端點先寫出 ApiResponse 的開頭，
+ * 再把數據庫返回的每一行序列化後立即寫出，最後補上結尾，
+ * 整個列表不會同時存在於記憶體中，寫出速度受客戶端接收速度的背壓控制。
+ * 響應開始後才發生的數據庫錯誤無法再改為錯誤響應，連接會被中斷。
+ */
+@Profile("reactive")
+@Component
+public class ReactiveReadHandler {
+
+    /**
+     * 查詢用戶的待辦事項
+     */
+    private static final String SELECT_TODOS =
+            "SELECT id, text, completed FROM todo WHERE user_id = :userId ORDER BY id";
+
+    /**
+     * 查詢用戶的交易記錄，按日期降序
+     */
+    private static final String SELECT_TRANSACTIONS =
+            "SELECT id, date, type, amount, category, note FROM transactions "
+            + "WHERE user_id = :userId ORDER BY date DESC";
+
+    /**
+     * 按交易類型統計金額
+     */
+    private static final String SUM_BY_TYPE =
+            "SELECT type, SUM(amount) AS total FROM transactions "
+            + "WHERE user_id = :userId AND date BETWEEN :start AND :end GROUP BY type";
+
+    /**
+     * 列表響應的結尾
+     */
+    private static final byte[] LIST_SUFFIX = "]}".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 元素之間的分隔符
+     */
+    private static final byte[] SEPARATOR = ",".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 響應式數據庫客戶端
+     */
+    private final DatabaseClient databaseClient;
+
+    /**
+     * 登入用戶解析器
+     */
+    private final ReactiveSessionUserResolver userResolver;
+
+    /**
+     * JSON 序列化器，與 Servlet 版本使用相同的 Spring Boot 配置
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 緩衝區工廠
+     */
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    /**
+     * 列表響應的開頭：{"status":200,"message":"查詢成功","data":[
+     */
+    private final byte[] listPrefix;
+
+    /**
+     * 構造器注入
+     *
+     * @param databaseClient 響應式數據庫客戶端
+     * @param userResolver 登入用戶解析器
+     * @param objectMapper JSON 序列化器
+     * @throws JsonProcessingException 如果無法生成響應開頭
+     */
+    public ReactiveReadHandler(DatabaseClient databaseClient, ReactiveSessionUserResolver userResolver,
+            ObjectMapper objectMapper) throws JsonProcessingException {
+        this.databaseClient = databaseClient;
+        this.userResolver = userResolver;
+        this.objectMapper = objectMapper;
+        this.listPrefix = ("{\"status\":200,\"message\":" + objectMapper.writeValueAsString("查詢成功")
+                + ",\"data\":[").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 獲取所有待辦事項
+     *
+     * @param request 請求
+     * @return 逐行寫出的待辦事項列表
+     */
+    public Mono<ServerResponse> listTodos(ServerRequest request) {
+        return userResolver.resolveUserId(request)
+                .flatMap(userId -> streamList(databaseClient.sql(SELECT_TODOS)
+                        .bind("userId", userId)
+                        .map((row, metadata) -> new TodoDTO(
+                                row.get("id", Long.class),
+                                row.get("text", String.class),
+                                row.get("completed", Boolean.class)))
+                        .all()))
+                .switchIfEmpty(unauthorized());
+    }
+
+    /**
+     * 獲取所有交易記錄，按日期降序排序
+     *
+     * @param request 請求
+     * @return 逐行寫出的交易記錄列表
+     */
+    public Mono<ServerResponse> listTransactions(ServerRequest request) {
+        return userResolver.resolveUserId(request)
+                .flatMap(userId -> streamList(databaseClient.sql(SELECT_TRANSACTIONS)
+                        .bind("userId", userId)
+                        .map((row, metadata) -> new TransactionDTO(
+                                row.get("id", Long.class),
+                                row.get("date", LocalDateTime.class),
+                                TransactionType.valueOf(row.get("type", String.class)),
+                                row.get("amount", BigDecimal.class),
+                                row.get("category", String.class),
+                                row.get("note", String.class)))
+                        .all()))
+                .switchIfEmpty(unauthorized());
+    }
+
+    /**
+     * 獲取交易統計摘要
+     *
+     * @param request 請求，包含 start 和 end 參數（ISO 日期時間）
+     * @return 總收入、總支出和結餘
+     */
+    public Mono<ServerResponse> summary(ServerRequest request) {
+        LocalDateTime start;
+        LocalDateTime end;
+        try {
+            start = LocalDateTime.parse(request.queryParam("start").orElseThrow());
+            end = LocalDateTime.parse(request.queryParam("end").orElseThrow());
+        } catch (NoSuchElementException | DateTimeParseException e) {
+            return ServerResponse.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(ApiResponse.error(HttpStatus.BAD_REQUEST.value(), "start 和 end 參數格式錯誤"));
+        }
+
+        return userResolver.resolveUserId(request)
+                .flatMap(userId -> databaseClient.sql(SUM_BY_TYPE)
+                        .bind("userId", userId)
+                        .bind("start", start)
+                        .bind("end", end)
+                        .map((row, metadata) -> new Object[] {
+                                TransactionType.valueOf(row.get("type", String.class)),
+                                row.get("total", BigDecimal.class) })
+                        .all()
+                        .collectList()
+                        .flatMap(rows -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(ApiResponse.success("查詢成功", TransactionServiceImpl.summarize(rows)))))
+                .switchIfEmpty(unauthorized());
+    }
+
+    /**
+     * 以 ApiResponse 格式逐個寫出列表元素
+     *
+     * @param rows 數據庫返回的元素
+     * @return 流式響應
+     */
+    private Mono<ServerResponse> streamList(Flux<?> rows) {
+        Flux<DataBuffer> elements = rows.index().map(indexed -> {
+            byte[] json = toJson(indexed.getT2());
+            if (indexed.getT1() == 0) {
+                return bufferFactory.wrap(json);
+            }
+            DataBuffer buffer = bufferFactory.allocateBuffer(json.length + SEPARATOR.length);
+            return buffer.write(SEPARATOR).write(json);
+        });
+        Flux<DataBuffer> body = Flux.concat(
+                Mono.fromSupplier(() -> bufferFactory.wrap(listPrefix)),
+                elements,
+                Mono.fromSupplier(() -> bufferFactory.wrap(LIST_SUFFIX)));
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromDataBuffers(body));
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 未登入響應，與 Servlet 版本的 GlobalExceptionHandler 一致
+     */
+    private static Mono<ServerResponse> unauthorized() {
+        return Mono.defer(() -> ServerResponse.status(HttpStatus.UNAUTHORIZED)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiResponse.error(HttpStatus.UNAUTHORIZED.value(), "用戶未登入")));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.todolist.reactive;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * 響應式只讀端點路由
+ *
+ * 路徑與 Servlet 版本相同，加上 /reactive 前綴，便於在同一個反向代理後並行比較兩種實現。
+ */
+@Profile("reactive")
+@Configuration
+public class ReactiveReadRoutes {
+
+    /**
+     * 路徑前綴
+     */
+    public static final String PREFIX = "/reactive";
+
+    /**
+     * 註冊路由
+     *
+     * @param handler 處理器
+     * @return 路由函數
+     */
+    @Bean
+    public RouterFunction<ServerResponse> reactiveReadRouter(ReactiveReadHandler handler) {
+        return route(GET(PREFIX + "/todolist"), handler::listTodos)
+                .andRoute(GET(PREFIX + "/api/transactions"), handler::listTransactions)
+                .andRoute(GET(PREFIX + "/api/transactions/summary"), handler::summary);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.todolist.reactive;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.http.HttpCookie;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+
+import com.example.todolist.model.dto.UserResponseDTO;
+import com.example.todolist.security.CurrentUserIdArgumentResolver;
+import com.example.todolist.session.SessionAttributeConverter;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 響應式版本的登入用戶解析器
+ *
+ * 從 SESSION Cookie 取得會話 ID，以一條查詢讀取 Servlet 版本寫入的登入用戶屬性，
+ * 並用相同的 SessionAttributeConverter 解碼。只讀取會話，不更新最後訪問時間，
+ * 因此只使用響應式端點時會話仍會在閒置逾時後過期。
+ */
+@Profile("reactive")
+@Component
+public class ReactiveSessionUserResolver {
+
+    /**
+     * 查詢未過期會話中的登入用戶屬性
+     */
+    private static final String SELECT_USER_ATTRIBUTE =
+            "SELECT a.ATTRIBUTE_BYTES FROM SPRING_SESSION s "
+            + "JOIN SPRING_SESSION_ATTRIBUTES a ON a.SESSION_PRIMARY_ID = s.PRIMARY_ID "
+            + "WHERE s.SESSION_ID = :sessionId AND a.ATTRIBUTE_NAME = :name AND s.EXPIRY_TIME > :now";
+
+    /**
+     * 響應式數據庫客戶端
+     */
+    private final DatabaseClient databaseClient;
+
+    /**
+     * 會話 Cookie 名稱，與 Servlet 版本一致
+     */
+    private final String cookieName;
+
+    /**
+     * 會話屬性解碼器
+     */
+    private final SessionAttributeConverter attributeConverter;
+
+    /**
+     * 構造器注入
+     *
+     * @param databaseClient 響應式數據庫客戶端
+     * @param cookieName 會話 Cookie 名稱
+     */
+    public ReactiveSessionUserResolver(DatabaseClient databaseClient,
+            @Value("${server.servlet.session.cookie.name:SESSION}") String cookieName) {
+        this.databaseClient = databaseClient;
+        this.cookieName = cookieName;
+        this.attributeConverter = new SessionAttributeConverter(getClass().getClassLoader());
+    }
+
+    /**
+     * 解析當前登入用戶 ID
+     *
+     * @param request 請求
+     * @return 用戶 ID；未登入或會話已過期時為空
+     */
+    public Mono<Long> resolveUserId(ServerRequest request) {
+        HttpCookie cookie = request.cookies().getFirst(cookieName);
+        if (cookie == null) {
+            return Mono.empty();
+        }
+        String sessionId;
+        try {
+            // Spring Session 默認以 Base64 編碼 Cookie 中的會話 ID
+            sessionId = new String(Base64.getDecoder().decode(cookie.getValue()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return Mono.empty();
+        }
+
+        return databaseClient.sql(SELECT_USER_ATTRIBUTE)
+                .bind("sessionId", sessionId)
+                .bind("name", CurrentUserIdArgumentResolver.SESSION_USER)
+                .bind("now", System.currentTimeMillis())
+                .map((row, metadata) -> row.get("ATTRIBUTE_BYTES", byte[].class))
+                .one()
+                .mapNotNull(this::userId);
+    }
+
+    /**
+     * 解碼會話屬性並取出用戶 ID
+     *
+     * @param bytes 屬性值
+     * @return 用戶 ID，屬性不是登入用戶時為 null
+     */
+    private Long userId(byte[] bytes) {
+        Object user = attributeConverter.convert(bytes,
+                TypeDescriptor.valueOf(byte[].class), TypeDescriptor.valueOf(Object.class));
+        return user instanceof UserResponseDTO ? ((UserResponseDTO) user).getId() : null;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.todolist.config;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+/**
+ * 監控端點訪問控制測試
+ *
+ * 驗證 health 對外公開，metrics 和 prometheus 只允許內部網段訪問。
+ * 測試默認關閉指標導出，需啟用可觀測性配置才會註冊 prometheus 端點。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class ActuatorSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void healthIsPublic() throws Exception {
+        mockMvc.perform(get("/actuator/health").with(remoteAddr("203.0.113.7")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void metricsAreForbiddenFromOutside() throws Exception {
+        mockMvc.perform(get("/actuator/metrics").with(remoteAddr("203.0.113.7")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").with(remoteAddr("203.0.113.7")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void metricsAreAvailableFromInternalNetwork() throws Exception {
+        mockMvc.perform(get("/actuator/metrics").with(remoteAddr("10.1.2.3")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics").with(remoteAddr("127.0.0.1")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus").with(remoteAddr("10.1.2.3")))
+                .andExpect(status().isOk());
+    }
+
+    private static RequestPostProcessor remoteAddr(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
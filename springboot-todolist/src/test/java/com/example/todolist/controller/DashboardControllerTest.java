@@ -0,0 +1,121 @@
+package com.example.todolist.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.todolist.model.entity.Todo;
+import com.example.todolist.model.entity.Transaction;
+import com.example.todolist.model.entity.Transaction.TransactionType;
+import com.example.todolist.model.entity.User;
+import com.example.todolist.repository.TodoRepository;
+import com.example.todolist.repository.TransactionRepository;
+import com.example.todolist.repository.UserRepository;
+import com.example.todolist.service.PasswordHashingService;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * 首頁總覽測試
+ *
+ * 驗證一個請求返回未完成的待辦事項、按日期排序的最近交易記錄和本月統計。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DashboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    private User user;
+
+    private Cookie session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        user = userRepository.findByUsername("dashboard-user").orElseGet(() -> {
+            User created = new User();
+            created.setUsername("dashboard-user");
+            created.setPassword(passwordHashingService.encode("secret"));
+            created.setEmail("dashboard-user@example.com");
+            return userRepository.save(created);
+        });
+        todoRepository.deleteAll(todoRepository.findByUserId(user.getId()));
+        transactionRepository.deleteAll(transactionRepository.findByUserIdOrderByDateDesc(user.getId()));
+
+        todoRepository.save(todo("open", false));
+        todoRepository.save(todo("done", true));
+        LocalDateTime now = LocalDateTime.now();
+        transactionRepository.save(transaction(TransactionType.INCOME, "300.00", now.toLocalDate().withDayOfMonth(1).atStartOfDay()));
+        transactionRepository.save(transaction(TransactionType.EXPENSE, "100.00", now));
+        transactionRepository.save(transaction(TransactionType.EXPENSE, "50.00", now.minusMonths(2)));
+
+        session = mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"dashboard-user\",\"password\":\"secret\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getCookie("SESSION");
+    }
+
+    @Test
+    void returnsOpenTodosRecentTransactionsAndMonthSummary() throws Exception {
+        mockMvc.perform(get("/api/dashboard").param("recent", "2").cookie(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.openTodos.length()").value(1))
+                .andExpect(jsonPath("$.data.openTodos[0].text").value("open"))
+                .andExpect(jsonPath("$.data.recentTransactions.length()").value(2))
+                .andExpect(jsonPath("$.data.recentTransactions[0].amount").value(100.00))
+                .andExpect(jsonPath("$.data.monthSummary.totalIncome").value(300.00))
+                .andExpect(jsonPath("$.data.monthSummary.totalExpense").value(100.00));
+    }
+
+    @Test
+    void requiresLogin() throws Exception {
+        mockMvc.perform(get("/api/dashboard"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private Todo todo(String text, boolean completed) {
+        Todo todo = new Todo();
+        todo.setText(text);
+        todo.setCompleted(completed);
+        todo.setUser(user);
+        return todo;
+    }
+
+    private Transaction transaction(TransactionType type, String amount, LocalDateTime date) {
+        Transaction transaction = new Transaction();
+        transaction.setType(type);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setCategory("其他");
+        transaction.setDate(date);
+        transaction.setUser(user);
+        return transaction;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.todolist.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.todolist.exception.NotFoundException;
+import com.example.todolist.exception.UnauthorizedException;
+import com.example.todolist.model.entity.User;
+import com.example.todolist.repository.UserRepository;
+import com.example.todolist.service.PasswordHashingService;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * 業務異常映射測試
+ *
+ * 驗證控制器不再捕獲異常，業務異常由 GlobalExceptionHandler 轉換為對應的狀態碼，
+ * 業務異常不填充堆疊追蹤，請求格式錯誤等框架異常返回 4xx 而不是 500。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ErrorMappingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.findByUsername("error-user").orElseGet(() -> {
+            User created = new User();
+            created.setUsername("error-user");
+            created.setPassword(passwordHashingService.encode("secret"));
+            created.setEmail("error-user@example.com");
+            return userRepository.save(created);
+        });
+    }
+
+    @Test
+    void domainExceptionsHaveNoStackTrace() {
+        assertThat(new UnauthorizedException("用戶未登入").getStackTrace()).isEmpty();
+        assertThat(new NotFoundException("查無資料").getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void missingSessionIsUnauthorized() throws Exception {
+        mockMvc.perform(get("/todolist"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.status").value(401));
+    }
+
+    @Test
+    void wrongPasswordIsUnauthorized() throws Exception {
+        mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"error-user\",\"password\":\"wrong\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void missingTodoIsNotFound() throws Exception {
+        Cookie session = mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"error-user\",\"password\":\"secret\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getCookie("SESSION");
+
+        mockMvc.perform(put("/todolist/{id}", Long.MAX_VALUE).cookie(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"x\",\"completed\":false}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("查無資料"));
+        mockMvc.perform(put("/api/transactions/{id}", Long.MAX_VALUE).cookie(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"EXPENSE\",\"amount\":1,\"category\":\"飲食\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void duplicateUsernameIsConflict() throws Exception {
+        mockMvc.perform(post("/api/users/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"error-user\",\"password\":\"secret\",\"email\":\"other@example.com\"}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void frameworkExceptionsKeepTheirStatus() throws Exception {
+        mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+        mockMvc.perform(get("/no-such-resource"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+
+        Cookie session = mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"error-user\",\"password\":\"secret\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getCookie("SESSION");
+        mockMvc.perform(put("/todolist/{id}", "not-a-number").cookie(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"x\",\"completed\":false}"))
+                .andExpect(status().isBadRequest());
+    }
+}
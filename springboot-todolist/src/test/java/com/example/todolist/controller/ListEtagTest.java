@@ -0,0 +1,133 @@
+package com.example.todolist.controller;
+
+import static com.example.todolist.diagnostics.SqlStatementAssertions.assertStatementCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.todolist.model.entity.User;
+import com.example.todolist.repository.UserRepository;
+import com.example.todolist.service.PasswordHashingService;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * 列表 ETag 測試
+ *
+ * 驗證列表響應帶有 ETag，版本未變的條件請求返回 304 且不執行任何 SQL，
+ * 寫入之後舊的 ETag 失效，其他實例的寫入在記憶體條目過期後可見。
+ */
+@SpringBootTest(properties = "app.collection-version.cache-ttl-seconds=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ListEtagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Cookie session;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        userId = userRepository.findByUsername("etag-user").orElseGet(() -> {
+            User created = new User();
+            created.setUsername("etag-user");
+            created.setPassword(passwordHashingService.encode("secret"));
+            created.setEmail("etag-user@example.com");
+            return userRepository.save(created);
+        }).getId();
+
+        session = mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"etag-user\",\"password\":\"secret\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getCookie("SESSION");
+    }
+
+    @Test
+    void todoListRevalidatesWithoutQuery() throws Exception {
+        String etag = mockMvc.perform(get("/todolist").cookie(session))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"").endsWith("\"");
+
+        assertStatementCount(0, () -> mockMvc.perform(get("/todolist").cookie(session)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string("")));
+
+        mockMvc.perform(post("/todolist").cookie(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"new\"}"))
+                .andExpect(status().isOk());
+
+        String changed = mockMvc.perform(get("/todolist").cookie(session)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotEqualTo(etag);
+    }
+
+    @Test
+    void transactionListRevalidatesWithoutQuery() throws Exception {
+        String etag = mockMvc.perform(get("/api/transactions").cookie(session))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertStatementCount(0, () -> mockMvc.perform(get("/api/transactions").cookie(session)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified()));
+
+        mockMvc.perform(post("/api/transactions").cookie(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"EXPENSE\",\"amount\":50,\"category\":\"飲食\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/transactions").cookie(session)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void writeFromAnotherInstanceIsVisibleAfterTtl() throws Exception {
+        String etag = mockMvc.perform(get("/todolist").cookie(session))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // 模擬另一個實例的寫入：只更新數據庫，本實例的記憶體不知道
+        jdbcTemplate.update("INSERT INTO collection_version (user_id, collection, version) VALUES (?, 'TODO', ?) "
+                + "ON DUPLICATE KEY UPDATE version = version + 1", userId, System.currentTimeMillis() * 1000);
+
+        Thread.sleep(2_100);
+
+        mockMvc.perform(get("/todolist").cookie(session)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.todolist.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.example.todolist.model.dto.UserResponseDTO;
+import com.example.todolist.security.CurrentUserIdArgumentResolver;
+
+/**
+ * 讀寫分離路由測試
+ *
+ * 以兩個獨立的 H2 數據庫模擬主庫和從庫，每個庫的 node 表記錄自己的名稱，
+ * 查詢結果即可看出事務被路由到哪個庫。
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private ReadYourWritesTracker tracker;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = node("jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1", "primary");
+        DataSource replica = node("jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1", "replica");
+
+        tracker = new ReadYourWritesTracker(60_000);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(List.of("replica-0"), tracker);
+        routing.setTargetDataSources(Map.of(ReplicaRoutingDataSource.PRIMARY, primary, "replica-0", replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readWriteTransactionUsesPrimary() {
+        loginAs(1L);
+
+        assertThat(nodeUsedBy(readWrite)).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyTransactionOfLoggedInUserUsesReplica() {
+        loginAs(1L);
+
+        assertThat(nodeUsedBy(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void readOnlyTransactionWithoutLoggedInUserUsesPrimary() {
+        assertThat(nodeUsedBy(readOnly)).isEqualTo("primary");
+    }
+
+    @Test
+    void recentWriterReadsFromPrimary() {
+        loginAs(1L);
+        tracker.recordWrite(1L);
+
+        assertThat(nodeUsedBy(readOnly)).isEqualTo("primary");
+
+        loginAs(2L);
+        assertThat(nodeUsedBy(readOnly)).isEqualTo("replica");
+    }
+
+    private String nodeUsedBy(TransactionTemplate template) {
+        return template.execute(status -> currentNode());
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource node(String url, String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url, "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(16))");
+        template.update("DELETE FROM node");
+        template.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static void loginAs(Long userId) {
+        UserResponseDTO user = new UserResponseDTO();
+        user.setId(userId);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.getSession().setAttribute(CurrentUserIdArgumentResolver.SESSION_USER, user);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
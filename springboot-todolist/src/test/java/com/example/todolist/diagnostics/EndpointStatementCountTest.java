@@ -0,0 +1,150 @@
+package com.example.todolist.diagnostics;
+
+import static com.example.todolist.diagnostics.SqlStatementAssertions.assertStatementCount;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.todolist.model.entity.Todo;
+import com.example.todolist.model.entity.Transaction;
+import com.example.todolist.model.entity.Transaction.TransactionType;
+import com.example.todolist.model.entity.User;
+import com.example.todolist.repository.TodoRepository;
+import com.example.todolist.repository.TransactionRepository;
+import com.example.todolist.repository.UserRepository;
+import com.example.todolist.service.PasswordHashingService;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * 端點 SQL 語句數量測試
+ *
+ * 固定每個待辦事項和交易記錄端點執行的 SQL 語句數量，
+ * 映射或 Lombok 生成的方法意外觸發延遲加載（N+1）時測試會失敗。
+ * 寫入端點包含一條更新列表版本號的語句。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EndpointStatementCountTest {
+
+    private static final String RANGE = "?start=2000-01-01T00:00:00&end=2100-01-01T00:00:00";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    private User user;
+
+    private Cookie session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        user = userRepository.findByUsername("sql-count").orElseGet(() -> {
+            User created = new User();
+            created.setUsername("sql-count");
+            created.setPassword(passwordHashingService.encode("secret"));
+            created.setEmail("sql-count@example.com");
+            return userRepository.save(created);
+        });
+        for (int i = 0; i < 3; i++) {
+            todoRepository.save(todo("todo " + i));
+            transactionRepository.save(transaction("飲食"));
+        }
+
+        session = mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"sql-count\",\"password\":\"secret\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getCookie("SESSION");
+
+        // 先載入列表版本號，之後的列表查詢只統計列表本身的語句
+        mockMvc.perform(get("/todolist").cookie(session)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/transactions").cookie(session)).andExpect(status().isOk());
+    }
+
+    @Test
+    void todoEndpoints() throws Exception {
+        Long id = todoRepository.save(todo("edit me")).getId();
+
+        assertStatementCount(1, () -> mockMvc.perform(get("/todolist").cookie(session))
+                .andExpect(status().isOk()));
+        assertStatementCount(2, () -> mockMvc.perform(post("/todolist").cookie(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"new\"}"))
+                .andExpect(status().isOk()));
+        assertStatementCount(3, () -> mockMvc.perform(put("/todolist/" + id).cookie(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"edited\",\"completed\":true}"))
+                .andExpect(status().isOk()));
+        assertStatementCount(3, () -> mockMvc.perform(delete("/todolist/" + id).cookie(session))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void transactionEndpoints() throws Exception {
+        Long id = transactionRepository.save(transaction("交通")).getId();
+
+        assertStatementCount(1, () -> mockMvc.perform(get("/api/transactions").cookie(session))
+                .andExpect(status().isOk()));
+        assertStatementCount(1, () -> mockMvc.perform(get("/api/transactions/range" + RANGE).cookie(session))
+                .andExpect(status().isOk()));
+        assertStatementCount(1, () -> mockMvc.perform(get("/api/transactions/category/{category}", "飲食").cookie(session))
+                .andExpect(status().isOk()));
+        assertStatementCount(1, () -> mockMvc.perform(get("/api/transactions/summary" + RANGE).cookie(session))
+                .andExpect(status().isOk()));
+        assertStatementCount(2, () -> mockMvc.perform(post("/api/transactions").cookie(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"EXPENSE\",\"amount\":50,\"category\":\"飲食\"}"))
+                .andExpect(status().isOk()));
+        assertStatementCount(3, () -> mockMvc.perform(put("/api/transactions/" + id).cookie(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"EXPENSE\",\"amount\":80,\"category\":\"交通\","
+                                + "\"date\":\"2024-05-01T12:00:00\"}"))
+                .andExpect(status().isOk()));
+        assertStatementCount(3, () -> mockMvc.perform(delete("/api/transactions/" + id).cookie(session))
+                .andExpect(status().isOk()));
+    }
+
+    private Todo todo(String text) {
+        Todo todo = new Todo();
+        todo.setText(text);
+        todo.setUser(user);
+        return todo;
+    }
+
+    private Transaction transaction(String category) {
+        Transaction transaction = new Transaction();
+        transaction.setType(TransactionType.EXPENSE);
+        transaction.setAmount(new BigDecimal("100.00"));
+        transaction.setCategory(category);
+        transaction.setDate(LocalDateTime.now());
+        transaction.setUser(user);
+        return transaction;
+    }
+}
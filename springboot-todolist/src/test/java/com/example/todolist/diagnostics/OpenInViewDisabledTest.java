@@ -0,0 +1,68 @@
+package com.example.todolist.diagnostics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.todolist.model.entity.Todo;
+import com.example.todolist.model.entity.User;
+import com.example.todolist.repository.TodoRepository;
+import com.example.todolist.repository.UserRepository;
+import com.example.todolist.service.PasswordHashingService;
+
+/**
+ * Open Session in View 關閉測試
+ *
+ * 確認請求範圍內不再持有 EntityManager，事務外訪問延遲加載的關聯會直接失敗，
+ * 配合 EndpointStatementCountTest，任何在控制器或序列化時觸發的延遲加載都會讓測試失敗。
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OpenInViewDisabledTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Test
+    void openEntityManagerInViewInterceptorIsNotRegistered() {
+        assertThat(context.getBeansOfType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
+
+    @Test
+    void lazyAssociationOutsideTransactionFails() {
+        User user = userRepository.findByUsername("oiv-off").orElseGet(() -> {
+            User created = new User();
+            created.setUsername("oiv-off");
+            created.setPassword(passwordHashingService.encode("secret"));
+            created.setEmail("oiv-off@example.com");
+            return userRepository.save(created);
+        });
+        Todo todo = new Todo();
+        todo.setText("lazy");
+        todo.setUser(user);
+        Long id = todoRepository.save(todo).getId();
+
+        // 查詢在倉庫方法的事務內完成，返回後實體已脫離會話
+        Todo detached = todoRepository.findByIdAndUserId(id, user.getId()).orElseThrow();
+
+        assertThat(detached.getText()).isEqualTo("lazy");
+        assertThatThrownBy(() -> detached.getUser().getUsername())
+                .isInstanceOf(LazyInitializationException.class);
+    }
+}
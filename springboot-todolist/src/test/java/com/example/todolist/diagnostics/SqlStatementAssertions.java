@@ -0,0 +1,51 @@
+package com.example.todolist.diagnostics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SQL 語句數量斷言工具
+ *
+ * 在當前線程上執行一段操作（例如一次 MockMvc 請求），並斷言其間 Hibernate 執行的語句數量。
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    /**
+     * 執行操作並斷言語句數量
+     *
+     * @param expected 預期的語句數量
+     * @param action 要執行的操作
+     * @throws Exception 操作拋出的異常
+     */
+    public static void assertStatementCount(int expected, ThrowingRunnable action) throws Exception {
+        assertThat(countStatements(action)).as("SQL statements").isEqualTo(expected);
+    }
+
+    /**
+     * 執行操作並返回語句數量
+     *
+     * @param action 要執行的操作
+     * @return 執行的語句數量
+     * @throws Exception 操作拋出的異常
+     */
+    public static int countStatements(ThrowingRunnable action) throws Exception {
+        SqlStatementCounter.reset();
+        try {
+            action.run();
+            return SqlStatementCounter.current();
+        } finally {
+            SqlStatementCounter.clear();
+        }
+    }
+
+    /**
+     * 允許拋出受檢異常的操作
+     */
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+
+        void run() throws Exception;
+    }
+}
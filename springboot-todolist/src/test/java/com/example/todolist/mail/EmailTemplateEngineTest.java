@@ -0,0 +1,55 @@
+package com.example.todolist.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.todolist.mail.EmailTemplateEngine.RenderedEmail;
+
+/**
+ * 郵件模板引擎測試
+ *
+ * 驗證模板按語言選擇版本、變量經過 HTML 轉義，以及缺少變量時報錯。
+ */
+class EmailTemplateEngineTest {
+
+    private final EmailTemplateEngine engine = new EmailTemplateEngine();
+
+    private final Map<String, String> variables = Map.of(
+            "resetUrl", "https://todo.example.com/reset-password?token=a&b",
+            "expiryHours", "24");
+
+    @Test
+    void fallsBackFromRegionToLanguageToDefault() {
+        assertThat(engine.render("password-reset", Locale.US, variables).subject()).isEqualTo("Reset your password");
+        assertThat(engine.render("password-reset", Locale.TAIWAN, variables).subject()).isEqualTo("密碼重設");
+        assertThat(engine.render("password-reset", null, variables).subject()).isEqualTo("密碼重設");
+    }
+
+    @Test
+    void escapesVariablesInBody() {
+        RenderedEmail email = engine.render("password-reset", Locale.ENGLISH, variables);
+
+        assertThat(email.html()).contains("href=\"https://todo.example.com/reset-password?token=a&amp;b\"");
+        assertThat(email.html()).contains("expires in 24 hours");
+    }
+
+    @Test
+    void missingVariableIsRejected() {
+        assertThatThrownBy(() -> engine.render("password-reset", Locale.ENGLISH, Map.of("expiryHours", "24")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("resetUrl");
+    }
+
+    @Test
+    void compilesLiteralsAroundVariables() {
+        EmailTemplateEngine.CompiledTemplate template = EmailTemplateEngine.compile("t", "a{{ x }}b{{y}}");
+
+        assertThat(template.literals()).containsExactly("a", "b", "");
+        assertThat(template.variables()).containsExactly("x", "y");
+    }
+}
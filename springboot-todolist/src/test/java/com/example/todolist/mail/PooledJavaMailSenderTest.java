@@ -0,0 +1,81 @@
+package com.example.todolist.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * 連接池化郵件發送器測試
+ *
+ * 使用 GreenMail 作為本地 SMTP 服務器，驗證多次發送重複使用同一個連接，
+ * 以及達到單連接郵件數上限後重建連接。
+ */
+class PooledJavaMailSenderTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private PooledJavaMailSender sender;
+
+    @BeforeEach
+    void setUp() {
+        sender = new PooledJavaMailSender(2, 1_000, 60_000, 3);
+        sender.setHost("localhost");
+        sender.setPort(ServerSetupTest.SMTP.getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        sender.destroy();
+    }
+
+    @Test
+    void reusesConnectionAcrossSends() throws MessagingException {
+        sender.send(message("a@example.com"));
+        sender.send(message("b@example.com"));
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(2);
+        assertThat(sender.getCreatedConnections()).isEqualTo(1);
+        assertThat(sender.getIdleConnections()).isEqualTo(1);
+    }
+
+    @Test
+    void recyclesConnectionAfterMessageLimit() throws MessagingException {
+        sender.send(message("a@example.com"), message("b@example.com"), message("c@example.com"),
+                message("d@example.com"));
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(4);
+        assertThat(sender.getCreatedConnections()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsIdleConnections() throws MessagingException {
+        PooledJavaMailSender shortLived = new PooledJavaMailSender(1, 1_000, 0, 100);
+        shortLived.setHost("localhost");
+        shortLived.setPort(ServerSetupTest.SMTP.getPort());
+        shortLived.send(message("a@example.com"));
+
+        assertThat(shortLived.evictIdle()).isEqualTo(1);
+        assertThat(shortLived.getIdleConnections()).isZero();
+    }
+
+    private MimeMessage message(String to) throws MessagingException {
+        MimeMessage message = sender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom("noreply@todolist.test");
+        helper.setTo(to);
+        helper.setSubject("test");
+        helper.setText("hello");
+        return message;
+    }
+}
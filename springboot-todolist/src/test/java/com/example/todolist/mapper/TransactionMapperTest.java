@@ -0,0 +1,78 @@
+package com.example.todolist.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.todolist.model.dto.TransactionDTO;
+import com.example.todolist.model.entity.Transaction;
+import com.example.todolist.model.entity.Transaction.TransactionType;
+import com.example.todolist.model.entity.User;
+
+/**
+ * 交易記錄映射器測試
+ *
+ * 驗證生成的映射代碼不讀取用戶關聯，合併更新時不以 null 覆蓋原值，也不修改 ID。
+ */
+class TransactionMapperTest {
+
+    private final TransactionMapper mapper = new TransactionMapperImpl();
+
+    @Test
+    void toDtoDoesNotTouchUserAssociation() {
+        User user = mock(User.class);
+        Transaction transaction = transaction(user);
+
+        TransactionDTO dto = mapper.toDto(transaction);
+
+        assertThat(dto.getId()).isEqualTo(7L);
+        assertThat(dto.getAmount()).isEqualByComparingTo("120.50");
+        assertThat(dto.getCategory()).isEqualTo("飲食");
+        verifyNoInteractions(user);
+    }
+
+    @Test
+    void toEntityIgnoresIdAndUser() {
+        TransactionDTO dto = new TransactionDTO(99L, null, TransactionType.INCOME, new BigDecimal("10"), "薪資", null);
+
+        Transaction transaction = mapper.toEntity(dto);
+
+        assertThat(transaction.getId()).isNull();
+        assertThat(transaction.getUser()).isNull();
+        assertThat(transaction.getType()).isEqualTo(TransactionType.INCOME);
+    }
+
+    @Test
+    void updateEntityKeepsValuesMissingFromDto() {
+        User user = new User();
+        Transaction transaction = transaction(user);
+        TransactionDTO dto = new TransactionDTO(99L, null, null, new BigDecimal("80.00"), null, "晚餐");
+
+        mapper.updateEntity(dto, transaction);
+
+        assertThat(transaction.getId()).isEqualTo(7L);
+        assertThat(transaction.getUser()).isSameAs(user);
+        assertThat(transaction.getDate()).isEqualTo(LocalDateTime.of(2024, 5, 1, 12, 0));
+        assertThat(transaction.getType()).isEqualTo(TransactionType.EXPENSE);
+        assertThat(transaction.getCategory()).isEqualTo("飲食");
+        assertThat(transaction.getAmount()).isEqualByComparingTo("80.00");
+        assertThat(transaction.getNote()).isEqualTo("晚餐");
+    }
+
+    private static Transaction transaction(User user) {
+        Transaction transaction = new Transaction();
+        transaction.setId(7L);
+        transaction.setDate(LocalDateTime.of(2024, 5, 1, 12, 0));
+        transaction.setType(TransactionType.EXPENSE);
+        transaction.setAmount(new BigDecimal("120.50"));
+        transaction.setCategory("飲食");
+        transaction.setNote("午餐");
+        transaction.setUser(user);
+        return transaction;
+    }
+}
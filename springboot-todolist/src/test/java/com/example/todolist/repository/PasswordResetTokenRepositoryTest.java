@@ -0,0 +1,85 @@
+package com.example.todolist.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.example.todolist.model.entity.PasswordResetToken;
+import com.example.todolist.model.entity.User;
+import com.example.todolist.util.ResetTokens;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 密碼重設令牌查詢測試
+ *
+ * 驗證令牌以雜湊保存，驗證時只查詢令牌表，重設時一次性加載用戶。
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PasswordResetTokenRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PasswordResetTokenRepository tokenRepository;
+
+    private Statistics statistics;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("reset-user");
+        user.setPassword("secret");
+        user.setEmail("reset-user@example.com");
+        entityManager.persist(user);
+
+        token = ResetTokens.newToken();
+        PasswordResetToken resetToken = new PasswordResetToken();
+        resetToken.setUser(user);
+        resetToken.setTokenHash(ResetTokens.hash(token));
+        resetToken.setExpiryDate(LocalDateTime.now().plusHours(24));
+        entityManager.persistAndFlush(resetToken);
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void rawTokenIsNotStored() {
+        assertThat(tokenRepository.findExpiryByTokenHash(token)).isEmpty();
+        assertThat(ResetTokens.hash(token)).hasSize(64).isNotEqualTo(token);
+    }
+
+    @Test
+    void validationLookupDoesNotLoadUser() {
+        assertThat(tokenRepository.findExpiryByTokenHash(ResetTokens.hash(token))).isPresent();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void resetLookupFetchesUserInOneQuery() {
+        PasswordResetToken resetToken = tokenRepository.findWithUserByTokenHash(ResetTokens.hash(token)).orElseThrow();
+
+        assertThat(Hibernate.isInitialized(resetToken.getUser())).isTrue();
+        assertThat(resetToken.getUser().getUsername()).isEqualTo("reset-user");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
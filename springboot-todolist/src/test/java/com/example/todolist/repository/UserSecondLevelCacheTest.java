@@ -0,0 +1,101 @@
+package com.example.todolist.repository;
+
+import static com.example.todolist.diagnostics.SqlStatementAssertions.assertStatementCount;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.todolist.config.HibernateCacheConfig;
+import com.example.todolist.model.entity.User;
+import com.example.todolist.service.UserCacheSynchronizer;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 用戶二級緩存測試
+ *
+ * 驗證按用戶名和 ID 重複查找時不再查詢數據庫，
+ * 以及繞過 Hibernate 的修改在同步任務執行後被清除。
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UserSecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCacheSynchronizer userCacheSynchronizer;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.findByUsername("cached-user").orElseGet(() -> {
+            User created = new User();
+            created.setUsername("cached-user");
+            created.setPassword("secret");
+            created.setEmail("cached-user@example.com");
+            return userRepository.save(created);
+        });
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void repeatedUsernameLookupIsServedFromCache() throws Exception {
+        assertThat(userRepository.findByUsername("cached-user")).isPresent();
+
+        assertStatementCount(0, () -> assertThat(userRepository.findByUsername("cached-user"))
+                .get().extracting(User::getId).isEqualTo(user.getId()));
+        assertStatementCount(0, () -> assertThat(userRepository.findById(user.getId())).isPresent());
+        assertThat(statistics.getNaturalIdCacheHitCount()).isPositive();
+        assertThat(statistics.getDomainDataRegionStatistics(HibernateCacheConfig.USER_REGION).getHitCount())
+                .isPositive();
+    }
+
+    @Test
+    void repeatedEmailLookupIsServedFromQueryCache() throws Exception {
+        assertThat(userRepository.findByEmail("cached-user@example.com")).isPresent();
+
+        assertStatementCount(0, () -> assertThat(userRepository.findByEmail("cached-user@example.com")).isPresent());
+        assertThat(statistics.getQueryCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void externalUpdateIsEvictedBySynchronizer() {
+        assertThat(userRepository.findById(user.getId())).get()
+                .extracting(User::getPassword).isEqualTo("secret");
+
+        // 模擬其他實例的修改：直接更新數據庫，本實例的緩存不知情
+        jdbcTemplate.update("UPDATE users SET password = ?, update_time = ? WHERE id = ?",
+                "changed", LocalDateTime.now(), user.getId());
+        assertThat(userRepository.findById(user.getId())).get()
+                .extracting(User::getPassword).isEqualTo("secret");
+
+        assertThat(userCacheSynchronizer.evictUpdatedUsers()).isPositive();
+        assertThat(userRepository.findById(user.getId())).get()
+                .extracting(User::getPassword).isEqualTo("changed");
+
+        jdbcTemplate.update("UPDATE users SET password = ? WHERE id = ?", "secret", user.getId());
+        entityManagerFactory.getCache().evict(User.class, user.getId());
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.todolist.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.todolist.mapper.TodoMapperImpl;
+import com.example.todolist.mapper.TransactionMapperImpl;
+import com.example.todolist.model.dto.TodoDTO;
+import com.example.todolist.model.dto.TransactionDTO;
+import com.example.todolist.model.entity.Transaction.TransactionType;
+import com.example.todolist.model.entity.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * 新增操作的 SQL 語句數量測試
+ *
+ * 驗證創建待辦事項和交易記錄時，只通過引用代理設置用戶外鍵，
+ * 不會先查詢 users 表，每次新增只執行一條 INSERT 和一條列表版本號更新。
+ * 版本號更新使用 MySQL 的 ON DUPLICATE KEY UPDATE，因此沿用測試配置中 MySQL 模式的 H2。
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ TodoServiceImpl.class, TransactionServiceImpl.class, TodoMapperImpl.class, TransactionMapperImpl.class,
+        CollectionVersionService.class })
+class CreateQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private Statistics statistics;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("query-count");
+        user.setPassword("secret");
+        user.setEmail("query-count@example.com");
+        userId = entityManager.persistAndFlush(user).getId();
+        // 清空持久化上下文，確保用戶不在一級緩存中
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void createTodoExecutesInsertAndVersionUpdateOnly() {
+        TodoDTO todoDTO = new TodoDTO();
+        todoDTO.setText("寫測試");
+
+        TodoDTO created = todoService.createTodo(todoDTO, userId);
+
+        assertThat(created.getId()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void createTransactionExecutesInsertAndVersionUpdateOnly() {
+        TransactionDTO transactionDTO = new TransactionDTO();
+        transactionDTO.setType(TransactionType.EXPENSE);
+        transactionDTO.setAmount(new BigDecimal("120.00"));
+        transactionDTO.setCategory("飲食");
+
+        TransactionDTO created = transactionService.createTransaction(transactionDTO, userId);
+
+        assertThat(created.getId()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.todolist.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.example.todolist.config.RequestContextTaskDecorator;
+import com.example.todolist.datasource.ReplicaRoutingDataSource;
+import com.example.todolist.exception.ServiceBusyException;
+import com.example.todolist.model.dto.UserResponseDTO;
+import com.example.todolist.security.CurrentUserIdArgumentResolver;
+
+/**
+ * 首頁總覽逾時測試
+ *
+ * 驗證子查詢逾時時返回 503，且請求結束後仍在執行的子查詢不再引用請求對象，
+ * 只使用提交時取出的用戶 ID。
+ */
+class DashboardServiceTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    private ThreadPoolTaskExecutor executor;
+
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(3);
+        executor.setMaxPoolSize(3);
+        executor.setTaskDecorator(new RequestContextTaskDecorator());
+        executor.initialize();
+
+        TransactionService transactionService = mock(TransactionService.class);
+        when(transactionService.getRecentTransactions(anyLong(), anyInt())).thenReturn(List.of());
+        when(transactionService.getTransactionsSummary(anyLong(), any(), any())).thenReturn(Map.of());
+
+        dashboardService = new DashboardService();
+        ReflectionTestUtils.setField(dashboardService, "transactionService", transactionService);
+        ReflectionTestUtils.setField(dashboardService, "dashboardTaskExecutor", executor);
+        ReflectionTestUtils.setField(dashboardService, "timeoutMillis", 100L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        RequestContextHolder.resetRequestAttributes();
+        executor.shutdown();
+    }
+
+    @Test
+    void timedOutSubQueryKeepsUserIdButNotTheRequest() throws Exception {
+        AtomicReference<RequestAttributes> seenAttributes = new AtomicReference<>();
+        AtomicReference<Long> seenUserId = new AtomicReference<>();
+        TodoService todoService = mock(TodoService.class);
+        when(todoService.getOpenTodosByUserId(42L)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            seenAttributes.set(RequestContextHolder.getRequestAttributes());
+            seenUserId.set(ReplicaRoutingDataSource.currentUserId());
+            finished.countDown();
+            return List.of();
+        });
+        ReflectionTestUtils.setField(dashboardService, "todoService", todoService);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.getSession().setAttribute(CurrentUserIdArgumentResolver.SESSION_USER,
+                new UserResponseDTO(42L, "alice", "alice@example.com", null, null));
+        ServletRequestAttributes attributes = new ServletRequestAttributes(request);
+        RequestContextHolder.setRequestAttributes(attributes);
+
+        assertThatThrownBy(() -> dashboardService.getDashboard(42L, 5))
+                .isInstanceOf(ServiceBusyException.class);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 請求已返回 503 並結束，子查詢這時才繼續執行
+        attributes.requestCompleted();
+        RequestContextHolder.resetRequestAttributes();
+        release.countDown();
+
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(seenAttributes.get()).isNull();
+        assertThat(seenUserId.get()).isEqualTo(42L);
+    }
+}
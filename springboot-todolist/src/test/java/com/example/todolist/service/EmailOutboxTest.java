@@ -0,0 +1,179 @@
+package com.example.todolist.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+
+import com.example.todolist.model.entity.EmailOutbox;
+import com.example.todolist.model.entity.EmailOutbox.EmailType;
+import com.example.todolist.model.entity.EmailOutbox.OutboxStatus;
+import com.example.todolist.model.entity.PasswordResetToken;
+import com.example.todolist.model.entity.User;
+import com.example.todolist.repository.EmailOutboxRepository;
+import com.example.todolist.repository.PasswordResetTokenRepository;
+import com.example.todolist.repository.UserRepository;
+import com.example.todolist.util.ResetTokens;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * 郵件發件箱測試
+ *
+ * 使用 GreenMail 作為本地 SMTP 服務器，驗證密碼重設郵件在事務提交後由後台發送，
+ * 發送失敗時的退避重試和 DEAD 狀態，郵件數據在 DEAD 或過期後清空，以及租約涵蓋整批發送的最壞時間。
+ */
+@SpringBootTest(properties = "app.mail.outbox.max-attempts=2")
+@ActiveProfiles("test")
+class EmailOutboxTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+        // 測試配置帶有發件人用戶名，郵件發送器會進行 SMTP 認證，GreenMail 需接受任意憑證
+        .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EmailOutboxService outboxService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository tokenRepository;
+
+    @Test
+    void passwordResetEmailIsDeliveredAfterCommit() throws Exception {
+        User user = new User();
+        user.setUsername("outbox-user");
+        user.setPassword("secret");
+        user.setEmail("outbox-user@example.com");
+        userRepository.save(user);
+
+        userService.initiatePasswordReset("outbox-user@example.com");
+
+        assertThat(greenMail.waitForIncomingEmail(10_000, 1)).isTrue();
+        MimeMessage message = greenMail.getReceivedMessages()[0];
+        assertThat(message.getAllRecipients()[0].toString()).isEqualTo("outbox-user@example.com");
+
+        EmailOutbox outbox = awaitStatus("outbox-user@example.com", OutboxStatus.SENT);
+        assertThat(outbox.getAttempts()).isEqualTo(1);
+        assertThat(outbox.getPayload()).isNull();
+    }
+
+    @Test
+    void enqueueRequiresCallerTransaction() {
+        assertThatThrownBy(() -> outboxService.enqueuePasswordReset("nobody@example.com", "token", Locale.ENGLISH))
+            .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    @Test
+    void failedSendBacksOffThenMovesToDead() {
+        EmailOutbox outbox = new EmailOutbox();
+        outbox.setType(EmailType.PASSWORD_RESET);
+        outbox.setRecipient("retry@example.com");
+        outbox.setPayload("token");
+        outbox.setStatus(OutboxStatus.SENDING);
+        outbox.setAttempts(1);
+        outbox.setNextAttemptAt(LocalDateTime.now().plusMinutes(2));
+        Long id = outboxRepository.save(outbox).getId();
+
+        assertThat(outboxService.markFailed(id, "connection refused")).isFalse();
+        EmailOutbox retried = outboxRepository.findById(id).orElseThrow();
+        assertThat(retried.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(retried.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(retried.getLastError()).isEqualTo("connection refused");
+
+        retried.setStatus(OutboxStatus.SENDING);
+        retried.setAttempts(2);
+        outboxRepository.save(retried);
+
+        assertThat(outboxService.markFailed(id, "connection refused")).isTrue();
+        EmailOutbox dead = outboxRepository.findById(id).orElseThrow();
+        assertThat(dead.getStatus()).isEqualTo(OutboxStatus.DEAD);
+        assertThat(dead.getPayload()).isNull();
+    }
+
+    @Test
+    void deadPasswordResetEmailInvalidatesToken() {
+        User user = new User();
+        user.setUsername("dead-outbox-user");
+        user.setPassword("secret");
+        user.setEmail("dead-outbox-user@example.com");
+        userRepository.save(user);
+
+        String token = ResetTokens.newToken();
+        PasswordResetToken resetToken = new PasswordResetToken();
+        resetToken.setUser(user);
+        resetToken.setTokenHash(ResetTokens.hash(token));
+        resetToken.setExpiryDate(LocalDateTime.now().plusHours(1));
+        tokenRepository.save(resetToken);
+
+        EmailOutbox outbox = new EmailOutbox();
+        outbox.setType(EmailType.PASSWORD_RESET);
+        outbox.setRecipient(user.getEmail());
+        outbox.setPayload(token);
+        outbox.setStatus(OutboxStatus.SENDING);
+        outbox.setAttempts(2);
+        outbox.setNextAttemptAt(LocalDateTime.now().plusMinutes(2));
+        Long id = outboxRepository.save(outbox).getId();
+
+        assertThat(outboxService.markFailed(id, "mailbox unavailable")).isTrue();
+        assertThat(outboxRepository.findById(id).orElseThrow().getPayload()).isNull();
+        assertThat(tokenRepository.findExpiryByTokenHash(ResetTokens.hash(token))).isEmpty();
+    }
+
+    @Test
+    void payloadIsClearedAfterTokenValidity() {
+        EmailOutbox outbox = new EmailOutbox();
+        outbox.setType(EmailType.PASSWORD_RESET);
+        outbox.setRecipient("stale@example.com");
+        outbox.setPayload("token");
+        outbox.setStatus(OutboxStatus.PENDING);
+        outbox.setNextAttemptAt(LocalDateTime.now().plusHours(1));
+        Long id = outboxRepository.save(outbox).getId();
+
+        assertThat(outboxService.expireStalePayloads(LocalDateTime.now().plusSeconds(1))).isPositive();
+        EmailOutbox expired = outboxRepository.findById(id).orElseThrow();
+        assertThat(expired.getStatus()).isEqualTo(OutboxStatus.DEAD);
+        assertThat(expired.getPayload()).isNull();
+    }
+
+    @Test
+    void leaseCoversWorstCaseBatch() {
+        // 連接等待 10 秒、連接超時 5 秒、讀寫超時各 5 秒：20 封郵件最壞需要 215 秒
+        assertThat(outboxService.leaseSecondsFor(20)).isGreaterThan(215);
+        assertThat(outboxService.leaseSecondsFor(1)).isEqualTo(300);
+    }
+
+    private EmailOutbox awaitStatus(String recipient, OutboxStatus status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            EmailOutbox outbox = outboxRepository.findAll().stream()
+                .filter(o -> recipient.equals(o.getRecipient()))
+                .findFirst()
+                .orElseThrow();
+            if (outbox.getStatus() == status || System.currentTimeMillis() > deadline) {
+                assertThat(outbox.getStatus()).isEqualTo(status);
+                return outbox;
+            }
+            Thread.sleep(50);
+        }
+    }
+}
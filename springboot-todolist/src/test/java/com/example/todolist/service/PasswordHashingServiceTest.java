@@ -0,0 +1,167 @@
+package com.example.todolist.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.todolist.exception.GlobalExceptionHandler;
+import com.example.todolist.exception.ServiceBusyException;
+import com.example.todolist.mapper.UserMapperImpl;
+import com.example.todolist.model.dto.LoginDTO;
+import com.example.todolist.model.entity.User;
+import com.example.todolist.repository.UserRepository;
+import com.example.todolist.response.ApiResponse;
+
+/**
+ * 密碼雜湊服務測試
+ *
+ * 驗證雜湊執行緒池已滿或等待逾時時返回帶 Retry-After 的 503，
+ * 以及工作因子調高後用戶登入時密碼會以新的工作因子重新加密。
+ */
+class PasswordHashingServiceTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    private PasswordHashingService hashingService;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        if (hashingService != null) {
+            hashingService.shutdown();
+        }
+    }
+
+    @Test
+    void fullQueueIsRejectedWithRetryAfter() throws Exception {
+        hashingService = new PasswordHashingService(blockingEncoder(), 1, 1, 5_000, 7);
+        callers.submit(() -> hashingService.encode("running"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        callers.submit(() -> hashingService.encode("queued"));
+        awaitQueueDepth(1);
+
+        Throwable thrown = catchThrowable(() -> hashingService.encode("rejected"));
+
+        assertThat(thrown).isInstanceOf(ServiceBusyException.class);
+        ServiceBusyException busy = (ServiceBusyException) thrown;
+        assertThat(busy.getRetryAfterSeconds()).isEqualTo(7);
+        ResponseEntity<ApiResponse<Void>> response = new GlobalExceptionHandler().handleServiceBusyException(busy);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("7");
+    }
+
+    @Test
+    void slowHashIsAbandonedAfterWaitTimeout() {
+        hashingService = new PasswordHashingService(blockingEncoder(), 1, 1, 100, 2);
+
+        assertThatThrownBy(() -> hashingService.matches("secret", "hash"))
+                .isInstanceOf(ServiceBusyException.class);
+    }
+
+    @Test
+    void loginReencodesPasswordAfterWorkFactorIncrease() {
+        hashingService = new PasswordHashingService(new BCryptPasswordEncoder(5), 1, 4, 5_000, 2);
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("secret"));
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+
+        userService(userRepository).login(login("alice", "secret"));
+
+        verify(userRepository).save(user);
+        assertThat(user.getPassword()).startsWith("$2a$05$");
+        assertThat(new BCryptPasswordEncoder(5).matches("secret", user.getPassword())).isTrue();
+    }
+
+    @Test
+    void loginKeepsPasswordAtCurrentWorkFactor() {
+        hashingService = new PasswordHashingService(new BCryptPasswordEncoder(4), 1, 4, 5_000, 2);
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("secret"));
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+
+        userService(userRepository).login(login("alice", "secret"));
+
+        verify(userRepository, never()).save(any());
+    }
+
+    private UserServiceImpl userService(UserRepository userRepository) {
+        UserServiceImpl userService = new UserServiceImpl();
+        ReflectionTestUtils.setField(userService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userService, "passwordHashingService", hashingService);
+        ReflectionTestUtils.setField(userService, "userMapper", new UserMapperImpl());
+        return userService;
+    }
+
+    private static LoginDTO login(String username, String password) {
+        LoginDTO login = new LoginDTO();
+        login.setUsername(username);
+        login.setPassword(password);
+        return login;
+    }
+
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                block();
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                block();
+                return false;
+            }
+
+            private void block() {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+
+    private void awaitQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (hashingService.getQueueDepth() < depth && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(hashingService.getQueueDepth()).isEqualTo(depth);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.todolist.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.todolist.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 用戶名/信箱可用性過濾器測試
+ *
+ * 驗證重建和註冊後（包括重建期間的註冊）不會把已存在的值判定為可用，正規化規則與數據庫的比較方式一致，
+ * 以及只有過濾器回答「可能存在」時才查詢數據庫。
+ */
+class UserAvailabilityFilterTest {
+
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UserAvailabilityFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new UserAvailabilityFilter(userRepository, meterRegistry, 0.01, 1_000, 2);
+        when(userRepository.count()).thenReturn(3L);
+        when(userRepository.findUsernamesAndEmailsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new Object[] { 1L, "alice", "alice@example.com" },
+                new Object[] { 2L, "José", "JOSE@Example.com" }));
+        when(userRepository.findUsernamesAndEmailsAfter(eq(2L), any(Pageable.class))).thenReturn(List.<Object[]>of(
+                new Object[] { 3L, "carol", "carol@example.com" }));
+    }
+
+    @Test
+    void notLoadedFilterDefersToDatabase() {
+        assertThat(filter.mightContainUsername("anyone")).isTrue();
+        assertThat(filter.mightContainEmail("anyone@example.com")).isTrue();
+    }
+
+    @Test
+    void rebuildLoadsEveryBatchWithoutFalseNegatives() {
+        filter.rebuild();
+
+        verify(userRepository, times(2)).findUsernamesAndEmailsAfter(any(), any(Pageable.class));
+        assertThat(filter.mightContainUsername("alice")).isTrue();
+        assertThat(filter.mightContainUsername("carol")).isTrue();
+        assertThat(filter.mightContainEmail("carol@example.com")).isTrue();
+        assertThat(filter.mightContainUsername("nobody")).isFalse();
+    }
+
+    @Test
+    void registeredUserIsVisibleWithoutRebuild() {
+        filter.rebuild();
+
+        filter.addUser("dave", "dave@example.com");
+
+        assertThat(filter.mightContainUsername("dave")).isTrue();
+        assertThat(filter.mightContainEmail("dave@example.com")).isTrue();
+    }
+
+    @Test
+    void userRegisteredDuringRebuildSurvivesSwap() {
+        filter.rebuild();
+        // 重建讀取第二批時有新用戶註冊，其數據行已在遊標之後不會被讀到
+        when(userRepository.findUsernamesAndEmailsAfter(eq(2L), any(Pageable.class))).thenAnswer(invocation -> {
+            filter.addUser("erin", "erin@example.com");
+            return List.<Object[]>of(new Object[] { 3L, "carol", "carol@example.com" });
+        });
+
+        filter.rebuild();
+
+        assertThat(filter.mightContainUsername("erin")).isTrue();
+        assertThat(filter.mightContainEmail("erin@example.com")).isTrue();
+    }
+
+    @Test
+    void normalizationIgnoresCaseAccentsAndSurroundingSpaces() {
+        filter.rebuild();
+
+        // 數據庫排序規則不區分大小寫和重音，這些寫法都應視為已被使用
+        assertThat(filter.mightContainUsername("jose")).isTrue();
+        assertThat(filter.mightContainUsername(" JOSÉ ")).isTrue();
+        assertThat(filter.mightContainUsername("ALICE")).isTrue();
+        assertThat(filter.mightContainEmail("josé@example.com")).isTrue();
+    }
+
+    @Test
+    void existsQueriesDatabaseOnlyWhenFilterMightContain() {
+        filter.rebuild();
+        UserServiceImpl userService = new UserServiceImpl();
+        ReflectionTestUtils.setField(userService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userService, "availabilityFilter", filter);
+        when(userRepository.existsByUsername("alice")).thenReturn(true);
+
+        assertThat(userService.isUsernameExists("nobody")).isFalse();
+        verify(userRepository, never()).existsByUsername(anyString());
+
+        assertThat(userService.isUsernameExists("alice")).isTrue();
+        verify(userRepository).existsByUsername("alice");
+
+        assertThat(userService.isEmailExists("nobody@example.com")).isFalse();
+        verify(userRepository, never()).existsByEmail(anyString());
+        assertThat(meterRegistry.get("user.availability.checks").tag("field", "username")
+                .tag("result", "definitely_free").counter().count()).isEqualTo(1d);
+    }
+}
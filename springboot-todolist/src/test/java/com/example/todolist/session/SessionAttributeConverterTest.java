@@ -0,0 +1,49 @@
+package com.example.todolist.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.TypeDescriptor;
+
+import com.example.todolist.model.dto.UserResponseDTO;
+
+/**
+ * 會話屬性轉換器測試
+ *
+ * 驗證登入用戶以緊湊格式往返編碼，其他屬性仍可通過 Java 序列化保存。
+ */
+class SessionAttributeConverterTest {
+
+    private final SessionAttributeConverter converter = new SessionAttributeConverter(getClass().getClassLoader());
+
+    @Test
+    void principalRoundTripsInCompactForm() {
+        UserResponseDTO user = new UserResponseDTO(42L, "alice", "alice@example.com",
+                LocalDateTime.of(2024, 1, 2, 3, 4, 5, 6_000), null);
+
+        byte[] bytes = serialize(user);
+        Object restored = deserialize(bytes);
+
+        assertThat(restored).isEqualTo(user);
+        assertThat(bytes.length).isLessThan(64);
+    }
+
+    @Test
+    void otherAttributesUseJavaSerialization() {
+        byte[] bytes = serialize("some-value");
+
+        assertThat(deserialize(bytes)).isEqualTo("some-value");
+    }
+
+    private byte[] serialize(Object value) {
+        return (byte[]) converter.convert(value, TypeDescriptor.valueOf(Object.class),
+                TypeDescriptor.valueOf(byte[].class));
+    }
+
+    private Object deserialize(byte[] bytes) {
+        return converter.convert(bytes, TypeDescriptor.valueOf(byte[].class),
+                TypeDescriptor.valueOf(Object.class));
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.todolist.sharding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.example.todolist.exception.ServiceBusyException;
+
+/**
+ * 分片目錄、路由和遷移測試
+ *
+ * 以三個獨立的 H2 數據庫分別作為目錄庫和兩個分片，使用與生產相同的建表腳本。
+ */
+class ShardRebalancerTest {
+
+    private static final Long USER_ID = 7L;
+
+    private JdbcTemplate directory;
+
+    private List<DataSource> shards;
+
+    private ShardDirectory shardDirectory;
+
+    private ShardRebalancer rebalancer;
+
+    @BeforeEach
+    void setUp() {
+        DataSource directoryDataSource = database("shard-directory");
+        new ResourceDatabasePopulator(new ClassPathResource("db/shard/directory-schema.sql")).execute(directoryDataSource);
+        directory = new JdbcTemplate(directoryDataSource);
+        directory.update("DELETE FROM user_shard");
+
+        shards = List.of(database("shard-0"), database("shard-1"));
+        ResourceDatabasePopulator shardSchema = new ResourceDatabasePopulator(new ClassPathResource("db/shard/shard-schema.sql"));
+        for (DataSource shard : shards) {
+            shardSchema.execute(shard);
+            for (String table : ShardRebalancer.SHARDED_TABLES) {
+                new JdbcTemplate(shard).update("DELETE FROM " + table);
+            }
+        }
+
+        shardDirectory = new ShardDirectory(directory, shards.size(), 60_000, 5);
+        rebalancer = new ShardRebalancer(shardDirectory, shards, 0);
+    }
+
+    @Test
+    void newUserIsAssignedByHashAndRemembered() {
+        int expected = Math.floorMod(Long.hashCode(USER_ID), shards.size());
+
+        assertThat(shardDirectory.shardFor(USER_ID)).isEqualTo(expected);
+        assertThat(directory.queryForObject("SELECT shard_index FROM user_shard WHERE user_id = ?",
+                Integer.class, USER_ID)).isEqualTo(expected);
+    }
+
+    @Test
+    void routingDataSourceFollowsShardContext() {
+        new JdbcTemplate(shards.get(1)).update(
+                "INSERT INTO todo (id, text, completed, user_id) VALUES (1, 'on shard 1', FALSE, ?)", USER_ID);
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(directory.getDataSource(), shards);
+        routing.afterPropertiesSet();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(routing);
+
+        Integer previous = ShardContext.set(1);
+        try {
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todo", Integer.class)).isEqualTo(1);
+        } finally {
+            ShardContext.restore(previous);
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_shard", Integer.class)).isZero();
+    }
+
+    @Test
+    void moveCopiesRowsAndSwitchesDirectory() throws Exception {
+        int source = shardDirectory.shardFor(USER_ID);
+        int target = 1 - source;
+        JdbcTemplate sourceShard = new JdbcTemplate(shards.get(source));
+        sourceShard.update("INSERT INTO todo (id, text, completed, user_id) VALUES (11, 'a', FALSE, ?)", USER_ID);
+        sourceShard.update("INSERT INTO todo (id, text, completed, user_id) VALUES (12, 'b', TRUE, ?)", USER_ID);
+        sourceShard.update("INSERT INTO todo (id, text, completed, user_id) VALUES (13, 'other', FALSE, 8)");
+        sourceShard.update("INSERT INTO transactions (id, date, type, amount, category, user_id) "
+                + "VALUES (21, CURRENT_TIMESTAMP, 'EXPENSE', 12.50, '飲食', ?)", USER_ID);
+        sourceShard.update("INSERT INTO collection_version (user_id, collection, version) VALUES (?, 'TODO', 5)", USER_ID);
+
+        Map<String, Integer> moved = rebalancer.move(USER_ID, target);
+
+        assertThat(moved).containsEntry("todo", 2).containsEntry("transactions", 1).containsEntry("collection_version", 1);
+        JdbcTemplate targetShard = new JdbcTemplate(shards.get(target));
+        assertThat(targetShard.queryForList("SELECT id FROM todo WHERE user_id = ? ORDER BY id", Long.class, USER_ID))
+                .containsExactly(11L, 12L);
+        assertThat(sourceShard.queryForObject("SELECT COUNT(*) FROM todo WHERE user_id = ?", Integer.class, USER_ID)).isZero();
+        assertThat(sourceShard.queryForObject("SELECT COUNT(*) FROM todo WHERE user_id = 8", Integer.class)).isEqualTo(1);
+        assertThat(shardDirectory.shardFor(USER_ID)).isEqualTo(target);
+    }
+
+    @Test
+    void movingUserIsRejected() {
+        shardDirectory.shardFor(USER_ID);
+        shardDirectory.markMoving(USER_ID);
+
+        assertThatThrownBy(() -> shardDirectory.shardFor(USER_ID)).isInstanceOf(ServiceBusyException.class);
+    }
+
+    private static DataSource database(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.todolist.throttle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.todolist.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 登入與密碼重設限流測試
+ *
+ * 驗證用戶名和 IP 兩個維度的限流、IP 被限流後不再創建用戶名的桶，以及拒絕次數的指標。
+ */
+class AuthThrottleServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AuthThrottleService throttleService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // 登入：用戶名 2 次、IP 3 次；密碼重設：信箱 1 次、IP 2 次；都不補充
+        throttleService = new AuthThrottleService(meterRegistry, 2, 0, 3, 0, 1, 0, 2, 0, 60, 1000, 30);
+    }
+
+    @Test
+    void usernameIsThrottledAcrossIps() {
+        throttleService.checkLogin("10.0.0.1", "alice");
+        throttleService.checkLogin("10.0.0.2", "ALICE ");
+
+        assertThatThrownBy(() -> throttleService.checkLogin("10.0.0.3", "alice"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(meterRegistry.get("auth.throttled").tag("action", "login").counter().count()).isEqualTo(1d);
+    }
+
+    @Test
+    void throttledIpDoesNotConsumeUsernameBuckets() {
+        for (int i = 0; i < 3; i++) {
+            throttleService.checkLogin("10.0.0.1", "forged-" + i);
+        }
+        for (int i = 0; i < 10; i++) {
+            String username = "victim-" + i;
+            assertThatThrownBy(() -> throttleService.checkLogin("10.0.0.1", username))
+                    .isInstanceOf(TooManyRequestsException.class);
+        }
+
+        // 被限流的 IP 沒有消耗受害者的配額
+        assertThatCode(() -> {
+            throttleService.checkLogin("10.0.0.2", "victim-0");
+            throttleService.checkLogin("10.0.0.3", "victim-0");
+        }).doesNotThrowAnyException();
+    }
+
+    @Test
+    void passwordResetIsThrottledByEmail() {
+        throttleService.checkPasswordReset("10.0.0.1", "alice@example.com");
+
+        assertThatThrownBy(() -> throttleService.checkPasswordReset("10.0.0.2", "Alice@Example.com"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfterSeconds()).isPositive());
+    }
+
+    @Test
+    void cooldownSuppressesRepeatsUntilReleased() {
+        assertThat(throttleService.tryEnterPasswordResetCooldown("alice@example.com")).isTrue();
+        assertThat(throttleService.tryEnterPasswordResetCooldown("alice@example.com")).isFalse();
+
+        throttleService.releasePasswordResetCooldown("alice@example.com");
+
+        assertThat(throttleService.tryEnterPasswordResetCooldown("alice@example.com")).isTrue();
+    }
+}
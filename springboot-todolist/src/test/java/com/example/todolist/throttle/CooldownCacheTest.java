@@ -0,0 +1,56 @@
+package com.example.todolist.throttle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 冷卻快取測試
+ *
+ * 驗證冷卻期內重複的鍵被判定為重複、取消後可立即放行，以及鍵數量的上限。
+ */
+class CooldownCacheTest {
+
+    @Test
+    void repeatWithinCooldownIsSuppressed() {
+        CooldownCache cache = new CooldownCache(TimeUnit.MINUTES.toNanos(1), 10);
+
+        assertThat(cache.tryEnter("alice@example.com")).isTrue();
+        assertThat(cache.tryEnter("alice@example.com")).isFalse();
+        assertThat(cache.tryEnter("bob@example.com")).isTrue();
+    }
+
+    @Test
+    void releaseAllowsImmediateRetry() {
+        CooldownCache cache = new CooldownCache(TimeUnit.MINUTES.toNanos(1), 10);
+
+        cache.tryEnter("alice@example.com");
+        cache.release("alice@example.com");
+
+        assertThat(cache.tryEnter("alice@example.com")).isTrue();
+    }
+
+    @Test
+    void expiredEntriesAreEvicted() {
+        CooldownCache cache = new CooldownCache(0, 10);
+
+        cache.tryEnter("alice@example.com");
+
+        assertThat(cache.tryEnter("alice@example.com")).isTrue();
+        assertThat(cache.evictExpired()).isEqualTo(1);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void fullCacheAdmitsNewKeysWithoutRecordingThem() {
+        CooldownCache cache = new CooldownCache(TimeUnit.MINUTES.toNanos(1), 1);
+
+        cache.tryEnter("alice@example.com");
+
+        assertThat(cache.tryEnter("bob@example.com")).isTrue();
+        assertThat(cache.tryEnter("bob@example.com")).isTrue();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.todolist.throttle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 令牌桶集合測試
+ *
+ * 驗證每個鍵獨立限流，以及數量達到上限時新鍵仍有自己的桶、不與其他鍵共用。
+ */
+class TokenBucketRegistryTest {
+
+    @Test
+    void keysAreThrottledIndependently() {
+        TokenBucketRegistry registry = new TokenBucketRegistry(1, 0, 10);
+
+        assertThat(registry.tryConsume("alice")).isZero();
+        assertThat(registry.tryConsume("alice")).isPositive();
+        assertThat(registry.tryConsume("bob")).isZero();
+    }
+
+    @Test
+    void newKeysBeyondLimitGetTheirOwnBucket() {
+        TokenBucketRegistry registry = new TokenBucketRegistry(1, 0, 100);
+        for (int i = 0; i < 500; i++) {
+            registry.tryConsume("forged-" + i);
+        }
+
+        assertThat(registry.size()).isLessThanOrEqualTo(100);
+        // 大量偽造的鍵耗盡後，新出現的鍵不受影響
+        assertThat(registry.tryConsume("alice")).isZero();
+        assertThat(registry.tryConsume("bob")).isZero();
+    }
+
+    @Test
+    void leastRecentlyUsedBucketsAreEvictedFirst() throws InterruptedException {
+        TokenBucketRegistry registry = new TokenBucketRegistry(1, 0, 2);
+        registry.tryConsume("old");
+        Thread.sleep(2);
+        registry.tryConsume("recent");
+        Thread.sleep(2);
+
+        registry.tryConsume("new");
+
+        // 最近訪問的鍵仍保留被限流的狀態
+        assertThat(registry.tryConsume("recent")).isPositive();
+        assertThat(registry.size()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void fullBucketsAreEvictedBeforeDrainedOnes() {
+        TokenBucketRegistry registry = new TokenBucketRegistry(1, 1_000_000, 2);
+        registry.tryConsume("refilled");
+        registry.tryConsume("other");
+
+        registry.tryConsume("new");
+
+        assertThat(registry.size()).isLessThanOrEqualTo(2);
+    }
+}
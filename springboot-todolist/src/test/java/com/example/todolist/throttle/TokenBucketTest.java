@@ -0,0 +1,55 @@
+package com.example.todolist.throttle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 令牌桶測試
+ *
+ * 以固定的時間值驗證突發容量、補充速率、等待時間和閒置判斷。
+ */
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void allowsBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isCloseTo(SECOND, within(1L));
+    }
+
+    @Test
+    void refillsOverTime() {
+        TokenBucket bucket = new TokenBucket(1, 2, 0);
+        bucket.tryConsume(0);
+
+        assertThat(bucket.tryConsume(SECOND / 4)).isCloseTo(SECOND / 4, within(1L));
+        assertThat(bucket.tryConsume(SECOND)).isZero();
+    }
+
+    @Test
+    void neverRefillingBucketReportsMaxWait() {
+        TokenBucket bucket = new TokenBucket(1, 0, 0);
+        bucket.tryConsume(0);
+
+        assertThat(bucket.tryConsume(SECOND)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void isIdleOnlyWhenUnusedAndFull() {
+        TokenBucket bucket = new TokenBucket(2, 1, 0);
+        bucket.tryConsume(0);
+
+        assertThat(bucket.isIdle(SECOND / 2, SECOND / 4)).isFalse();
+        assertThat(bucket.isIdle(SECOND / 2, SECOND)).isFalse();
+        assertThat(bucket.isIdle(2 * SECOND, SECOND)).isTrue();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.todolist.throttle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.example.todolist.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 按用戶准入控制測試
+ *
+ * 驗證速率和並發上限按用戶獨立計算、按等級配置，令牌桶數量達到上限時不會讓用戶互相影響，以及拒絕次數的指標。
+ */
+class UserAdmissionServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UserAdmissionService admissionService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.admission.tiers.standard.capacity", "3")
+                .withProperty("app.admission.tiers.standard.refill-per-second", "0")
+                .withProperty("app.admission.tiers.standard.max-concurrent", "2")
+                .withProperty("app.admission.tiers.premium.capacity", "10")
+                .withProperty("app.admission.tiers.premium.refill-per-second", "0")
+                .withProperty("app.admission.tiers.premium.max-concurrent", "5")
+                .withProperty("app.admission.user-tiers.2", "premium");
+        admissionService = new UserAdmissionService(meterRegistry, environment, "standard", 100, 30);
+    }
+
+    @Test
+    void burstBeyondCapacityIsRejected() {
+        for (int i = 0; i < 3; i++) {
+            admissionService.admit(1L);
+            admissionService.release(1L);
+        }
+
+        assertThatThrownBy(() -> admissionService.admit(1L))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(rejected("standard", "rate")).isEqualTo(1d);
+        // 其他用戶不受影響
+        assertThatCode(() -> admissionService.admit(3L)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void concurrentRequestsBeyondLimitAreRejectedUntilReleased() {
+        admissionService.admit(1L);
+        admissionService.admit(1L);
+
+        assertThatThrownBy(() -> admissionService.admit(1L))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(rejected("standard", "concurrency")).isEqualTo(1d);
+
+        admissionService.release(1L);
+        assertThatCode(() -> admissionService.admit(1L)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void configuredUserUsesItsTier() {
+        for (int i = 0; i < 5; i++) {
+            admissionService.admit(2L);
+        }
+
+        assertThatThrownBy(() -> admissionService.admit(2L))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(rejected("premium", "concurrency")).isEqualTo(1d);
+    }
+
+    @Test
+    void usersBeyondMaxEntriesDoNotShareQuota() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.admission.tiers.standard.capacity", "3")
+                .withProperty("app.admission.tiers.standard.refill-per-second", "0")
+                .withProperty("app.admission.tiers.standard.max-concurrent", "2");
+        UserAdmissionService small = new UserAdmissionService(meterRegistry, environment, "standard", 2, 30);
+        for (long userId = 10; userId < 20; userId++) {
+            for (int i = 0; i < 3; i++) {
+                small.admit(userId);
+                small.release(userId);
+            }
+        }
+
+        // 令牌桶數量已達上限，新用戶仍有自己完整的額度
+        for (int i = 0; i < 3; i++) {
+            assertThatCode(() -> small.admit(20L)).doesNotThrowAnyException();
+            small.release(20L);
+        }
+    }
+
+    private double rejected(String tier, String reason) {
+        return meterRegistry.get("http.admission.rejected").tag("tier", tier).tag("reason", reason)
+                .counter().count();
+    }
+}
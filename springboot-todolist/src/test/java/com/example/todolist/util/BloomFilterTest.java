@@ -0,0 +1,68 @@
+package com.example.todolist.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 布隆過濾器測試
+ *
+ * 驗證寫入過的元素不會被判定為不存在，以及寫滿預期數量時誤判率接近目標值。
+ */
+class BloomFilterTest {
+
+    private static final int CAPACITY = 10_000;
+
+    private static final double TARGET_RATE = 0.01;
+
+    @Test
+    void hasNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(CAPACITY, TARGET_RATE);
+        for (int i = 0; i < CAPACITY; i++) {
+            filter.put("user-" + i);
+        }
+
+        for (int i = 0; i < CAPACITY; i++) {
+            assertThat(filter.mightContain("user-" + i)).as("user-" + i).isTrue();
+        }
+        assertThat(filter.insertions()).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void falsePositiveRateIsNearTargetAtCapacity() {
+        BloomFilter filter = new BloomFilter(CAPACITY, TARGET_RATE);
+        for (int i = 0; i < CAPACITY; i++) {
+            filter.put("user-" + i);
+        }
+
+        int probes = 100_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        double observed = (double) falsePositives / probes;
+        assertThat(observed).isBetween(TARGET_RATE / 2, TARGET_RATE * 2);
+        assertThat(filter.expectedFalsePositiveRate()).isCloseTo(TARGET_RATE, within(TARGET_RATE / 2));
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(CAPACITY, TARGET_RATE);
+
+        assertThat(filter.mightContain("anyone")).isFalse();
+        assertThat(filter.expectedFalsePositiveRate()).isZero();
+    }
+
+    @Test
+    void rejectsInvalidFalsePositiveRate() {
+        assertThatThrownBy(() -> new BloomFilter(CAPACITY, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(CAPACITY, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}